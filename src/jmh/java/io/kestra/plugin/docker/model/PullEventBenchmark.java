@@ -0,0 +1,74 @@
+package io.kestra.plugin.docker.model;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Compares the ways of reading a DMR pull progress stream: a String and a Jackson tree per line, as done before, and
+ * {@link PullEvent#readAll} parsing the stream in place.
+ * Run with {@code ./gradlew jmh}, adding {@code -prof gc} to {@code jmh.profilers} to compare allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PullEventBenchmark {
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Param({"10000"})
+    int lines;
+
+    private byte[] stream;
+
+    @Setup
+    public void setup() {
+        var builder = new StringBuilder();
+        for (var i = 0; i < this.lines; i++) {
+            var layer = i / 1000;
+            builder.append("{\"type\":\"progress\",\"message\":\"Downloaded: ").append(i).append(".00 MB\",\"total\":2743031840,")
+                .append("\"layer\":{\"id\":\"sha256:3e1a2b9c7d8f00112233445566778899aabbccddeeff00112233445566778").append(layer)
+                .append("\",\"size\":274303184,\"current\":").append((i % 1000) * 274303L).append("},\"mode\":\"pull\"}\n");
+        }
+        builder.append("{\"type\":\"success\",\"message\":\"Model pulled successfully\"}\n");
+        this.stream = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void linesAndTrees(Blackhole blackhole) throws IOException {
+        try (var reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(this.stream), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                var node = MAPPER.readTree(line);
+                blackhole.consume(node.path("type").asText());
+                blackhole.consume(node.path("total").asLong(-1));
+                blackhole.consume(node.path("layer").path("id").asText(null));
+                blackhole.consume(node.path("layer").path("current").asLong(-1));
+            }
+        }
+    }
+
+    @Benchmark
+    public void streamingParser(Blackhole blackhole) throws IOException {
+        PullEvent.readAll(new ByteArrayInputStream(this.stream), false, event ->
+        {
+            blackhole.consume(event.type());
+            blackhole.consume(event.total());
+            blackhole.consume(event.layerId());
+            blackhole.consume(event.layerCurrent());
+        });
+    }
+}
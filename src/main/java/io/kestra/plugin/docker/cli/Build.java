@@ -1,30 +1,41 @@
 package io.kestra.plugin.docker.cli;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.command.BuildImageCmd;
 import com.github.dockerjava.api.model.BuildResponseItem;
+import com.github.dockerjava.core.util.CompressArchiveUtil;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.*;
 import io.kestra.core.runners.FilesService;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.utils.Rethrow;
 import io.kestra.plugin.scripts.runner.docker.DockerService;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
 import io.kestra.core.models.annotations.PluginProperty;
 
 @SuperBuilder
@@ -142,6 +153,61 @@ import io.kestra.core.models.annotations.PluginProperty;
                     commands:
                       - python main.py
                 """
+        ),
+        @Example(
+            full = true,
+            title = "Build several variants of an image from the same Dockerfile, two at a time",
+            code = """
+                id: build_variants
+                namespace: company.team
+
+                tasks:
+                  - id: build
+                    type: io.kestra.plugin.docker.cli.Build
+                    dockerfile: |
+                      ARG PYTHON_VERSION=3.12
+                      FROM python:${PYTHON_VERSION}-slim AS slim
+                      RUN pip install --no-cache-dir requests
+
+                      FROM slim AS full
+                      RUN pip install --no-cache-dir pandas
+                    tags:
+                      - my-app:1.0
+                    concurrency: 2
+                    variants:
+                      - name: py311-slim
+                        target: slim
+                        buildArgs:
+                          PYTHON_VERSION: "3.11"
+                      - name: py312-slim
+                        target: slim
+                      - name: py312-full
+                        target: full
+                        tags:
+                          - my-app:1.0
+                          - my-app:latest
+                """
+        ),
+        @Example(
+            full = true,
+            title = "Build from namespace files without fetching or sending the data files",
+            code = """
+                id: build_without_data
+                namespace: company.team
+
+                tasks:
+                  - id: build
+                    type: io.kestra.plugin.docker.cli.Build
+                    dockerfile: Dockerfile
+                    tags:
+                      - my-app:latest
+                    namespaceFiles:
+                      enabled: true
+                    exclude:
+                      - data/**
+                      - "**/*.parquet"
+                      - "!data/schema.json"
+                """
         )
     },
     metrics = {
@@ -150,6 +216,32 @@ import io.kestra.core.models.annotations.PluginProperty;
             type = Counter.TYPE,
             unit = "bytes",
             description = "Total bytes pushed to the container registry"
+        ),
+        @Metric(
+            name = "variants",
+            type = Counter.TYPE,
+            description = "Number of variants built"
+        ),
+        @Metric(
+            name = "platforms",
+            type = Counter.TYPE,
+            description = "Number of platform images referenced by the manifest list"
+        ),
+        @Metric(
+            name = "variant.duration",
+            type = Timer.TYPE,
+            description = "Duration of the build of each variant, or of each platform with `manifestList`, tagged by `variant`"
+        ),
+        @Metric(
+            name = "bytes.excluded",
+            type = Counter.TYPE,
+            unit = "bytes",
+            description = "Size of the working directory files left out of the build context by `.dockerignore` and `exclude`"
+        ),
+        @Metric(
+            name = "files.excluded",
+            type = Counter.TYPE,
+            description = "Number of files left out of the build context, including the namespace files not fetched"
         )
     }
 )
@@ -213,6 +305,49 @@ public class Build extends AbstractDocker implements RunnableTask<Build.Output>,
     @PluginProperty(group = "advanced")
     private Property<String> target;
 
+    @Schema(
+        title = "Build variants",
+        description = """
+            Builds the same Dockerfile once per variant instead of once, each variant overriding the build arguments, target and platforms of the task.
+            The build context is packed once and sent to the daemon for each variant, with at most `concurrency` builds at once.
+            A variant without `tags` is tagged with the task tags suffixed with its name, e.g. `my-app:1.0-slim` for the variant `slim`.
+            """
+    )
+    @PluginProperty(group = "main")
+    private List<Variant> variants;
+
+    @Schema(
+        title = "Build a multi-platform image",
+        description = """
+            Builds the image once per entry of `platforms`, in parallel, and pushes each platform image with the task tags suffixed with the platform,
+            e.g. `my-app:1.0-linux-arm64`. A manifest list referencing them is then pushed under each task tag through the registry API,
+            using the task `credentials`. Registry hosts named `localhost` are reached over HTTP, others over HTTPS.
+            The daemon must be able to build for each platform, e.g. with QEMU emulation installed. Can't be combined with `variants`.
+            """
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> manifestList = Property.ofValue(false);
+
+    @Schema(
+        title = "Maximum number of variants or platforms built at once",
+        description = "Only used with `variants` or `manifestList`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> concurrency = Property.ofValue(2);
+
+    @Schema(
+        title = "Paths to leave out of the build context",
+        description = """
+            Patterns in `.dockerignore` syntax, relative to the build context, e.g. `data/**` or `**/*.parquet`, applied after the `.dockerignore` file of the context if any.
+            Excluded namespace files are not fetched from internal storage, and excluded files of the working directory are not sent to the daemon.
+            The Dockerfile and `.dockerignore` are always sent.
+            """
+    )
+    @PluginProperty(group = "source")
+    private Property<List<String>> exclude;
+
     @PluginProperty(group = "source")
     private NamespaceFiles namespaceFiles;
 
@@ -224,24 +359,19 @@ public class Build extends AbstractDocker implements RunnableTask<Build.Output>,
         List<String> renderedTags = runContext.render(this.tags).asList(String.class).isEmpty() ? new ArrayList<>() : runContext.render(this.tags).asList(String.class);
         Set<String> tags = renderedTags.stream().map(this::removeScheme).collect(Collectors.toSet());
 
-        if (this.namespaceFiles != null && Boolean.TRUE.equals(runContext.render(this.namespaceFiles.getEnabled()).as(Boolean.class).orElse(true))) {
-            runContext.storage()
-                .namespace()
-                .findAllFilesMatching(
-                    runContext.render(this.namespaceFiles.getInclude()).asList(String.class),
-                    runContext.render(this.namespaceFiles.getExclude()).asList(String.class)
-                )
-                .forEach(Rethrow.throwConsumer(namespaceFile ->
-                {
-                    InputStream content = runContext.storage().getFile(namespaceFile.uri());
-                    runContext.workingDir().putFile(Path.of(namespaceFile.path()), content);
-                }));
-        }
+        String rDockerfile = runContext.render(this.dockerfile).as(String.class).orElseThrow();
+        var rExclude = DockerIgnore.parse(runContext.render(this.exclude).asList(String.class));
 
+        // input files first, so that the Dockerfile they may provide is known when filtering namespace files
         if (this.inputFiles != null) {
             FilesService.inputFiles(runContext, this.inputFiles);
         }
 
+        var skippedFiles = 0;
+        if (this.namespaceFiles != null && Boolean.TRUE.equals(runContext.render(this.namespaceFiles.getEnabled()).as(Boolean.class).orElse(true))) {
+            skippedFiles = this.fetchNamespaceFiles(runContext, rDockerfile, rExclude);
+        }
+
         try (
             DockerClient dockerClient = DockerService.client(
                 runContext,
@@ -251,74 +381,439 @@ public class Build extends AbstractDocker implements RunnableTask<Build.Output>,
                 tags.iterator().next()
             )
         ) {
-            BuildImageCmd buildImageCmd = dockerClient.buildImageCmd()
-                .withPull(runContext.render(this.pull).as(Boolean.class).orElseThrow());
-
-            Path path = runContext.workingDir().path();
-            String dockerfile = runContext.render(this.dockerfile).as(String.class).orElseThrow();
             Path dockerFile;
 
-            if (path.resolve(dockerfile).toFile().exists()) {
-                dockerFile = runContext.workingDir().resolve(Path.of(dockerfile));
+            if (isDockerfilePath(runContext, rDockerfile)) {
+                dockerFile = runContext.workingDir().resolve(Path.of(rDockerfile));
             } else {
-                dockerFile = runContext.workingDir().createTempFile(dockerfile.getBytes(StandardCharsets.UTF_8), ".dockerfile");
+                dockerFile = runContext.workingDir().createTempFile(rDockerfile.getBytes(StandardCharsets.UTF_8), ".dockerfile");
             }
 
-            buildImageCmd.withDockerfile(dockerFile.toFile());
+            var defaults = new Settings(
+                tags,
+                runContext.render(this.buildArgs).asMap(String.class, String.class),
+                runContext.render(this.target).as(String.class).orElse(null),
+                runContext.render(platforms).asList(String.class)
+            );
+
+            var hasVariants = this.variants != null && !this.variants.isEmpty();
+            var rManifestList = runContext.render(this.manifestList).as(Boolean.class).orElse(false);
+            if (rManifestList && hasVariants) {
+                throw new IllegalArgumentException("`variants` and `manifestList` can't be combined");
+            }
+
+            var context = this.packContext(runContext, dockerFile, rExclude);
+            runContext.metric(Counter.of("bytes.excluded", context.excludedBytes()));
+            runContext.metric(Counter.of("files.excluded", context.excludedFiles() + skippedFiles));
+            try {
+                if (rManifestList) {
+                    return this.buildManifestList(runContext, dockerClient, context, defaults);
+                }
+
+                if (!hasVariants) {
+                    try (var tar = Files.newInputStream(context.archive())) {
+                        BuildImageCmd buildImageCmd = dockerClient.buildImageCmd()
+                            .withTarInputStream(tar)
+                            .withDockerfilePath(context.dockerfilePath());
+
+                        String imageId = this.build(runContext, dockerClient, buildImageCmd, defaults, runContext.render(this.push).as(Boolean.class).orElseThrow());
+
+                        return Output.builder()
+                            .imageId(imageId)
+                            .build();
+                    }
+                }
+
+                var built = this.buildAll(runContext, dockerClient, context, this.resolveVariants(runContext, defaults), runContext.render(this.push).as(Boolean.class).orElseThrow());
+                runContext.metric(Counter.of("variants", built.size()));
+                return Output.builder()
+                    .variants(built)
+                    .build();
+            } finally {
+                Files.deleteIfExists(context.archive());
+            }
+        }
+    }
+
+    /**
+     * Whether the {@code dockerfile} property names a file of the working directory, rather than inline content.
+     */
+    private static boolean isDockerfilePath(RunContext runContext, String rDockerfile) {
+        return runContext.workingDir().path().resolve(rDockerfile).toFile().exists();
+    }
 
-            List<String> renderedPlatforms = runContext.render(platforms).asList(String.class);
-            if (!renderedPlatforms.isEmpty()) {
-                renderedPlatforms.forEach(buildImageCmd::withPlatform);
+    /**
+     * Fetches the matching namespace files into the working directory, except those the build context excludes, so
+     * that large artifacts ignored by the build are never downloaded. The {@code .dockerignore} file of the context is
+     * read first to know what to skip. As the Dockerfile may not be fetched yet, it is located with the same rule as
+     * {@link #isDockerfilePath}, counting the namespace files about to be fetched; inline content means the working
+     * directory. Files already provided by {@code inputFiles} are kept, as they take precedence.
+     *
+     * @return the number of namespace files skipped
+     */
+    private int fetchNamespaceFiles(RunContext runContext, String rDockerfile, DockerIgnore rExclude) throws Exception {
+        var matching = runContext.storage()
+            .namespace()
+            .findAllFilesMatching(
+                runContext.render(this.namespaceFiles.getInclude()).asList(String.class),
+                runContext.render(this.namespaceFiles.getExclude()).asList(String.class)
+            );
+
+        var cleanDockerfile = DockerIgnore.clean(rDockerfile);
+        var isPath = isDockerfilePath(runContext, rDockerfile) || matching.stream().anyMatch(namespaceFile -> DockerIgnore.clean(namespaceFile.path()).equals(cleanDockerfile));
+        var dockerfilePath = isPath ? cleanDockerfile : null;
+        var contextPrefix = dockerfilePath != null && dockerfilePath.contains("/") ? dockerfilePath.substring(0, dockerfilePath.lastIndexOf('/') + 1) : "";
+
+        var workingDir = runContext.workingDir().path();
+        var dockerignorePath = contextPrefix + DockerIgnore.FILE_NAME;
+        var ignore = rExclude;
+        if (Files.isRegularFile(workingDir.resolve(dockerignorePath))) {
+            ignore = DockerIgnore.read(Files.readString(workingDir.resolve(dockerignorePath))).with(rExclude);
+        } else {
+            for (var namespaceFile : matching) {
+                if (DockerIgnore.clean(namespaceFile.path()).equals(dockerignorePath)) {
+                    try (InputStream content = runContext.storage().getFile(namespaceFile.uri())) {
+                        var bytes = content.readAllBytes();
+                        ignore = DockerIgnore.read(new String(bytes, StandardCharsets.UTF_8)).with(rExclude);
+                        runContext.workingDir().putFile(Path.of(namespaceFile.path()), new ByteArrayInputStream(bytes));
+                    }
+                }
             }
+        }
 
-            buildImageCmd.withTags(tags);
+        var skipped = 0;
+        for (var namespaceFile : matching) {
+            var file = DockerIgnore.clean(namespaceFile.path());
+            if (file.equals(dockerignorePath) || Files.exists(workingDir.resolve(file))) {
+                continue;
+            }
+            if (file.startsWith(contextPrefix) && !file.equals(dockerfilePath) && ignore.excludes(file.substring(contextPrefix.length()))) {
+                runContext.logger().debug("Skipping namespace file {} excluded from the build context", file);
+                skipped++;
+                continue;
+            }
 
-            var renderedArgs = runContext.render(this.buildArgs).asMap(String.class, String.class);
-            if (!renderedArgs.isEmpty()) {
-                renderedArgs.forEach(buildImageCmd::withBuildArg);
+            try (InputStream content = runContext.storage().getFile(namespaceFile.uri())) {
+                runContext.workingDir().putFile(Path.of(namespaceFile.path()), content);
             }
+        }
+        if (skipped > 0) {
+            runContext.logger().info("Skipped {} namespace files excluded from the build context", skipped);
+        }
+        return skipped;
+    }
 
-            var renderedLabel = runContext.render(this.labels).asMap(String.class, String.class);
-            if (!renderedLabel.isEmpty()) {
-                buildImageCmd.withLabels(renderedLabel);
+    /**
+     * Archives the build context, the directory of the Dockerfile, leaving out what its {@code .dockerignore} file and
+     * {@code exclude} exclude. The Dockerfile and {@code .dockerignore} are always included, as the daemon needs them.
+     */
+    private Context packContext(RunContext runContext, Path dockerFile, DockerIgnore rExclude) throws Exception {
+        var contextDir = dockerFile.getParent();
+        var dockerignoreFile = contextDir.resolve(DockerIgnore.FILE_NAME);
+        var ignore = Files.isRegularFile(dockerignoreFile) ? DockerIgnore.read(Files.readString(dockerignoreFile)).with(rExclude) : rExclude;
+
+        var included = new ArrayList<File>();
+        var excludedBytes = 0L;
+        var excludedFiles = 0;
+        try (var paths = Files.walk(contextDir)) {
+            for (Path file : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                if (!file.equals(dockerFile) && !file.equals(dockerignoreFile) && ignore.excludes(contextDir.relativize(file).toString().replace('\\', '/'))) {
+                    excludedBytes += Files.size(file);
+                    excludedFiles++;
+                } else {
+                    included.add(file.toFile());
+                }
             }
+        }
+
+        var archive = CompressArchiveUtil.archiveTARFiles(contextDir.toFile(), included, UUID.randomUUID().toString()).toPath();
+        // moved once the context is archived, so that it isn't part of it
+        var context = runContext.workingDir().createTempFile(".tar.gz");
+        Files.move(archive, context, StandardCopyOption.REPLACE_EXISTING);
+        runContext.logger().info(
+            "Packed the build context: {} files ({} bytes), {} files ({} bytes) excluded",
+            included.size(), Files.size(context), excludedFiles, excludedBytes
+        );
 
-            runContext.render(this.target).as(String.class).ifPresent(buildImageCmd::withTarget);
+        return new Context(context, contextDir.relativize(dockerFile).toString().replace('\\', '/'), excludedBytes, excludedFiles);
+    }
+
+    /**
+     * Builds and pushes one image per platform, then pushes a manifest list referencing them under each task tag. The
+     * manifest list is assembled from what the registry reports for each platform image, so that its media type, digest
+     * and size match what was actually pushed.
+     */
+    private Output buildManifestList(RunContext runContext, DockerClient dockerClient, Context context, Settings defaults) throws Exception {
+        if (defaults.platforms().isEmpty()) {
+            throw new IllegalArgumentException("`manifestList` requires at least one entry in `platforms`, e.g. `linux/amd64`");
+        }
 
-            String imageId = buildImageCmd
-                .exec(new BuildImageResultCallback(runContext))
-                .awaitImageId();
+        var platformBuilds = new ArrayList<Map.Entry<String, Settings>>();
+        for (String platform : defaults.platforms()) {
+            var suffix = platform.replace('/', '-');
+            platformBuilds.add(Map.entry(platform, new Settings(
+                defaults.tags().stream().map(tag -> variantTag(tag, suffix)).collect(Collectors.toSet()),
+                defaults.buildArgs(),
+                defaults.target(),
+                List.of(platform)
+            )));
+        }
+        var built = this.buildAll(runContext, dockerClient, context, platformBuilds, true);
+
+        var digests = new LinkedHashMap<String, String>();
+        try (var registries = new RegistryClient.Pool(runContext, this.getCredentials())) {
+            for (String tag : defaults.tags()) {
+                var reference = RegistryClient.Reference.parse(tag);
+                var registry = registries.get(reference);
+
+                var manifests = new ArrayList<RegistryClient.Manifest>();
+                for (String platform : defaults.platforms()) {
+                    var platformTag = RegistryClient.Reference.parse(variantTag(tag, platform.replace('/', '-'))).tag();
+                    manifests.add(registry.describe(reference.repository(), platformTag).forPlatform(platform));
+                }
 
-            if (runContext.render(this.push).as(Boolean.class).orElseThrow()) {
-                for (String tag : tags) {
-                    PushResponseItemCallback resultPush = dockerClient.pushImageCmd(tag)
-                        .exec(new PushResponseItemCallback(runContext));
+                var digest = registry.putManifestList(reference.repository(), reference.tag(), manifests);
+                runContext.logger().info("Pushed manifest list {} for {} platforms as {}", tag, manifests.size(), digest);
+                digests.put(tag, digest);
+            }
+        }
 
-                    resultPush.awaitCompletion();
+        runContext.metric(Counter.of("platforms", built.size()));
+        return Output.builder()
+            .platforms(built)
+            .manifestDigests(digests)
+            .build();
+    }
 
-                    if (resultPush.getError() != null) {
-                        throw resultPush.getError();
+    private List<Map.Entry<String, Settings>> resolveVariants(RunContext runContext, Settings defaults) throws Exception {
+        var rVariants = new ArrayList<Map.Entry<String, Settings>>();
+        for (Variant variant : this.variants) {
+            var name = runContext.render(variant.getName()).as(String.class)
+                .orElseThrow(() -> new IllegalArgumentException("Each build variant requires a `name`"));
+            if (rVariants.stream().anyMatch(entry -> entry.getKey().equals(name))) {
+                throw new IllegalArgumentException("Duplicate build variant name '" + name + "'");
+            }
+
+            var rTags = runContext.render(variant.getTags()).asList(String.class).stream().map(this::removeScheme).collect(Collectors.toSet());
+            var rBuildArgs = new LinkedHashMap<>(defaults.buildArgs());
+            rBuildArgs.putAll(runContext.render(variant.getBuildArgs()).asMap(String.class, String.class));
+            var rPlatforms = runContext.render(variant.getPlatforms()).asList(String.class);
+
+            rVariants.add(Map.entry(name, new Settings(
+                rTags.isEmpty() ? defaults.tags().stream().map(tag -> variantTag(tag, name)).collect(Collectors.toSet()) : rTags,
+                rBuildArgs,
+                runContext.render(variant.getTarget()).as(String.class).orElse(defaults.target()),
+                rPlatforms.isEmpty() ? defaults.platforms() : rPlatforms
+            )));
+        }
+        return rVariants;
+    }
+
+    /**
+     * Builds every variant from the single archive of the build context, so that the files are read and compressed
+     * once however many variants there are.
+     */
+    private Map<String, BuiltVariant> buildAll(RunContext runContext, DockerClient dockerClient, Context context, List<Map.Entry<String, Settings>> rVariants, boolean rPush) throws Exception {
+        var rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(2);
+        var permits = new Semaphore(Math.max(1, rConcurrency));
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<BuiltVariant>>();
+            for (var variant : rVariants) {
+                futures.add(executor.submit(() ->
+                {
+                    permits.acquire();
+                    try (var tar = Files.newInputStream(context.archive())) {
+                        var start = System.nanoTime();
+                        runContext.logger().info("Building '{}'", variant.getKey());
+                        BuildImageCmd buildImageCmd = dockerClient.buildImageCmd()
+                            .withTarInputStream(tar)
+                            .withDockerfilePath(context.dockerfilePath());
+                        var imageId = this.build(runContext, dockerClient, buildImageCmd, variant.getValue(), rPush);
+                        var duration = Duration.ofNanos(System.nanoTime() - start);
+                        runContext.metric(Timer.of("variant.duration", duration, "variant", variant.getKey()));
+                        return BuiltVariant.builder()
+                            .imageId(imageId)
+                            .tags(List.copyOf(variant.getValue().tags()))
+                            .size(dockerClient.inspectImageCmd(imageId).exec().getSize())
+                            .duration(duration)
+                            .build();
+                    } finally {
+                        permits.release();
                     }
+                }));
+            }
+
+            var built = new LinkedHashMap<String, BuiltVariant>();
+            var failures = new ArrayList<String>();
+            Throwable firstFailure = null;
+            for (var i = 0; i < rVariants.size(); i++) {
+                try {
+                    built.put(rVariants.get(i).getKey(), futures.get(i).get());
+                } catch (ExecutionException e) {
+                    failures.add(rVariants.get(i).getKey() + ": " + e.getCause().getMessage());
+                    firstFailure = firstFailure == null ? e.getCause() : firstFailure;
                 }
             }
+            if (!failures.isEmpty()) {
+                throw new IllegalStateException(
+                    "Failed to build " + failures.size() + " of " + rVariants.size() + " images: " + String.join("; ", failures),
+                    firstFailure
+                );
+            }
 
-            return Output.builder()
-                .imageId(imageId)
-                .build();
+            return built;
         }
     }
 
+    private String build(RunContext runContext, DockerClient dockerClient, BuildImageCmd buildImageCmd, Settings settings, boolean rPush) throws Exception {
+        buildImageCmd.withPull(runContext.render(this.pull).as(Boolean.class).orElseThrow());
+
+        if (!settings.platforms().isEmpty()) {
+            settings.platforms().forEach(buildImageCmd::withPlatform);
+        }
+
+        buildImageCmd.withTags(settings.tags());
+
+        if (!settings.buildArgs().isEmpty()) {
+            settings.buildArgs().forEach(buildImageCmd::withBuildArg);
+        }
+
+        var renderedLabel = runContext.render(this.labels).asMap(String.class, String.class);
+        if (!renderedLabel.isEmpty()) {
+            buildImageCmd.withLabels(renderedLabel);
+        }
+
+        if (settings.target() != null) {
+            buildImageCmd.withTarget(settings.target());
+        }
+
+        String imageId = buildImageCmd
+            .exec(new BuildImageResultCallback(runContext))
+            .awaitImageId();
+
+        if (rPush) {
+            for (String tag : settings.tags()) {
+                PushResponseItemCallback resultPush = dockerClient.pushImageCmd(tag)
+                    .exec(new PushResponseItemCallback(runContext));
+
+                resultPush.awaitCompletion();
+
+                if (resultPush.getError() != null) {
+                    throw resultPush.getError();
+                }
+            }
+        }
+
+        return imageId;
+    }
+
+    /**
+     * Suffixes the tag part of an image reference with the variant name, adding a tag if there is none, e.g.
+     * {@code my-app:1.0} becomes {@code my-app:1.0-slim} and {@code registry:5000/my-app} becomes {@code registry:5000/my-app:slim}.
+     */
+    static String variantTag(String image, String variant) {
+        var digest = image.indexOf('@');
+        var reference = digest >= 0 ? image.substring(0, digest) : image;
+        return reference.lastIndexOf(':') > reference.lastIndexOf('/') ? reference + "-" + variant : reference + ":" + variant;
+    }
+
+    private record Settings(Set<String> tags, Map<String, String> buildArgs, String target, List<String> platforms) {
+    }
+
+    private record Context(Path archive, String dockerfilePath, long excludedBytes, int excludedFiles) {
+    }
+
     private String removeScheme(String string) {
         return string.contains("://") ? string.split("://")[1] : string;
     }
 
+    @Builder
+    @Getter
+    @Jacksonized
+    public static class Variant {
+        @Schema(
+            title = "Variant name",
+            description = "Key of the variant in the outputs, also used to derive its tags when none are set."
+        )
+        @NotNull
+        private Property<String> name;
+
+        @Schema(
+            title = "Image tags of the variant",
+            description = "Defaults to the task tags suffixed with the variant name."
+        )
+        private Property<List<String>> tags;
+
+        @Schema(
+            title = "Build arguments of the variant",
+            description = "Merged over the task `buildArgs`."
+        )
+        private Property<Map<String, String>> buildArgs;
+
+        @Schema(
+            title = "Target build stage of the variant",
+            description = "Defaults to the task `target`."
+        )
+        private Property<String> target;
+
+        @Schema(
+            title = "Target platforms of the variant",
+            description = "Defaults to the task `platforms`."
+        )
+        private Property<List<String>> platforms;
+    }
+
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Built image ID",
+            description = "Not set when building `variants`."
+        )
+        private String imageId;
+
+        @Schema(
+            title = "Built variants by name",
+            description = "Only set when building `variants`, in their declaration order."
+        )
+        private Map<String, BuiltVariant> variants;
+
+        @Schema(
+            title = "Platform images by platform",
+            description = "Only set with `manifestList`, in the order of `platforms`."
+        )
+        private Map<String, BuiltVariant> platforms;
+
+        @Schema(
+            title = "Digests of the pushed manifest lists by tag",
+            description = "Only set with `manifestList`."
+        )
+        private Map<String, String> manifestDigests;
+    }
+
+    @Builder
+    @Getter
+    public static class BuiltVariant {
         @Schema(
             title = "Built image ID"
         )
         private String imageId;
+
+        @Schema(
+            title = "Image tags"
+        )
+        private List<String> tags;
+
+        @Schema(
+            title = "Image size in bytes",
+            description = "As reported by the daemon, uncompressed."
+        )
+        private Long size;
+
+        @Schema(
+            title = "Duration of the build, and of the push if any"
+        )
+        private Duration duration;
     }
 
     public static class BuildImageResultCallback extends com.github.dockerjava.api.command.BuildImageResultCallback {
@@ -0,0 +1,322 @@
+package io.kestra.plugin.docker.cli;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.runners.TargetOS;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.scripts.exec.AbstractExecScript;
+import io.kestra.plugin.scripts.exec.scripts.models.ScriptOutput;
+import io.kestra.plugin.scripts.runner.docker.Credentials;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Build an image with BuildKit through `docker buildx`",
+    description = """
+        Runs `docker buildx build` in `containerImage` through the task runner, which must reach a Docker daemon (mount the host socket or provide DinD), as for `Compose`.
+        Unlike `Build`, which uses the legacy builder of the daemon API, BuildKit honors `RUN --mount=type=cache` steps, can import and export build cache,
+        and mounts `secrets` during the steps that request them (`RUN --mount=type=secret,id=...`) without storing them in any layer or in the build cache key.
+        Secrets reach the `docker` CLI through environment variables, never through its command line.
+
+        The image ID and manifest digest are returned in `vars.imageId` and `vars.digest`.
+        """
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Build with a cache mount and a secret, exporting the cache inline",
+            full = true,
+            code = """
+                id: docker_buildx
+                namespace: company.team
+
+                tasks:
+                  - id: build
+                    type: io.kestra.plugin.docker.cli.Buildx
+                    taskRunner:
+                      type: io.kestra.plugin.scripts.runner.docker.Docker
+                      volumes:
+                        - /var/run/docker.sock:/var/run/docker.sock
+                    dockerfile: |
+                      # syntax=docker/dockerfile:1
+                      FROM node:22-slim
+                      WORKDIR /app
+                      COPY package.json package-lock.json ./
+                      RUN --mount=type=cache,target=/root/.npm \\
+                          --mount=type=secret,id=npmrc,target=/root/.npmrc \\
+                          npm ci
+                    tags:
+                      - registry.example.com/my-app:latest
+                    cacheFrom:
+                      - type=registry,ref=registry.example.com/my-app:latest
+                    inlineCache: true
+                    push: true
+                    secrets:
+                      npmrc: "{{ secret('NPMRC') }}"
+                    credentials:
+                      registry: registry.example.com
+                      username: "{{ secret('REGISTRY_USERNAME') }}"
+                      password: "{{ secret('REGISTRY_PASSWORD') }}"
+                    namespaceFiles:
+                      enabled: true
+                """
+        )
+    }
+)
+public class Buildx extends AbstractExecScript implements RunnableTask<ScriptOutput> {
+    private static final String DEFAULT_IMAGE = "docker:27.5.1-cli";
+    private static final String METADATA_FILE = ".buildx-metadata.json";
+    private static final String SECRET_ENV_PREFIX = "BUILDX_SECRET_";
+    private static final String PASSWORD_ENV = "BUILDX_REGISTRY_PASSWORD";
+
+    // relative, as the task runner may mount the working directory elsewhere
+    private static final String DOCKER_CONFIG_DIR = ".docker-config";
+    private static final Pattern SAFE_ARGUMENT = Pattern.compile("[A-Za-z0-9_./:=,@%+-]+");
+
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<String> containerImage = Property.ofValue(DEFAULT_IMAGE);
+
+    @Schema(
+        title = "Dockerfile content or path",
+        description = "Inline Dockerfile text or a relative path in the working directory; inline content is stored as a temp file before build."
+    )
+    @NotNull
+    @PluginProperty(group = "source")
+    private Property<String> dockerfile;
+
+    @Schema(
+        title = "Build context",
+        description = "Directory sent to BuildKit, relative to the working directory, or a Git or HTTP URL."
+    )
+    @Builder.Default
+    @PluginProperty(group = "source")
+    private Property<String> context = Property.ofValue(".");
+
+    @Schema(
+        title = "Image tags",
+        description = "Include the registry host for custom registries."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<List<String>> tags;
+
+    @Schema(
+        title = "Target platforms for the image",
+        description = "Passed together to `--platform`; several platforms build a multi-platform image, which requires `push` or a daemon using the containerd image store."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<List<String>> platforms;
+
+    @Schema(
+        title = "Build arguments"
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Map<String, String>> buildArgs;
+
+    @Schema(
+        title = "Image labels"
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Map<String, String>> labels;
+
+    @Schema(
+        title = "Target build stage",
+        description = "Name of the build stage to stop at in a multi-stage Dockerfile; equivalent to `--target`."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> target;
+
+    @Schema(
+        title = "Push the image to a registry",
+        description = "Defaults to false, in which case the image is loaded into the daemon."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> push = Property.ofValue(false);
+
+    @Schema(
+        title = "Cache sources",
+        description = "Each entry is passed to `--cache-from`, e.g. `type=registry,ref=registry.example.com/my-app:latest` to reuse the cache exported inline with a previous push."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<List<String>> cacheFrom;
+
+    @Schema(
+        title = "Cache destinations",
+        description = "Each entry is passed to `--cache-to`, e.g. `type=registry,ref=registry.example.com/my-app:cache,mode=max`."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<List<String>> cacheTo;
+
+    @Schema(
+        title = "Export the build cache inline",
+        description = "Embeds the cache metadata in the image, so that a later build can use the pushed image in `cacheFrom`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> inlineCache = Property.ofValue(false);
+
+    @Schema(
+        title = "Build secrets",
+        description = "Secret ID to value, mounted by `RUN --mount=type=secret,id=<id>` steps only. Changing a value doesn't invalidate the build cache."
+    )
+    @ToString.Exclude
+    @PluginProperty(secret = true, group = "advanced")
+    private Property<Map<String, String>> secrets;
+
+    @Schema(
+        title = "Buildx builder",
+        description = "Name of the builder instance to use, defaults to the current builder of the Docker CLI."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> builder;
+
+    @Schema(
+        title = "The URI of your Docker host e.g. tcp://docker:2375",
+        description = "Set as `DOCKER_HOST` for the `docker` CLI; defaults to its own default, usually the mounted socket."
+    )
+    @PluginProperty(group = "connection")
+    private Property<String> host;
+
+    @Schema(
+        title = "Credentials for a private container registry",
+        description = "Used to log in before the build, for pushing and for registry cache sources; the password is passed on the standard input of `docker login`. The login is stored in a `DOCKER_CONFIG` directory of the working directory, unless `env` sets one, so that it doesn't outlive the task on a shared Docker host."
+    )
+    @PluginProperty(dynamic = true, secret = true, group = "connection")
+    private Credentials credentials;
+
+    @Override
+    public ScriptOutput run(RunContext runContext) throws Exception {
+        var env = new HashMap<>(runContext.render(this.getEnv()).asMap(String.class, String.class));
+        runContext.render(this.host).as(String.class).ifPresent(host -> env.put("DOCKER_HOST", host));
+
+        List<String> args = new ArrayList<>(List.of("docker", "buildx", "build"));
+        runContext.render(this.builder).as(String.class).ifPresent(builder -> args.addAll(List.of("--builder", builder)));
+        args.addAll(List.of("--file", this.dockerfilePath(runContext)));
+
+        for (String tag : runContext.render(this.tags).asList(String.class)) {
+            args.addAll(List.of("--tag", tag.contains("://") ? tag.split("://", 2)[1] : tag));
+        }
+
+        var rPlatforms = runContext.render(this.platforms).asList(String.class);
+        if (!rPlatforms.isEmpty()) {
+            args.addAll(List.of("--platform", String.join(",", rPlatforms)));
+        }
+        runContext.render(this.buildArgs).asMap(String.class, String.class).forEach((key, value) -> args.addAll(List.of("--build-arg", key + "=" + value)));
+        runContext.render(this.labels).asMap(String.class, String.class).forEach((key, value) -> args.addAll(List.of("--label", key + "=" + value)));
+        runContext.render(this.target).as(String.class).ifPresent(target -> args.addAll(List.of("--target", target)));
+
+        runContext.render(this.cacheFrom).asList(String.class).forEach(cache -> args.addAll(List.of("--cache-from", cache)));
+        runContext.render(this.cacheTo).asList(String.class).forEach(cache -> args.addAll(List.of("--cache-to", cache)));
+        if (runContext.render(this.inlineCache).as(Boolean.class).orElse(false)) {
+            args.addAll(List.of("--cache-to", "type=inline"));
+        }
+
+        for (var secret : runContext.render(this.secrets).asMap(String.class, String.class).entrySet()) {
+            var variable = secretEnv(secret.getKey());
+            if (env.put(variable, secret.getValue()) != null) {
+                throw new IllegalArgumentException("The secret '" + secret.getKey() + "' collides with another secret or environment variable named " + variable);
+            }
+            args.addAll(List.of("--secret", "id=" + secret.getKey() + ",env=" + variable));
+        }
+
+        args.add(runContext.render(this.push).as(Boolean.class).orElse(false) ? "--push" : "--load");
+        args.addAll(List.of("--progress", "plain", "--metadata-file", METADATA_FILE));
+        args.add(runContext.render(this.context).as(String.class).orElse("."));
+
+        var command = args.stream().map(Buildx::quote).collect(Collectors.joining(" "));
+        runContext.logger().info("Running command: {}", command);
+
+        var login = this.login(runContext, env);
+        // the build metadata is turned into outputs, on a single line as expected by the log parser
+        var script = (login != null ? login + " && " : "") + command
+            + " && printf '::{\"outputs\":{\"metadata\":%s}}::\\n' \"$(tr -d '\\n' < " + METADATA_FILE + ")\"";
+
+        var output = this.commands(runContext)
+            .withEnv(env)
+            .withCommands(Property.ofValue(List.of(script)))
+            .withTargetOS(runContext.render(this.targetOS).as(TargetOS.class).orElse(null))
+            .run();
+
+        return withMetadata(output);
+    }
+
+    private String dockerfilePath(RunContext runContext) throws Exception {
+        var rDockerfile = runContext.render(this.dockerfile).as(String.class).orElseThrow();
+        var workingDir = runContext.workingDir().path();
+        if (workingDir.resolve(rDockerfile).toFile().exists()) {
+            return rDockerfile;
+        }
+
+        Path file = runContext.workingDir().createTempFile(rDockerfile.getBytes(StandardCharsets.UTF_8), ".dockerfile");
+        // relative, as the task runner may mount the working directory elsewhere
+        return workingDir.relativize(file).toString().replace('\\', '/');
+    }
+
+    private String login(RunContext runContext, Map<String, String> env) throws Exception {
+        if (this.credentials == null) {
+            return null;
+        }
+        var username = runContext.render(this.credentials.getUsername()).as(String.class).orElse(null);
+        var password = runContext.render(this.credentials.getPassword()).as(String.class).orElse(null);
+        if (username == null || password == null) {
+            return null;
+        }
+
+        env.put(PASSWORD_ENV, password);
+        env.putIfAbsent("DOCKER_CONFIG", DOCKER_CONFIG_DIR);
+        var login = "printf '%s' \"$" + PASSWORD_ENV + "\" | docker login --username " + quote(username) + " --password-stdin";
+        var registry = runContext.render(this.credentials.getRegistry()).as(String.class).orElse(null);
+        return registry != null ? login + " " + quote(registry) : login;
+    }
+
+    /**
+     * Exposes the image ID and manifest digest reported by buildx, next to its raw metadata.
+     */
+    @SuppressWarnings("unchecked")
+    static ScriptOutput withMetadata(ScriptOutput output) {
+        if (output.getVars() == null || !(output.getVars().get("metadata") instanceof Map<?, ?> metadata)) {
+            return output;
+        }
+
+        var vars = new HashMap<String, Object>();
+        Optional.ofNullable(metadata.get("containerimage.config.digest")).ifPresent(imageId -> vars.put("imageId", imageId));
+        Optional.ofNullable(metadata.get("containerimage.digest")).ifPresent(digest -> vars.put("digest", digest));
+        return Run.withVars(output, vars);
+    }
+
+    /**
+     * Environment variable carrying a secret, e.g. {@code BUILDX_SECRET_NPM_TOKEN} for the secret {@code npm-token}.
+     */
+    static String secretEnv(String id) {
+        return SECRET_ENV_PREFIX + id.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_");
+    }
+
+    /**
+     * Quotes an argument for the shell of the task runner, leaving plain ones as is for readable logs.
+     */
+    static String quote(String argument) {
+        if (SAFE_ARGUMENT.matcher(argument).matches()) {
+            return argument;
+        }
+        return "'" + argument.replace("'", "'\"'\"'") + "'";
+    }
+}
@@ -1,23 +1,30 @@
 package io.kestra.plugin.docker.cli;
 
-import java.io.InputStream;
+import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import com.github.dockerjava.api.DockerClient;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.runners.TargetOS;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.scripts.exec.AbstractExecScript;
 import io.kestra.plugin.scripts.exec.scripts.models.ScriptOutput;
+import io.kestra.plugin.scripts.runner.docker.Credentials;
+import io.kestra.plugin.scripts.runner.docker.DockerService;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -54,6 +61,8 @@ import lombok.experimental.SuperBuilder;
         ```
 
         On Kubernetes, ensure the worker has daemon access (e.g., DinD sidecar).
+
+        With `engine: NATIVE`, no `docker compose` container is started: the compose files are parsed by the task and the daemon reached through `host` is driven directly. The native engine supports the `up` and `down` commands (plus `-p`/`--project-name` and `down -v`) and the common subset of the Compose specification: `image`, `command`, `entrypoint`, `environment`, `ports`, `volumes`, `networks`, `depends_on` (with `service_started`, `service_healthy` and `service_completed_successfully` conditions), `healthcheck`, `labels`, `restart`, `working_dir`, `user`, `container_name`, `pull_policy` and `stop_grace_period`, as well as top-level `networks` and `volumes`. `up` always runs detached; independent services of the same dependency level are started in parallel. `down` stops the services in reverse dependency order, giving each its `stop_grace_period` (10 seconds by default) to shut down before it is killed.
         """
 )
 @Plugin(
@@ -81,11 +90,92 @@ import lombok.experimental.SuperBuilder;
                       - up
                       - -d
                 """
+        ),
+        @Example(
+            title = "Start a stack with the native engine, without a `docker compose` container",
+            full = true,
+            code = """
+                id: docker_compose_native
+                namespace: company.team
+
+                tasks:
+                  - id: up
+                    type: io.kestra.plugin.docker.cli.Compose
+                    engine: NATIVE
+                    composeFile: |
+                      services:
+                        db:
+                          image: postgres:16-alpine
+                          environment:
+                            POSTGRES_PASSWORD: example
+                          healthcheck:
+                            test: ["CMD-SHELL", "pg_isready -U postgres"]
+                            interval: 2s
+                            retries: 30
+                        app:
+                          image: nginx:alpine
+                          ports:
+                            - "8080:80"
+                          depends_on:
+                            db:
+                              condition: service_healthy
+                    composeArgs:
+                      - -p
+                      - my_stack
+                      - up
+                """
+        ),
+        @Example(
+            title = "Start a database and wait for it to be healthy before using it",
+            full = true,
+            code = """
+                id: docker_compose_wait_healthy
+                namespace: company.team
+
+                tasks:
+                  - id: up
+                    type: io.kestra.plugin.docker.cli.Compose
+                    taskRunner:
+                      type: io.kestra.plugin.scripts.runner.docker.Docker
+                      volumes:
+                        - /var/run/docker.sock:/var/run/docker.sock
+                    waitForHealthy: true
+                    serviceTimeouts:
+                      db: PT2M
+                    composeFile: |
+                      services:
+                        db:
+                          image: postgres:16-alpine
+                          environment:
+                            POSTGRES_PASSWORD: example
+                          ports:
+                            - "5432:5432"
+                          healthcheck:
+                            test: ["CMD-SHELL", "pg_isready -U postgres"]
+                            interval: 2s
+                            retries: 30
+                    composeArgs:
+                      - -p
+                      - my_stack
+                      - up
+                      - -d
+
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "Postgres ready in {{ outputs.up.vars.serviceStatus.db.timeToReady }} on {{ outputs.up.vars.serviceStatus.db.ports['5432/tcp'] | first }}"
+                """
         )
+    },
+    metrics = {
+        @Metric(name = "ready.duration", type = Timer.TYPE, description = "Time from container start to readiness, tagged by `service`, when `waitForHealthy` is enabled")
     }
 )
 public class Compose extends AbstractExecScript implements RunnableTask<ScriptOutput> {
     private static final String DEFAULT_IMAGE = "docker:27.5.1-cli";
+    private static final Duration DEFAULT_HEALTH_TIMEOUT = Duration.ofMinutes(5);
+    private static final Set<String> GLOBAL_OPTIONS_WITH_VALUE = Set.of(
+        "-p", "--project-name", "-f", "--file", "--env-file", "--profile", "--project-directory", "--ansi", "--progress", "--parallel"
+    );
 
     @Schema(
         title = "Compose file",
@@ -96,7 +186,7 @@ public class Compose extends AbstractExecScript implements RunnableTask<ScriptOu
 
     @Schema(
         title = "Compose files",
-        description = "Optional list passed in order with repeated `-f` flags; supports inline, relative paths, or `kestra://` URIs."
+        description = "Optional list passed in order with repeated `-f` flags; supports inline, relative paths, or `kestra://` URIs. Files are fetched concurrently; inline content, execution files and namespace file versions are cached on the worker so repeated runs skip the storage download."
     )
     @PluginProperty(internalStorageURI = true, group = "source")
     private Property<List<String>> composeFiles;
@@ -113,10 +203,71 @@ public class Compose extends AbstractExecScript implements RunnableTask<ScriptOu
     @PluginProperty(group = "main")
     private Property<List<String>> composeArgs;
 
+    @Schema(
+        title = "Compose engine",
+        description = "`CLI` (default) runs `docker compose` in `containerImage` through the task runner. `NATIVE` parses the compose files and drives the daemon at `host` directly, for the `up` and `down` commands and the common subset of the Compose specification."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Engine> engine = Property.ofValue(Engine.CLI);
+
+    @Schema(
+        title = "Wait for services to be healthy",
+        description = """
+            After a successful `up`, waits until every container of the project is ready: `healthy` when its service defines a healthcheck, running otherwise; one-shot containers that exit with code 0 also count as ready. The wait follows the daemon event stream rather than polling. The task fails if a service becomes unhealthy, exits with a non-zero code, or is not ready within its timeout.
+
+            The status of each service (container ID, state, health, published ports and time to ready) is returned in `vars.serviceStatus`. With the `CLI` engine, `host` must reach the same daemon as the `docker compose` container."""
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> waitForHealthy = Property.ofValue(false);
+
+    @Schema(
+        title = "Default time to wait for each service to be ready",
+        description = "Used when `waitForHealthy` is enabled, and by the `NATIVE` engine to wait for the `depends_on` conditions of a service."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> healthTimeout = Property.ofValue(DEFAULT_HEALTH_TIMEOUT);
+
+    @Schema(
+        title = "Per-service readiness timeouts",
+        description = "Service name to the time to wait for it, overriding `healthTimeout`, e.g. `{db: PT2M}`."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Map<String, Duration>> serviceTimeouts;
+
+    @Schema(
+        title = "The URI of your Docker host e.g. localhost",
+        description = "Used by the `NATIVE` engine, and by `waitForHealthy` with the `CLI` engine."
+    )
+    @PluginProperty(group = "connection")
+    private Property<String> host;
+
+    @Schema(
+        title = "Docker configuration file",
+        description = "Docker configuration file that can set access credentials to private container registries. Usually located in `~/.docker/config.json`. Used by the `NATIVE` engine, and by `waitForHealthy` with the `CLI` engine.",
+        anyOf = { String.class, Map.class }
+    )
+    @ToString.Exclude
+    @PluginProperty(dynamic = true, secret = true, group = "advanced")
+    private Object config;
+
+    @Schema(
+        title = "Credentials for a private container registry",
+        description = "Used by the `NATIVE` engine, and by `waitForHealthy` with the `CLI` engine."
+    )
+    @PluginProperty(dynamic = true, secret = true, group = "connection")
+    private Credentials credentials;
+
     @Override
     public ScriptOutput run(RunContext runContext) throws Exception {
         var composePaths = resolveComposeFiles(runContext);
 
+        if (runContext.render(this.engine).as(Engine.class).orElse(Engine.CLI) == Engine.NATIVE) {
+            return this.runNative(runContext, composePaths, runContext.render(composeArgs).asList(String.class));
+        }
+
         List<String> args = new ArrayList<>();
         args.add("docker");
         args.add("compose");
@@ -130,15 +281,159 @@ public class Compose extends AbstractExecScript implements RunnableTask<ScriptOu
 
         runContext.logger().info("Running command: {}", String.join(" ", args));
 
-        return this.commands(runContext)
+        var output = this.commands(runContext)
             .withCommands(Property.ofValue(args))
             .withTargetOS(runContext.render(this.targetOS).as(TargetOS.class).orElse(null))
             .run();
+
+        if (output.getExitCode() != 0 || !this.shouldWaitForHealthy(runContext, composeCommand(runContext.render(composeArgs).asList(String.class)))) {
+            return output;
+        }
+
+        try (var client = DockerService.client(runContext, runContext.render(this.host).as(String.class).orElse(null), this.config, this.credentials, null)) {
+            var project = this.cliProjectName(runContext, client, composePaths);
+            return Run.withVars(output, Map.of("project", project, "serviceStatus", this.awaitHealthy(runContext, client, project)));
+        }
     }
 
-    private List<Path> resolveComposeFiles(RunContext runContext) throws Exception {
-        var workingDir = runContext.workingDir();
+    private boolean shouldWaitForHealthy(RunContext runContext, String command) throws IllegalVariableEvaluationException {
+        return "up".equals(command) && runContext.render(this.waitForHealthy).as(Boolean.class).orElse(false);
+    }
+
+    private Map<String, Map<String, Object>> awaitHealthy(RunContext runContext, DockerClient client, String project) throws Exception {
+        var rHealthTimeout = runContext.render(this.healthTimeout).as(Duration.class).orElse(DEFAULT_HEALTH_TIMEOUT);
+        var rServiceTimeouts = runContext.render(this.serviceTimeouts).asMap(String.class, Duration.class);
+
+        runContext.logger().info("Waiting for the services of compose project {} to be ready", project);
+        return ComposeWatcher.awaitReady(runContext, client, project, rHealthTimeout, rServiceTimeouts);
+    }
+
+    /**
+     * Resolves the project name the CLI used: {@code -p}, then {@code COMPOSE_PROJECT_NAME}, then the top-level
+     * {@code name} of the files. As a last resort, finds the containers created from the first compose file, whose
+     * temporary name is unique to this run.
+     */
+    private String cliProjectName(RunContext runContext, DockerClient client, List<Path> composePaths) throws Exception {
+        var rComposeArgs = runContext.render(composeArgs).asList(String.class);
+        for (int i = 0; i < rComposeArgs.size(); i++) {
+            var arg = rComposeArgs.get(i);
+            if ((arg.equals("-p") || arg.equals("--project-name")) && i + 1 < rComposeArgs.size()) {
+                return rComposeArgs.get(i + 1);
+            }
+            if (arg.startsWith("--project-name=")) {
+                return arg.substring("--project-name=".length());
+            }
+            if (!arg.startsWith("-")) {
+                break;
+            }
+        }
+
+        var rEnv = runContext.render(this.getEnv()).asMap(String.class, String.class);
+        if (rEnv.get("COMPOSE_PROJECT_NAME") != null) {
+            return rEnv.get("COMPOSE_PROJECT_NAME");
+        }
+
+        var declared = ComposeProject.declaredName(composePaths);
+        if (declared.isPresent()) {
+            return declared.get();
+        }
+
+        if (!composePaths.isEmpty()) {
+            var fileName = composePaths.getFirst().getFileName().toString();
+            var match = client.listContainersCmd()
+                .withShowAll(true)
+                .withLabelFilter(List.of(ComposeWatcher.CONFIG_FILES_LABEL))
+                .exec()
+                .stream()
+                .filter(container -> Arrays.stream(container.getLabels().get(ComposeWatcher.CONFIG_FILES_LABEL).split(","))
+                    .anyMatch(file -> Path.of(file).getFileName().toString().equals(fileName)))
+                .findFirst();
+            if (match.isPresent()) {
+                return match.get().getLabels().get(NativeCompose.PROJECT_LABEL);
+            }
+        }
+
+        throw new IllegalStateException("Unable to determine the compose project name to wait for, pass it with `-p` in `composeArgs`");
+    }
 
+    /**
+     * Returns the compose sub-command, skipping the global options and their values.
+     */
+    private static String composeCommand(List<String> args) {
+        for (int i = 0; i < args.size(); i++) {
+            var arg = args.get(i);
+            if (!arg.startsWith("-")) {
+                return arg;
+            }
+            if (!arg.contains("=") && GLOBAL_OPTIONS_WITH_VALUE.contains(arg)) {
+                i++;
+            }
+        }
+        return null;
+    }
+
+    private ScriptOutput runNative(RunContext runContext, List<Path> composePaths, List<String> rComposeArgs) throws Exception {
+        if (composePaths.isEmpty()) {
+            throw new IllegalArgumentException("The NATIVE engine requires `composeFile` or `composeFiles`");
+        }
+
+        String projectName = null;
+        String command = null;
+        var commandArgs = new ArrayList<String>();
+        for (int i = 0; i < rComposeArgs.size(); i++) {
+            var arg = rComposeArgs.get(i);
+            if (command != null) {
+                commandArgs.add(arg);
+            } else if (arg.equals("-p") || arg.equals("--project-name")) {
+                projectName = i + 1 < rComposeArgs.size() ? rComposeArgs.get(++i) : null;
+            } else if (arg.startsWith("--project-name=")) {
+                projectName = arg.substring("--project-name=".length());
+            } else if (arg.startsWith("-")) {
+                throw new IllegalArgumentException("Unsupported global option '" + arg + "' for the NATIVE engine, only -p/--project-name is supported");
+            } else {
+                command = arg;
+            }
+        }
+
+        var project = ComposeProject.parse(composePaths, projectName, runContext.flowInfo().id());
+        runContext.logger().info("Running compose {} natively for project {}", command, project.name());
+
+        try (var client = DockerService.client(runContext, runContext.render(this.host).as(String.class).orElse(null), this.config, this.credentials, null)) {
+            var engine = new NativeCompose(
+                runContext,
+                client,
+                project,
+                runContext.workingDir().path(),
+                runContext.render(this.healthTimeout).as(Duration.class).orElse(DEFAULT_HEALTH_TIMEOUT),
+                runContext.render(this.serviceTimeouts).asMap(String.class, Duration.class)
+            );
+
+            return switch (command == null ? "" : command) {
+                case "up" -> {
+                    var vars = new HashMap<String, Object>();
+                    vars.put("project", project.name());
+                    vars.put("services", engine.up());
+                    if (this.shouldWaitForHealthy(runContext, command)) {
+                        vars.put("serviceStatus", this.awaitHealthy(runContext, client, project.name()));
+                    }
+                    yield ScriptOutput.builder()
+                        .exitCode(0)
+                        .vars(vars)
+                        .build();
+                }
+                case "down" -> {
+                    engine.down(commandArgs.contains("-v") || commandArgs.contains("--volumes"));
+                    yield ScriptOutput.builder()
+                        .exitCode(0)
+                        .vars(Map.of("project", project.name()))
+                        .build();
+                }
+                default -> throw new IllegalArgumentException("Unsupported compose command '" + command + "' for the NATIVE engine, only `up` and `down` are supported");
+            };
+        }
+    }
+
+    private List<Path> resolveComposeFiles(RunContext runContext) throws Exception {
         var rComposeFiles = runContext.render(this.composeFiles).asList(String.class);
 
         if (rComposeFiles == null || rComposeFiles.isEmpty()) {
@@ -149,27 +444,49 @@ public class Compose extends AbstractExecScript implements RunnableTask<ScriptOu
             rComposeFiles = List.of(rComposeFile);
         }
 
-        List<Path> paths = new ArrayList<>();
-        for (String composeFile : rComposeFiles) {
+        if (rComposeFiles.size() == 1) {
+            return List.of(resolveComposeFile(runContext, rComposeFiles.getFirst()));
+        }
 
-            if (composeFile.startsWith("kestra://")) {
-                Path tempFile = workingDir.createTempFile(".yaml");
-                try (InputStream in = runContext.storage().getFile(URI.create(composeFile))) {
-                    Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
-                }
-                paths.add(tempFile);
-                continue;
+        // fetch from internal storage concurrently, keeping the declaration order since later files override earlier ones
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<Path>>();
+            for (String composeFile : rComposeFiles) {
+                futures.add(executor.submit(() -> resolveComposeFile(runContext, composeFile)));
             }
 
-            Path candidate = workingDir.resolve(Path.of(composeFile));
-            if (candidate.toFile().exists()) {
-                paths.add(candidate);
-                continue;
+            List<Path> paths = new ArrayList<>();
+            for (Future<Path> future : futures) {
+                try {
+                    paths.add(future.get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
             }
+            return paths;
+        }
+    }
+
+    private static Path resolveComposeFile(RunContext runContext, String composeFile) throws IOException {
+        var workingDir = runContext.workingDir();
 
-            paths.add(workingDir.createTempFile(composeFile.getBytes(StandardCharsets.UTF_8), ".yaml"));
+        if (composeFile.startsWith("kestra://")) {
+            return ComposeFileCache.fetch(runContext, URI.create(composeFile));
         }
 
-        return paths;
+        Path candidate = workingDir.resolve(Path.of(composeFile));
+        if (candidate.toFile().exists()) {
+            return candidate;
+        }
+
+        return ComposeFileCache.write(runContext, composeFile);
+    }
+
+    public enum Engine {
+        CLI,
+        NATIVE
     }
 }
@@ -0,0 +1,178 @@
+package io.kestra.plugin.docker.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Worker-local cache of compose files.
+ * <p>
+ * Inline compose files are addressed by a SHA-256 of their content. Files from internal storage are addressed by a
+ * SHA-256 of the tenant and the {@code kestra://} URI, as execution files are written once and never modified, and
+ * namespace files additionally by their current version so an update is fetched again. Each call gets its own file in
+ * the working directory, hard linked to the entry when the file system allows it so the content is not written again.
+ * Entries unused for {@link #MAX_IDLE} are evicted.
+ */
+final class ComposeFileCache {
+    static final Path DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "kestra-compose-cache");
+
+    private static final String NAMESPACE_FILES = "/_files/";
+
+    private static final Duration MAX_IDLE = Duration.ofHours(24);
+
+    private ComposeFileCache() {
+    }
+
+    /**
+     * Materializes the given storage URI into a new file of the working directory, from the cache when possible.
+     */
+    static Path fetch(RunContext runContext, URI uri) throws IOException {
+        var key = storageKey(runContext, uri);
+        if (key == null) {
+            var target = runContext.workingDir().createTempFile(".yaml");
+            download(runContext, uri, target);
+            return target;
+        }
+
+        var entry = DIRECTORY.resolve(key + ".yaml");
+        if (touch(entry)) {
+            runContext.logger().debug("Using cached compose file for {}", uri);
+        } else {
+            store(runContext, entry, partial -> download(runContext, uri, partial));
+        }
+        return link(runContext, entry);
+    }
+
+    /**
+     * Materializes the given inline compose file into a new file of the working directory, from the cache when an
+     * identical content was already written.
+     */
+    static Path write(RunContext runContext, String content) throws IOException {
+        var bytes = content.getBytes(StandardCharsets.UTF_8);
+        var entry = DIRECTORY.resolve(sha256(bytes) + ".yaml");
+        if (!touch(entry)) {
+            store(runContext, entry, partial -> Files.write(partial, bytes));
+        }
+        return link(runContext, entry);
+    }
+
+    /**
+     * @return the cache key of the URI, or {@code null} when the content it points to cannot be identified
+     */
+    static String storageKey(RunContext runContext, URI uri) {
+        var tenant = Objects.toString(runContext.flowInfo().tenantId(), "");
+        var path = uri.getPath();
+        if (path == null || !path.contains(NAMESPACE_FILES)) {
+            return sha256(tenant + "|" + uri);
+        }
+
+        // kestra:///<namespace with slashes>/_files/<file>
+        var index = path.indexOf(NAMESPACE_FILES);
+        var namespace = path.substring(1, index).replace('/', '.');
+        var file = DockerIgnore.clean(path.substring(index + NAMESPACE_FILES.length()));
+        try {
+            return runContext.storage()
+                .namespace(namespace)
+                .findAllFilesMatching(List.of(file), List.of())
+                .stream()
+                .filter(namespaceFile -> DockerIgnore.clean(namespaceFile.path()).equals(file))
+                .findFirst()
+                .map(namespaceFile -> sha256(tenant + "|" + uri + "|" + namespaceFile.version()))
+                .orElse(null);
+        } catch (Exception e) {
+            runContext.logger().debug("Unable to read the version of {}, fetching it without cache: {}", uri, e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean touch(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+            return true;
+        } catch (IOException e) {
+            // missing or concurrently evicted
+            return false;
+        }
+    }
+
+    private static void store(RunContext runContext, Path entry, Writer writer) throws IOException {
+        Files.createDirectories(DIRECTORY);
+        var partial = Files.createTempFile(DIRECTORY, "partial", ".yaml");
+        try {
+            writer.write(partial);
+            Files.move(partial, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        evictIdleEntries(runContext);
+    }
+
+    /**
+     * Gives the working directory its own name for the entry, the CLI engine identifies a run by its first file name.
+     */
+    private static Path link(RunContext runContext, Path entry) throws IOException {
+        var target = runContext.workingDir().createTempFile(".yaml");
+        Files.delete(target);
+        try {
+            Files.createLink(target, entry);
+        } catch (IOException | UnsupportedOperationException e) {
+            // the working directory is on another file system
+            Files.copy(entry, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+
+    private static void download(RunContext runContext, URI uri, Path target) throws IOException {
+        try (InputStream in = runContext.storage().getFile(uri)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void evictIdleEntries(RunContext runContext) {
+        var threshold = FileTime.from(Instant.now().minus(MAX_IDLE));
+        try (Stream<Path> entries = Files.list(DIRECTORY)) {
+            entries.forEach(entry ->
+            {
+                try {
+                    if (Files.getLastModifiedTime(entry).compareTo(threshold) < 0) {
+                        Files.deleteIfExists(entry);
+                    }
+                } catch (IOException e) {
+                    // concurrently evicted or still being written by another task, nothing to do
+                }
+            });
+        } catch (IOException e) {
+            runContext.logger().debug("Unable to evict compose cache entries: {}", e.getMessage());
+        }
+    }
+
+    static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(Path target) throws IOException;
+    }
+}
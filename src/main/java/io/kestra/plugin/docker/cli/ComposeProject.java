@@ -0,0 +1,407 @@
+package io.kestra.plugin.docker.cli;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Subset of the Compose specification understood by the native engine of {@link Compose}: services with their
+ * image, command, environment, ports, volumes, networks, dependencies and healthcheck, plus top-level networks
+ * and volumes. Several files are merged in order, later files overriding the keys they define.
+ */
+record ComposeProject(String name, Map<String, Service> services, Map<String, Resource> networks, Map<String, Resource> volumes) {
+    static final String DEFAULT_NETWORK = "default";
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofYaml();
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ns|us|ms|h|m|s)");
+    private static final Pattern INVALID_NAME_CHARS = Pattern.compile("[^a-z0-9_-]");
+
+    static ComposeProject parse(List<Path> files, String explicitName, String defaultName) throws IOException {
+        Map<String, Object> merged = new LinkedHashMap<>();
+        for (Path file : files) {
+            Map<String, Object> content = MAPPER.readValue(Files.readString(file), new TypeReference<>() {});
+            if (content != null) {
+                deepMerge(merged, content);
+            }
+        }
+
+        var name = explicitName != null ? explicitName : (String) merged.get("name");
+        var project = normalizeName(name != null ? name : defaultName);
+
+        var services = new LinkedHashMap<String, Service>();
+        asMap(merged.get("services")).forEach((serviceName, definition) -> services.put(serviceName, Service.of(serviceName, asMap(definition))));
+        if (services.isEmpty()) {
+            throw new IllegalArgumentException("The compose file does not define any service");
+        }
+
+        var networks = new LinkedHashMap<String, Resource>();
+        asMap(merged.get("networks")).forEach((key, definition) -> networks.put(key, Resource.of(project, key, asMap(definition))));
+        if (!networks.containsKey(DEFAULT_NETWORK)) {
+            networks.put(DEFAULT_NETWORK, Resource.of(project, DEFAULT_NETWORK, Map.of()));
+        }
+
+        var volumes = new LinkedHashMap<String, Resource>();
+        asMap(merged.get("volumes")).forEach((key, definition) -> volumes.put(key, Resource.of(project, key, asMap(definition))));
+
+        for (Service service : services.values()) {
+            for (String dependency : service.dependsOn().keySet()) {
+                if (!services.containsKey(dependency)) {
+                    throw new IllegalArgumentException("Service '" + service.name() + "' depends on undefined service '" + dependency + "'");
+                }
+            }
+            for (String network : service.networks()) {
+                if (!networks.containsKey(network)) {
+                    throw new IllegalArgumentException("Service '" + service.name() + "' refers to undefined network '" + network + "'");
+                }
+            }
+        }
+
+        return new ComposeProject(project, services, networks, volumes);
+    }
+
+    /**
+     * Returns the top-level {@code name} declared by the compose files, the last one winning, without validating the
+     * rest of the files.
+     */
+    static Optional<String> declaredName(List<Path> files) throws IOException {
+        String name = null;
+        for (Path file : files) {
+            Map<String, Object> content = MAPPER.readValue(Files.readString(file), new TypeReference<>() {});
+            if (content != null && content.get("name") != null) {
+                name = String.valueOf(content.get("name"));
+            }
+        }
+        return Optional.ofNullable(name).map(ComposeProject::normalizeName);
+    }
+
+    /**
+     * Groups services by dependency level: level 0 has no dependencies, level n only depends on services of
+     * lower levels, so all services of a level can be started concurrently.
+     */
+    List<List<Service>> levels() {
+        var depths = new HashMap<String, Integer>();
+        for (String service : this.services.keySet()) {
+            this.depth(service, depths, new LinkedHashSet<>());
+        }
+
+        var levels = new ArrayList<List<Service>>();
+        for (Service service : this.services.values()) {
+            int depth = depths.get(service.name());
+            while (levels.size() <= depth) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(depth).add(service);
+        }
+        return levels;
+    }
+
+    private int depth(String service, Map<String, Integer> depths, LinkedHashSet<String> visiting) {
+        if (depths.containsKey(service)) {
+            return depths.get(service);
+        }
+        if (!visiting.add(service)) {
+            throw new IllegalArgumentException("Circular dependency between services: " + String.join(" -> ", visiting) + " -> " + service);
+        }
+
+        int depth = 0;
+        for (String dependency : this.services.get(service).dependsOn().keySet()) {
+            depth = Math.max(depth, this.depth(dependency, depths, visiting) + 1);
+        }
+
+        visiting.remove(service);
+        depths.put(service, depth);
+        return depth;
+    }
+
+    /**
+     * Applies the Compose project name rules: lowercase letters, digits, dashes and underscores only.
+     */
+    static String normalizeName(String name) {
+        var normalized = INVALID_NAME_CHARS.matcher(name.toLowerCase(Locale.ROOT)).replaceAll("");
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Invalid compose project name '" + name + "'");
+        }
+        return normalized;
+    }
+
+    /**
+     * Parses a Compose duration such as {@code 10s}, {@code 1m30s} or {@code 500ms}.
+     */
+    static Duration parseDuration(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        var matcher = DURATION_PART.matcher(value.toString().trim());
+        long nanos = 0;
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            var amount = Double.parseDouble(matcher.group(1));
+            var unit = switch (matcher.group(2)) {
+                case "h" -> 3_600_000_000_000d;
+                case "m" -> 60_000_000_000d;
+                case "s" -> 1_000_000_000d;
+                case "ms" -> 1_000_000d;
+                case "us" -> 1_000d;
+                default -> 1d;
+            };
+            nanos += (long) (amount * unit);
+            end = matcher.end();
+        }
+
+        if (end == 0 || end != value.toString().trim().length()) {
+            throw new IllegalArgumentException("Invalid compose duration '" + value + "'");
+        }
+        return Duration.ofNanos(nanos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void deepMerge(Map<String, Object> target, Map<String, Object> source) {
+        source.forEach((key, value) ->
+        {
+            if (value instanceof Map<?, ?> sourceMap && target.get(key) instanceof Map<?, ?> targetMap) {
+                var merged = new LinkedHashMap<>((Map<String, Object>) targetMap);
+                deepMerge(merged, (Map<String, Object>) sourceMap);
+                target.put(key, merged);
+            } else {
+                target.put(key, value);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+    }
+
+    private static List<String> asList(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().map(String::valueOf).toList();
+        }
+        return List.of(String.valueOf(value));
+    }
+
+    /**
+     * Converts a {@code KEY: value} map or a {@code KEY=value} list into a {@code KEY=value} list.
+     */
+    private static List<String> asKeyValueList(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            var list = new ArrayList<String>();
+            map.forEach((key, entry) -> list.add(entry == null ? String.valueOf(key) : key + "=" + entry));
+            return list;
+        }
+        return asList(value);
+    }
+
+    /**
+     * Splits a command string the way a POSIX shell would, honoring single and double quotes.
+     */
+    static List<String> shellSplit(String command) {
+        var tokens = new ArrayList<String>();
+        var current = new StringBuilder();
+        char quote = 0;
+        boolean inToken = false;
+
+        for (int i = 0; i < command.length(); i++) {
+            char c = command.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else if (c == '\\' && quote == '"' && i + 1 < command.length()) {
+                    current.append(command.charAt(++i));
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                inToken = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inToken) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                    inToken = false;
+                }
+            } else if (c == '\\' && i + 1 < command.length()) {
+                current.append(command.charAt(++i));
+                inToken = true;
+            } else {
+                current.append(c);
+                inToken = true;
+            }
+        }
+
+        if (inToken) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private static List<String> asCommand(Object value) {
+        if (value instanceof String command) {
+            return shellSplit(command);
+        }
+        return asList(value);
+    }
+
+    record Service(
+        String name,
+        String image,
+        String containerName,
+        List<String> command,
+        List<String> entrypoint,
+        List<String> environment,
+        List<String> ports,
+        List<String> volumes,
+        List<String> networks,
+        Map<String, String> dependsOn,
+        HealthCheckSpec healthcheck,
+        Map<String, String> labels,
+        String restart,
+        String workingDir,
+        String user,
+        String pullPolicy,
+        Duration stopGracePeriod
+    ) {
+        static Service of(String name, Map<String, Object> definition) {
+            if (definition.containsKey("build")) {
+                throw new IllegalArgumentException("Service '" + name + "' uses `build`, which is not supported by the native engine; build the image with the `Build` task first or use the CLI engine");
+            }
+            if (definition.get("image") == null) {
+                throw new IllegalArgumentException("Service '" + name + "' has no `image`");
+            }
+
+            var dependsOn = new LinkedHashMap<String, String>();
+            var rawDependsOn = definition.get("depends_on");
+            if (rawDependsOn instanceof Map<?, ?> map) {
+                map.forEach((service, condition) -> dependsOn.put(String.valueOf(service), String.valueOf(asMap(condition).getOrDefault("condition", "service_started"))));
+            } else {
+                asList(rawDependsOn).forEach(service -> dependsOn.put(service, "service_started"));
+            }
+
+            var rawNetworks = definition.get("networks");
+            var networks = rawNetworks instanceof Map<?, ?> map ? map.keySet().stream().map(String::valueOf).toList() : asList(rawNetworks);
+
+            var labels = new LinkedHashMap<String, String>();
+            asKeyValueList(definition.get("labels")).forEach(label ->
+            {
+                var separator = label.indexOf('=');
+                labels.put(separator < 0 ? label : label.substring(0, separator), separator < 0 ? "" : label.substring(separator + 1));
+            });
+
+            return new Service(
+                name,
+                String.valueOf(definition.get("image")),
+                definition.get("container_name") != null ? String.valueOf(definition.get("container_name")) : null,
+                asCommand(definition.get("command")),
+                asCommand(definition.get("entrypoint")),
+                asKeyValueList(definition.get("environment")),
+                ports(definition.get("ports")),
+                volumes(definition.get("volumes")),
+                networks.isEmpty() ? List.of(DEFAULT_NETWORK) : networks,
+                dependsOn,
+                HealthCheckSpec.of(asMap(definition.get("healthcheck"))),
+                labels,
+                definition.get("restart") != null ? String.valueOf(definition.get("restart")) : null,
+                definition.get("working_dir") != null ? String.valueOf(definition.get("working_dir")) : null,
+                definition.get("user") != null ? String.valueOf(definition.get("user")) : null,
+                definition.get("pull_policy") != null ? String.valueOf(definition.get("pull_policy")) : null,
+                definition.get("stop_grace_period") != null ? parseDuration(definition.get("stop_grace_period")) : null
+            );
+        }
+
+        private static List<String> ports(Object value) {
+            if (!(value instanceof Collection<?> collection)) {
+                return asList(value);
+            }
+
+            return collection.stream()
+                .map(port ->
+                {
+                    if (!(port instanceof Map<?, ?>)) {
+                        return String.valueOf(port);
+                    }
+                    // long syntax: {target, published, host_ip, protocol}
+                    var map = asMap(port);
+                    var spec = new StringBuilder();
+                    if (map.get("host_ip") != null) {
+                        spec.append(map.get("host_ip")).append(':');
+                    }
+                    if (map.get("published") != null) {
+                        spec.append(map.get("published")).append(':');
+                    }
+                    spec.append(map.get("target"));
+                    if (map.get("protocol") != null) {
+                        spec.append('/').append(map.get("protocol"));
+                    }
+                    return spec.toString();
+                })
+                .toList();
+        }
+
+        private static List<String> volumes(Object value) {
+            if (!(value instanceof Collection<?> collection)) {
+                return asList(value);
+            }
+
+            return collection.stream()
+                .map(volume ->
+                {
+                    if (!(volume instanceof Map<?, ?>)) {
+                        return String.valueOf(volume);
+                    }
+                    // long syntax: {type, source, target, read_only}
+                    var map = asMap(volume);
+                    var spec = map.get("source") != null ? map.get("source") + ":" + map.get("target") : String.valueOf(map.get("target"));
+                    return Boolean.TRUE.equals(map.get("read_only")) ? spec + ":ro" : spec;
+                })
+                .toList();
+        }
+    }
+
+    record HealthCheckSpec(List<String> test, Duration interval, Duration timeout, Integer retries, Duration startPeriod) {
+        static HealthCheckSpec of(Map<String, Object> definition) {
+            if (definition.isEmpty()) {
+                return null;
+            }
+            if (Boolean.TRUE.equals(definition.get("disable"))) {
+                return new HealthCheckSpec(List.of("NONE"), null, null, null, null);
+            }
+
+            var rawTest = definition.get("test");
+            var test = rawTest instanceof String shell ? List.of("CMD-SHELL", shell) : asList(rawTest);
+
+            return new HealthCheckSpec(
+                test,
+                parseDuration(definition.get("interval")),
+                parseDuration(definition.get("timeout")),
+                definition.get("retries") != null ? Integer.valueOf(definition.get("retries").toString()) : null,
+                parseDuration(definition.get("start_period"))
+            );
+        }
+    }
+
+    /**
+     * A top-level network or volume. {@code dockerName} is the name on the daemon: the project-scoped
+     * {@code <project>_<key>} unless the resource sets an explicit {@code name} or is {@code external}.
+     */
+    record Resource(String key, String dockerName, boolean external, String driver) {
+        static Resource of(String project, String key, Map<String, Object> definition) {
+            var external = Boolean.TRUE.equals(definition.get("external")) || definition.get("external") instanceof Map<?, ?>;
+            var explicitName = definition.get("name") != null ? String.valueOf(definition.get("name")) : null;
+            var dockerName = explicitName != null ? explicitName : (external ? key : project + "_" + key);
+            var driver = definition.get("driver") != null ? String.valueOf(definition.get("driver")) : null;
+            return new Resource(key, dockerName, external, driver);
+        }
+    }
+}
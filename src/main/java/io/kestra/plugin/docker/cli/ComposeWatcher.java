@@ -0,0 +1,232 @@
+package io.kestra.plugin.docker.cli;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Waits for the containers of a compose project to reach a state. Instead of polling, waiters are woken up by the
+ * daemon event stream: every container event of the project ({@code start}, {@code die}, {@code health_status}...)
+ * triggers a fresh inspect of the awaited containers. If the event stream fails or is closed by the daemon, waiters
+ * fall back to inspecting once per second.
+ */
+class ComposeWatcher implements AutoCloseable {
+    static final String CONFIG_FILES_LABEL = "com.docker.compose.project.config_files";
+    static final String CONTAINER_NUMBER_LABEL = "com.docker.compose.container-number";
+
+    private static final long FALLBACK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final DockerClient client;
+    private final ResultCallback.Adapter<Event> callback;
+
+    private final Object monitor = new Object();
+    private long version;
+    private volatile boolean streamFailed;
+
+    ComposeWatcher(DockerClient client, String project) {
+        this.client = client;
+        // replay from now so that events emitted while the stream connects are not lost
+        this.callback = client.eventsCmd()
+            .withSince(String.valueOf(Instant.now().getEpochSecond()))
+            .withEventTypeFilter(EventType.CONTAINER)
+            .withLabelFilter(Map.of(NativeCompose.PROJECT_LABEL, project))
+            .exec(new ResultCallback.Adapter<>() {
+                @Override
+                public void onNext(Event event) {
+                    signal();
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    streamFailed = true;
+                    signal();
+                }
+
+                @Override
+                public void onComplete() {
+                    // the stream never ends on its own while it is watched: the daemon closed it, so fall back to polling
+                    streamFailed = true;
+                    super.onComplete();
+                    signal();
+                }
+            });
+    }
+
+    /**
+     * Blocks until the state of the container matches {@code until}.
+     *
+     * @throws TimeoutException if the state does not match within {@code timeout}
+     */
+    InspectContainerResponse await(String containerId, Predicate<InspectContainerResponse> until, Duration timeout) throws InterruptedException, TimeoutException {
+        var deadline = System.nanoTime() + timeout.toNanos();
+
+        while (true) {
+            long seen;
+            synchronized (this.monitor) {
+                seen = this.version;
+            }
+
+            var response = this.client.inspectContainerCmd(containerId).exec();
+            if (until.test(response)) {
+                return response;
+            }
+
+            synchronized (this.monitor) {
+                while (this.version == seen) {
+                    var remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new TimeoutException("Timed out after " + timeout + " waiting for container " + containerId);
+                    }
+                    if (this.streamFailed) {
+                        TimeUnit.NANOSECONDS.timedWait(this.monitor, Math.min(remaining, FALLBACK_INTERVAL_NANOS));
+                        break;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this.monitor, remaining);
+                }
+            }
+        }
+    }
+
+    private void signal() {
+        synchronized (this.monitor) {
+            this.version++;
+            this.monitor.notifyAll();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.callback.close();
+    }
+
+    /**
+     * Waits until every container of the project is ready, concurrently: healthy when it defines a healthcheck,
+     * running otherwise. A container that exits with code 0 counts as ready, as one-shot services do.
+     *
+     * @return the status of each service, keyed by service name (suffixed by the container number for scaled services)
+     * @throws IllegalStateException if a service becomes unhealthy, exits with a non-zero code, or times out
+     */
+    static Map<String, Map<String, Object>> awaitReady(
+        RunContext runContext,
+        DockerClient client,
+        String project,
+        Duration defaultTimeout,
+        Map<String, Duration> timeouts
+    ) throws Exception {
+        var containers = client.listContainersCmd()
+            .withShowAll(true)
+            .withLabelFilter(Map.of(NativeCompose.PROJECT_LABEL, project))
+            .exec();
+        if (containers.isEmpty()) {
+            throw new IllegalStateException("No container found for compose project '" + project + "'");
+        }
+
+        var replicas = new HashMap<String, Integer>();
+        containers.forEach(container -> replicas.merge(container.getLabels().get(NativeCompose.SERVICE_LABEL), 1, Integer::sum));
+
+        var waitStart = Instant.now();
+        var futures = new TreeMap<String, Future<Map<String, Object>>>();
+
+        try (var watcher = new ComposeWatcher(client, project); var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Container container : containers) {
+                var service = container.getLabels().get(NativeCompose.SERVICE_LABEL);
+                var key = replicas.get(service) > 1 ? service + "-" + container.getLabels().getOrDefault(CONTAINER_NUMBER_LABEL, container.getId()) : service;
+                var timeout = timeouts.getOrDefault(service, defaultTimeout);
+
+                futures.put(key, executor.submit(() -> watcher.awaitService(runContext, service, container.getId(), timeout, waitStart)));
+            }
+
+            var statuses = new LinkedHashMap<String, Map<String, Object>>();
+            var failures = new ArrayList<String>();
+            for (Map.Entry<String, Future<Map<String, Object>>> entry : futures.entrySet()) {
+                try {
+                    statuses.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause().getMessage());
+                }
+            }
+
+            if (!failures.isEmpty()) {
+                throw new IllegalStateException("Compose project '" + project + "' is not ready: " + String.join("; ", failures));
+            }
+            return statuses;
+        }
+    }
+
+    private Map<String, Object> awaitService(RunContext runContext, String service, String containerId, Duration timeout, Instant waitStart) throws Exception {
+        InspectContainerResponse response;
+        try {
+            response = this.await(containerId, ComposeWatcher::isSettled, timeout);
+        } catch (TimeoutException e) {
+            var state = this.client.inspectContainerCmd(containerId).exec().getState();
+            throw new IllegalStateException("service '" + service + "' not ready after " + timeout + " (status " + state.getStatus() + ", health " + health(state) + ")");
+        }
+        var readyAt = Instant.now();
+
+        var state = response.getState();
+        var health = health(state);
+        if ("unhealthy".equals(health)) {
+            throw new IllegalStateException("service '" + service + "' is unhealthy");
+        }
+        if (!Boolean.TRUE.equals(state.getRunning()) && (state.getExitCodeLong() == null || state.getExitCodeLong() != 0)) {
+            throw new IllegalStateException("service '" + service + "' exited with code " + state.getExitCodeLong());
+        }
+
+        var timeToReady = Duration.between(startedAt(state, waitStart), readyAt);
+        if (timeToReady.isNegative()) {
+            timeToReady = Duration.ZERO;
+        }
+        runContext.metric(Timer.of("ready.duration", timeToReady, "service", service));
+        runContext.logger().info("Service {} is ready ({}) after {}", service, health != null ? health : state.getStatus(), timeToReady);
+
+        var status = new HashMap<String, Object>();
+        status.put("containerId", response.getId());
+        status.put("state", state.getStatus());
+        if (health != null) {
+            status.put("health", health);
+        }
+        status.put("ports", Inspect.publishedPorts(response));
+        status.put("timeToReady", timeToReady);
+        return status;
+    }
+
+    private static boolean isSettled(InspectContainerResponse response) {
+        var state = response.getState();
+        if (!Boolean.TRUE.equals(state.getRunning())) {
+            // created but not started yet by compose, keep waiting
+            return !"created".equals(state.getStatus()) && !"restarting".equals(state.getStatus());
+        }
+
+        var health = health(state);
+        return health == null || !"starting".equals(health);
+    }
+
+    private static String health(InspectContainerResponse.ContainerState state) {
+        return state.getHealth() != null ? state.getHealth().getStatus() : null;
+    }
+
+    private static Instant startedAt(InspectContainerResponse.ContainerState state, Instant fallback) {
+        try {
+            return state.getStartedAt() != null ? Instant.parse(state.getStartedAt()) : fallback;
+        } catch (DateTimeParseException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package io.kestra.plugin.docker.cli;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.BlkioStatEntry;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Statistics;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Samples the resource usage of the container started for the current task run.
+ * <p>
+ * Each tick issues a one-shot (non-streaming) stats request, so the daemon only computes a sample when
+ * asked for one and the overhead is bounded by the sampling interval. The container is discovered via the
+ * {@value #TASKRUN_LABEL} label set by the Docker task runner.
+ */
+class ContainerStatsCollector implements AutoCloseable {
+    static final String TASKRUN_LABEL = "kestra.io/taskrun-id";
+
+    private static final Duration STATS_TIMEOUT = Duration.ofSeconds(10);
+
+    private final RunContext runContext;
+    private final DockerClient client;
+    private final Duration interval;
+    private final String taskRunId;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile String containerId;
+
+    private long samples;
+    private long memoryPeak;
+    private double memorySum;
+    private long cpuNanos;
+    private long blockRead;
+    private long blockWrite;
+    private long networkRx;
+    private long networkTx;
+
+    ContainerStatsCollector(RunContext runContext, DockerClient client, Duration interval) {
+        this.runContext = runContext;
+        this.client = client;
+        this.interval = interval;
+        this.taskRunId = taskRunId(runContext);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            var thread = new Thread(runnable, "docker-stats-" + this.taskRunId);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void start() {
+        this.scheduler.scheduleWithFixedDelay(this::sample, 0, this.interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling and returns the aggregated usage, or {@code null} if no sample could be taken.
+     * When the container id is known from the task runner result and nothing was sampled yet (short-lived
+     * container), a last sample is attempted in case the container is still around.
+     */
+    Usage stop(String knownContainerId) throws InterruptedException {
+        this.scheduler.shutdownNow();
+        if (!this.scheduler.awaitTermination(STATS_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            this.runContext.logger().debug("The stats sampler didn't stop within {}, using the samples taken so far", STATS_TIMEOUT);
+        }
+
+        if (knownContainerId != null && this.sampleCount() == 0) {
+            this.containerId = knownContainerId;
+            this.sample();
+        }
+
+        // the sampler may still be recording if it didn't stop in time, so read under the same lock
+        synchronized (this) {
+            if (this.samples == 0) {
+                return null;
+            }
+
+            return new Usage(
+                this.samples,
+                this.memoryPeak,
+                (long) (this.memorySum / this.samples),
+                this.cpuNanos / 1_000_000_000d,
+                this.blockRead,
+                this.blockWrite,
+                this.networkRx,
+                this.networkTx
+            );
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.scheduler.shutdownNow();
+        this.client.close();
+    }
+
+    private void sample() {
+        try {
+            if (this.containerId == null) {
+                this.containerId = this.findContainer();
+                if (this.containerId == null) {
+                    return;
+                }
+            }
+
+            try (var callback = new LastStatisticsCallback()) {
+                this.client.statsCmd(this.containerId).withNoStream(true).exec(callback);
+                callback.awaitCompletion(STATS_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                this.record(callback.last);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            this.runContext.logger().debug("Unable to sample stats for container {}: {}", this.containerId, e.getMessage());
+        }
+    }
+
+    private String findContainer() {
+        return this.client.listContainersCmd()
+            .withShowAll(true)
+            .withLabelFilter(TASKRUN_LABEL)
+            .exec()
+            .stream()
+            // label values may be normalized by the task runner, so compare without case sensitivity
+            .filter(container -> container.getLabels() != null && this.taskRunId.equalsIgnoreCase(container.getLabels().get(TASKRUN_LABEL)))
+            .findFirst()
+            .map(Container::getId)
+            .orElse(null);
+    }
+
+    private synchronized long sampleCount() {
+        return this.samples;
+    }
+
+    private synchronized void record(Statistics stats) {
+        if (stats == null || stats.getMemoryStats() == null || stats.getMemoryStats().getUsage() == null) {
+            return;
+        }
+
+        long memory = stats.getMemoryStats().getUsage();
+        this.samples++;
+        this.memoryPeak = Math.max(this.memoryPeak, memory);
+        this.memorySum += memory;
+
+        // CPU, block I/O and network counters are cumulative since container start, keep the highest value seen.
+        if (stats.getCpuStats() != null && stats.getCpuStats().getCpuUsage() != null && stats.getCpuStats().getCpuUsage().getTotalUsage() != null) {
+            this.cpuNanos = Math.max(this.cpuNanos, stats.getCpuStats().getCpuUsage().getTotalUsage());
+        }
+
+        if (stats.getBlkioStats() != null && stats.getBlkioStats().getIoServiceBytesRecursive() != null) {
+            long read = 0;
+            long write = 0;
+            for (BlkioStatEntry entry : stats.getBlkioStats().getIoServiceBytesRecursive()) {
+                if (entry.getValue() == null) {
+                    continue;
+                }
+                if ("read".equalsIgnoreCase(entry.getOp())) {
+                    read += entry.getValue();
+                } else if ("write".equalsIgnoreCase(entry.getOp())) {
+                    write += entry.getValue();
+                }
+            }
+            this.blockRead = Math.max(this.blockRead, read);
+            this.blockWrite = Math.max(this.blockWrite, write);
+        }
+
+        if (stats.getNetworks() != null) {
+            long rx = 0;
+            long tx = 0;
+            for (var network : stats.getNetworks().values()) {
+                rx += network.getRxBytes() != null ? network.getRxBytes() : 0;
+                tx += network.getTxBytes() != null ? network.getTxBytes() : 0;
+            }
+            this.networkRx = Math.max(this.networkRx, rx);
+            this.networkTx = Math.max(this.networkTx, tx);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String taskRunId(RunContext runContext) {
+        var taskRun = (Map<String, Object>) runContext.getVariables().get("taskrun");
+        return taskRun != null ? String.valueOf(taskRun.get("id")) : "unknown";
+    }
+
+    private static class LastStatisticsCallback extends ResultCallback.Adapter<Statistics> {
+        private volatile Statistics last;
+
+        @Override
+        public void onNext(Statistics statistics) {
+            this.last = statistics;
+        }
+    }
+
+    record Usage(long samples, long memoryPeakBytes, long memoryAvgBytes, double cpuSeconds, long blockReadBytes, long blockWriteBytes, long networkRxBytes, long networkTxBytes) {
+
+        void emitMetrics(RunContext runContext) {
+            runContext.metric(Counter.of("memory.peak", this.memoryPeakBytes));
+            runContext.metric(Counter.of("memory.avg", this.memoryAvgBytes));
+            runContext.metric(Counter.of("cpu.seconds", this.cpuSeconds));
+            runContext.metric(Counter.of("blkio.read.bytes", this.blockReadBytes));
+            runContext.metric(Counter.of("blkio.write.bytes", this.blockWriteBytes));
+            runContext.metric(Counter.of("network.rx.bytes", this.networkRxBytes));
+            runContext.metric(Counter.of("network.tx.bytes", this.networkTxBytes));
+        }
+
+        Map<String, Object> toMap() {
+            var map = new LinkedHashMap<String, Object>();
+            map.put("samples", this.samples);
+            map.put("memoryPeakBytes", this.memoryPeakBytes);
+            map.put("memoryAvgBytes", this.memoryAvgBytes);
+            map.put("cpuSeconds", this.cpuSeconds);
+            map.put("blockReadBytes", this.blockReadBytes);
+            map.put("blockWriteBytes", this.blockWriteBytes);
+            map.put("networkRxBytes", this.networkRxBytes);
+            map.put("networkTxBytes", this.networkTxBytes);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.kestra.plugin.docker.cli;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Patterns of a {@code .dockerignore} file, matched as the Docker CLI does when it sends a build context: paths are
+ * relative to the context directory, {@code *} and {@code ?} don't cross directories while {@code **} does, a pattern
+ * matching a directory excludes everything below it, lines starting with {@code #} are comments, and a pattern
+ * starting with {@code !} re-includes what earlier patterns excluded, the last matching pattern winning.
+ */
+final class DockerIgnore {
+    static final String FILE_NAME = ".dockerignore";
+
+    private static final String REGEX_SPECIAL = "\\.[]{}()*+-?^$|&";
+
+    private final List<Rule> rules;
+
+    private DockerIgnore(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    static DockerIgnore parse(List<String> patterns) {
+        var rules = new ArrayList<Rule>();
+        for (String line : patterns) {
+            var pattern = line.strip();
+            if (pattern.isEmpty() || pattern.startsWith("#")) {
+                continue;
+            }
+
+            var negated = pattern.startsWith("!");
+            pattern = clean(negated ? pattern.substring(1).strip() : pattern);
+            if (!pattern.isEmpty()) {
+                rules.add(new Rule(Pattern.compile(toRegex(pattern)), negated));
+            }
+        }
+        return new DockerIgnore(rules);
+    }
+
+    static DockerIgnore read(String content) {
+        return parse(content.lines().toList());
+    }
+
+    /**
+     * Appends the patterns of another file, which take precedence as they come last.
+     */
+    DockerIgnore with(DockerIgnore other) {
+        var rules = new ArrayList<>(this.rules);
+        rules.addAll(other.rules);
+        return new DockerIgnore(rules);
+    }
+
+    boolean excludes(String relativePath) {
+        var path = clean(relativePath);
+        var excluded = false;
+        for (Rule rule : this.rules) {
+            if (excluded == rule.negated() && rule.matches(path)) {
+                excluded = !rule.negated();
+            }
+        }
+        return excluded;
+    }
+
+    /**
+     * Normalizes a relative path the way {@code filepath.Clean} does, without leading or trailing separator.
+     */
+    static String clean(String path) {
+        var parts = new ArrayList<String>();
+        for (String part : path.split("/")) {
+            if (part.isEmpty() || part.equals(".")) {
+                continue;
+            }
+            if (part.equals("..")) {
+                if (!parts.isEmpty()) {
+                    parts.removeLast();
+                }
+                continue;
+            }
+            parts.add(part);
+        }
+        return String.join("/", parts);
+    }
+
+    static String toRegex(String pattern) {
+        var regex = new StringBuilder("^");
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+                    i++;
+                    // `**/` matches zero or more directories
+                    if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '/') {
+                        i++;
+                    }
+                    regex.append(i + 1 == pattern.length() ? ".*" : "(.*/)?");
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else if (c == '[' && pattern.indexOf(']', i + 1) > i + 1) {
+                var end = pattern.indexOf(']', i + 1);
+                var range = pattern.substring(i + 1, end);
+                regex.append('[');
+                if (range.startsWith("^")) {
+                    regex.append('^');
+                    range = range.substring(1);
+                }
+                for (char member : range.toCharArray()) {
+                    regex.append(member == '-' ? "-" : escape(member));
+                }
+                regex.append(']');
+                i = end;
+            } else if (c == '\\' && i + 1 < pattern.length()) {
+                regex.append(escape(pattern.charAt(++i)));
+            } else {
+                regex.append(escape(c));
+            }
+        }
+        return regex.append('$').toString();
+    }
+
+    private static String escape(char c) {
+        return REGEX_SPECIAL.indexOf(c) >= 0 ? "\\" + c : String.valueOf(c);
+    }
+
+    private record Rule(Pattern pattern, boolean negated) {
+        /**
+         * Whether the pattern matches the path or one of its parent directories.
+         */
+        boolean matches(String path) {
+            var candidate = path;
+            while (true) {
+                if (this.pattern.matcher(candidate).matches()) {
+                    return true;
+                }
+                var parent = candidate.lastIndexOf('/');
+                if (parent < 0) {
+                    return false;
+                }
+                candidate = candidate.substring(0, parent);
+            }
+        }
+    }
+}
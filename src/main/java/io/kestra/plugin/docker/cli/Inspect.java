@@ -0,0 +1,172 @@
+package io.kestra.plugin.docker.cli;
+
+import java.util.*;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Ports;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.scripts.runner.docker.DockerService;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Inspect a Docker container",
+    description = "Returns the current state of a container: status, exit code, OOM kill flag, health, timestamps and published ports. Does not wait; use `Wait` to block until exit."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Check whether a background container was OOM killed",
+            full = true,
+            code = """
+                id: docker_inspect
+                namespace: company.team
+
+                tasks:
+                  - id: start
+                    type: io.kestra.plugin.docker.cli.Run
+                    containerImage: alpine:latest
+                    commands:
+                      - /bin/sh
+                      - -c
+                      - sleep 5
+                    wait: false
+
+                  - id: inspect
+                    type: io.kestra.plugin.docker.cli.Inspect
+                    containerId: "{{ outputs.start.vars.container.id }}"
+
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "Status {{ outputs.inspect.status }}, OOM killed: {{ outputs.inspect.oomKilled }}"
+                """
+        )
+    }
+)
+public class Inspect extends AbstractDocker implements RunnableTask<Inspect.Output> {
+    @Schema(
+        title = "Container ID or name",
+        description = "ID, ID prefix, or name of the container to inspect, e.g. `{{ outputs.run.vars.container.id }}`."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> containerId;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        var rContainerId = runContext.render(this.containerId).as(String.class).orElseThrow();
+
+        InspectContainerResponse response;
+        try (var client = DockerService.client(runContext, runContext.render(this.host).as(String.class).orElse(null), this.config, this.credentials, null)) {
+            response = client.inspectContainerCmd(rContainerId).exec();
+        }
+
+        var state = response.getState();
+        var output = Output.builder()
+            .id(response.getId())
+            .name(response.getName() != null && response.getName().startsWith("/") ? response.getName().substring(1) : response.getName())
+            .image(response.getConfig() != null ? response.getConfig().getImage() : null)
+            .restartCount(response.getRestartCount())
+            .labels(response.getConfig() != null && response.getConfig().getLabels() != null ? response.getConfig().getLabels() : Map.of())
+            .ports(publishedPorts(response));
+
+        if (state != null) {
+            output
+                .status(state.getStatus())
+                .running(state.getRunning())
+                .exitCode(state.getExitCodeLong())
+                .oomKilled(state.getOOMKilled())
+                .error(state.getError() != null && !state.getError().isEmpty() ? state.getError() : null)
+                .startedAt(state.getStartedAt())
+                .finishedAt(state.getFinishedAt())
+                .health(state.getHealth() != null ? state.getHealth().getStatus() : null);
+        }
+
+        runContext.logger().info("Container {} is {}", rContainerId, state != null ? state.getStatus() : "unknown");
+        return output.build();
+    }
+
+    static Map<String, List<String>> publishedPorts(InspectContainerResponse response) {
+        if (response.getNetworkSettings() == null || response.getNetworkSettings().getPorts() == null) {
+            return Map.of();
+        }
+
+        var ports = new TreeMap<String, List<String>>();
+        response.getNetworkSettings().getPorts().getBindings().forEach((exposedPort, bindings) ->
+        {
+            if (bindings == null) {
+                return;
+            }
+            ports.put(
+                exposedPort.toString(),
+                Arrays.stream(bindings).map(Inspect::formatBinding).toList()
+            );
+        });
+        return ports;
+    }
+
+    private static String formatBinding(Ports.Binding binding) {
+        var hostIp = binding.getHostIp() == null || binding.getHostIp().isEmpty() ? "0.0.0.0" : binding.getHostIp();
+        return hostIp + ":" + binding.getHostPortSpec();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Full container ID")
+        private String id;
+
+        @Schema(title = "Container name")
+        private String name;
+
+        @Schema(title = "Image the container was created from")
+        private String image;
+
+        @Schema(title = "Container status", description = "One of `created`, `running`, `paused`, `restarting`, `removing`, `exited` or `dead`.")
+        private String status;
+
+        @Schema(title = "Whether the container is running")
+        private Boolean running;
+
+        @Schema(title = "Exit code", description = "Only meaningful once the container has exited.")
+        private Long exitCode;
+
+        @Schema(title = "Whether the container was killed by the OOM killer")
+        private Boolean oomKilled;
+
+        @Schema(title = "Error reported by the daemon, if any")
+        private String error;
+
+        @Schema(title = "Start timestamp")
+        private String startedAt;
+
+        @Schema(title = "Finish timestamp")
+        private String finishedAt;
+
+        @Schema(title = "Health status", description = "`starting`, `healthy` or `unhealthy` when the image defines a healthcheck.")
+        private String health;
+
+        @Schema(title = "Number of restarts")
+        private Integer restartCount;
+
+        @Schema(title = "Published ports", description = "Container port (e.g. `80/tcp`) to the list of `hostIp:hostPort` bindings.")
+        private Map<String, List<String>> ports;
+
+        @Schema(title = "Container labels")
+        private Map<String, String> labels;
+    }
+}
@@ -0,0 +1,290 @@
+package io.kestra.plugin.docker.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.scripts.runner.docker.DockerService;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Fetch Docker container logs incrementally",
+    description = """
+        Reads the logs currently available for a container, without following, and stores them as an ION file of `{timestamp, stream, message}` rows.
+        The returned `cursor` is the timestamp of the last line read; pass it back as `since` on the next call to only fetch newer lines, which makes it possible to tail a long-running container from a loop or a schedule.
+        """
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Tail a background container until it exits",
+            full = true,
+            code = """
+                id: docker_logs
+                namespace: company.team
+
+                tasks:
+                  - id: start
+                    type: io.kestra.plugin.docker.cli.Run
+                    containerImage: alpine:latest
+                    commands:
+                      - /bin/sh
+                      - -c
+                      - for i in $(seq 1 30); do echo "tick $i"; sleep 1; done
+                    wait: false
+
+                  - id: loop
+                    type: io.kestra.plugin.core.flow.LoopUntil
+                    condition: "{{ outputs.inspect.running == false }}"
+                    checkFrequency:
+                      interval: PT5S
+                    tasks:
+                      - id: logs
+                        type: io.kestra.plugin.docker.cli.Logs
+                        containerId: "{{ outputs.start.vars.container.id }}"
+                        since: "{{ outputs.logs.cursor ?? '' }}"
+
+                      - id: inspect
+                        type: io.kestra.plugin.docker.cli.Inspect
+                        containerId: "{{ outputs.start.vars.container.id }}"
+                """
+        )
+    }
+)
+public class Logs extends AbstractDocker implements RunnableTask<Logs.Output> {
+    @Schema(
+        title = "Container ID or name",
+        description = "ID, ID prefix, or name of the container to read logs from, e.g. `{{ outputs.run.vars.container.id }}`."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> containerId;
+
+    @Schema(
+        title = "Cursor to resume from",
+        description = "RFC 3339 timestamp, typically the `cursor` output of a previous `Logs` run; only lines strictly after it are returned. When empty, all available lines are returned."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> since;
+
+    @Schema(
+        title = "Include stdout",
+        description = "Defaults to true."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> stdout = Property.ofValue(true);
+
+    @Schema(
+        title = "Include stderr",
+        description = "Defaults to true."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> stderr = Property.ofValue(true);
+
+    @Schema(
+        title = "Forward lines to the task logs",
+        description = "When true, each line is also logged at info level (stderr lines at warn). Defaults to false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> logLines = Property.ofValue(false);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        var rContainerId = runContext.render(this.containerId).as(String.class).orElseThrow();
+        var rSince = runContext.render(this.since).as(String.class).filter(s -> !s.isBlank()).map(Logs::parseCursor).orElse(null);
+        var rLogLines = runContext.render(this.logLines).as(Boolean.class).orElse(false);
+        var logger = runContext.logger();
+
+        var tempFile = runContext.workingDir().createTempFile(".ion");
+        var count = new AtomicInteger();
+        var cursor = new AtomicReference<>(rSince);
+
+        try (
+            var client = DockerService.client(runContext, runContext.render(this.host).as(String.class).orElse(null), this.config, this.credentials, null);
+            OutputStream output = new BufferedOutputStream(Files.newOutputStream(tempFile))
+        ) {
+            var cmd = client.logContainerCmd(rContainerId)
+                .withStdOut(runContext.render(this.stdout).as(Boolean.class).orElse(true))
+                .withStdErr(runContext.render(this.stderr).as(Boolean.class).orElse(true))
+                .withTimestamps(true)
+                .withFollowStream(false);
+
+            if (rSince != null) {
+                // The API only accepts whole seconds, lines of that second already read are filtered below.
+                cmd.withSince((int) rSince.getEpochSecond());
+            }
+
+            var lines = new LineAssembler();
+            Consumer<Line> handler = line ->
+            {
+                var text = line.text();
+                if (text.isEmpty()) {
+                    return;
+                }
+
+                var separator = text.indexOf(' ');
+                Instant timestamp;
+                try {
+                    timestamp = Instant.parse(separator > 0 ? text.substring(0, separator) : text);
+                } catch (DateTimeParseException e) {
+                    logger.debug("Skipping log line without timestamp: {}", text);
+                    return;
+                }
+
+                if (rSince != null && !timestamp.isAfter(rSince)) {
+                    return;
+                }
+
+                var message = separator > 0 ? text.substring(separator + 1) : "";
+                var stream = line.streamType() == StreamType.STDERR ? "stderr" : "stdout";
+
+                var row = new LinkedHashMap<String, Object>();
+                row.put("timestamp", timestamp);
+                row.put("stream", stream);
+                row.put("message", message);
+                try {
+                    FileSerde.write(output, row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                if (rLogLines) {
+                    if ("stderr".equals(stream)) {
+                        logger.warn("{}", message);
+                    } else {
+                        logger.info("{}", message);
+                    }
+                }
+
+                count.incrementAndGet();
+                cursor.set(timestamp);
+            };
+
+            cmd.exec(new ResultCallback.Adapter<Frame>() {
+                @Override
+                public void onNext(Frame frame) {
+                    lines.append(frame.getStreamType(), frame.getPayload()).forEach(handler);
+                }
+            }).awaitCompletion();
+            // the last line of each stream may not end with a line feed
+            lines.flush().forEach(handler);
+        }
+
+        URI uri = runContext.storage().putFile(tempFile.toFile());
+        runContext.logger().info("Fetched {} log line(s) from container {}", count.get(), rContainerId);
+
+        return Output.builder()
+            .uri(uri)
+            .lineCount(count.get())
+            .cursor(cursor.get() != null ? cursor.get().toString() : null)
+            .build();
+    }
+
+    /**
+     * Reassembles lines split across frames: the daemon cuts long lines into several frames, so the bytes after the
+     * last line feed of a frame are kept, per stream, and prepended to the next frame of the same stream.
+     */
+    static final class LineAssembler {
+        private final Map<StreamType, ByteArrayOutputStream> partials = new EnumMap<>(StreamType.class);
+
+        /**
+         * @return the lines completed by this frame
+         */
+        List<Line> append(StreamType streamType, byte[] payload) {
+            var partial = this.partials.computeIfAbsent(streamType, type -> new ByteArrayOutputStream());
+            var lines = new ArrayList<Line>();
+            var start = 0;
+            for (var i = 0; i < payload.length; i++) {
+                if (payload[i] == '\n') {
+                    partial.write(payload, start, i - start);
+                    // decoded once complete, so that a character cut between two frames is decoded whole
+                    lines.add(new Line(streamType, partial.toString(StandardCharsets.UTF_8)));
+                    partial.reset();
+                    start = i + 1;
+                }
+            }
+            partial.write(payload, start, payload.length - start);
+            return lines;
+        }
+
+        /**
+         * @return the last line of each stream, when it didn't end with a line feed
+         */
+        List<Line> flush() {
+            var lines = new ArrayList<Line>();
+            this.partials.forEach((streamType, partial) ->
+            {
+                if (partial.size() > 0) {
+                    lines.add(new Line(streamType, partial.toString(StandardCharsets.UTF_8)));
+                    partial.reset();
+                }
+            });
+            return lines;
+        }
+    }
+
+    record Line(StreamType streamType, String text) {
+    }
+
+    private static Instant parseCursor(String cursor) {
+        try {
+            return Instant.parse(cursor.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid `since` cursor '" + cursor + "', expected an RFC 3339 timestamp such as the `cursor` output of a previous Logs task", e);
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "URI of the ION file containing the fetched lines")
+        private URI uri;
+
+        @Schema(title = "Number of lines fetched")
+        private int lineCount;
+
+        @Schema(
+            title = "Cursor for the next call",
+            description = "Timestamp of the last line read, or the input `since` when no new line was found; pass it as `since` to resume."
+        )
+        private String cursor;
+    }
+}
@@ -0,0 +1,406 @@
+package io.kestra.plugin.docker.cli;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.command.PullImageResultCallback;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.exception.NotModifiedException;
+import com.github.dockerjava.api.model.*;
+
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Drives the Docker daemon directly to bring a {@link ComposeProject} up or down, without the {@code docker compose}
+ * CLI. Resources carry the same {@code com.docker.compose.*} labels as the CLI creates, so a stack started natively
+ * can be stopped with {@code docker compose -p <project> down} and the other way around.
+ */
+class NativeCompose {
+    static final String PROJECT_LABEL = "com.docker.compose.project";
+    static final String SERVICE_LABEL = "com.docker.compose.service";
+    static final String NETWORK_LABEL = "com.docker.compose.network";
+    static final String VOLUME_LABEL = "com.docker.compose.volume";
+
+    // default of `stop_grace_period`, as with the CLI
+    private static final Duration DEFAULT_STOP_GRACE_PERIOD = Duration.ofSeconds(10);
+
+    private final RunContext runContext;
+    private final DockerClient client;
+    private final ComposeProject project;
+    private final Path workingDir;
+    private final Duration readyTimeout;
+    private final Map<String, Duration> serviceTimeouts;
+
+    private final Map<String, String> containers = new ConcurrentHashMap<>();
+
+    /**
+     * @param readyTimeout    time to wait for a dependency to reach its {@code depends_on} condition
+     * @param serviceTimeouts time to wait for each service, overriding {@code readyTimeout}
+     */
+    NativeCompose(RunContext runContext, DockerClient client, ComposeProject project, Path workingDir, Duration readyTimeout, Map<String, Duration> serviceTimeouts) {
+        this.runContext = runContext;
+        this.client = client;
+        this.project = project;
+        this.workingDir = workingDir;
+        this.readyTimeout = readyTimeout;
+        this.serviceTimeouts = serviceTimeouts;
+    }
+
+    /**
+     * Creates the networks and volumes, then starts services level by level, the services of a level in parallel.
+     *
+     * @return the container ID of each service
+     */
+    Map<String, String> up() throws Exception {
+        this.createNetworks();
+        this.createVolumes();
+
+        try (var watcher = new ComposeWatcher(this.client, this.project.name()); var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<ComposeProject.Service> level : this.project.levels()) {
+                var futures = new ArrayList<Future<?>>();
+                for (ComposeProject.Service service : level) {
+                    futures.add(executor.submit(() ->
+                    {
+                        this.startService(watcher, service);
+                        return null;
+                    }));
+                }
+
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof Exception cause) {
+                            throw cause;
+                        }
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        var ordered = new LinkedHashMap<String, String>();
+        this.project.services().keySet().forEach(service -> ordered.put(service, this.containers.get(service)));
+        return ordered;
+    }
+
+    /**
+     * Stops the project containers in reverse dependency order, each with its {@code stop_grace_period} between
+     * SIGTERM and SIGKILL, then removes them with the project networks, and its volumes when {@code removeVolumes} is
+     * set. The services of a level are stopped in parallel.
+     */
+    void down(boolean removeVolumes) throws Exception {
+        var projectContainers = this.client.listContainersCmd()
+            .withShowAll(true)
+            .withLabelFilter(Map.of(PROJECT_LABEL, this.project.name()))
+            .exec();
+
+        var byService = new HashMap<String, List<Container>>();
+        projectContainers.forEach(container -> byService.computeIfAbsent(container.getLabels().get(SERVICE_LABEL), service -> new ArrayList<>()).add(container));
+
+        // containers of services no longer in the files depend on nothing we know of, so they go first
+        var stages = new ArrayList<List<Container>>();
+        var known = new HashSet<String>();
+        this.project.levels().forEach(level -> level.forEach(service -> known.add(service.name())));
+        stages.add(projectContainers.stream().filter(container -> !known.contains(container.getLabels().get(SERVICE_LABEL))).toList());
+        for (List<ComposeProject.Service> level : this.project.levels().reversed()) {
+            stages.add(level.stream().flatMap(service -> byService.getOrDefault(service.name(), List.of()).stream()).toList());
+        }
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<Container> stage : stages) {
+                var futures = new ArrayList<Future<?>>();
+                for (Container container : stage) {
+                    futures.add(executor.submit(() ->
+                    {
+                        this.stopAndRemove(container, removeVolumes);
+                        return null;
+                    }));
+                }
+
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof Exception cause) {
+                            throw cause;
+                        }
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        for (Network network : this.client.listNetworksCmd().withFilter("label", List.of(PROJECT_LABEL + "=" + this.project.name())).exec()) {
+            this.runContext.logger().info("Removing network {}", network.getName());
+            this.client.removeNetworkCmd(network.getId()).exec();
+        }
+
+        if (removeVolumes) {
+            var volumes = this.client.listVolumesCmd().withFilter("label", List.of(PROJECT_LABEL + "=" + this.project.name())).exec().getVolumes();
+            if (volumes != null) {
+                for (var volume : volumes) {
+                    this.runContext.logger().info("Removing volume {}", volume.getName());
+                    this.client.removeVolumeCmd(volume.getName()).exec();
+                }
+            }
+        }
+    }
+
+    private void stopAndRemove(Container container, boolean removeVolumes) {
+        var name = String.join(",", container.getNames());
+        var service = this.project.services().get(container.getLabels().get(SERVICE_LABEL));
+        var gracePeriod = service != null && service.stopGracePeriod() != null ? service.stopGracePeriod() : DEFAULT_STOP_GRACE_PERIOD;
+
+        if ("running".equals(container.getState()) || "restarting".equals(container.getState()) || "paused".equals(container.getState())) {
+            this.runContext.logger().info("Stopping container {}", name);
+            try {
+                this.client.stopContainerCmd(container.getId()).withTimeout((int) Math.max(gracePeriod.toSeconds(), 0)).exec();
+            } catch (NotModifiedException e) {
+                // stopped in the meantime
+            }
+        }
+
+        this.runContext.logger().info("Removing container {}", name);
+        this.client.removeContainerCmd(container.getId()).withRemoveVolumes(removeVolumes).exec();
+    }
+
+    private void createNetworks() {
+        var used = new HashSet<String>();
+        this.project.services().values().forEach(service -> used.addAll(service.networks()));
+
+        for (ComposeProject.Resource network : this.project.networks().values()) {
+            if (!used.contains(network.key()) || network.external()) {
+                continue;
+            }
+
+            var exists = this.client.listNetworksCmd().withNameFilter(network.dockerName()).exec()
+                .stream()
+                .anyMatch(existing -> existing.getName().equals(network.dockerName()));
+            if (exists) {
+                continue;
+            }
+
+            this.runContext.logger().info("Creating network {}", network.dockerName());
+            var cmd = this.client.createNetworkCmd()
+                .withName(network.dockerName())
+                .withLabels(Map.of(PROJECT_LABEL, this.project.name(), NETWORK_LABEL, network.key()));
+            if (network.driver() != null) {
+                cmd.withDriver(network.driver());
+            }
+            cmd.exec();
+        }
+    }
+
+    private void createVolumes() {
+        for (ComposeProject.Resource volume : this.project.volumes().values()) {
+            if (volume.external()) {
+                continue;
+            }
+
+            // volume creation is idempotent on the daemon side
+            var cmd = this.client.createVolumeCmd()
+                .withName(volume.dockerName())
+                .withLabels(Map.of(PROJECT_LABEL, this.project.name(), VOLUME_LABEL, volume.key()));
+            if (volume.driver() != null) {
+                cmd.withDriver(volume.driver());
+            }
+            cmd.exec();
+        }
+    }
+
+    private void startService(ComposeWatcher watcher, ComposeProject.Service service) throws Exception {
+        for (Map.Entry<String, String> dependency : service.dependsOn().entrySet()) {
+            this.awaitDependency(watcher, service.name(), dependency.getKey(), dependency.getValue());
+        }
+
+        this.ensureImage(service);
+
+        var containerName = service.containerName() != null ? service.containerName() : this.project.name() + "-" + service.name() + "-1";
+        if (this.reuseRunningContainer(service, containerName)) {
+            return;
+        }
+
+        var labels = new HashMap<>(service.labels());
+        labels.put(PROJECT_LABEL, this.project.name());
+        labels.put(SERVICE_LABEL, service.name());
+        labels.put("com.docker.compose.container-number", "1");
+        labels.put("com.docker.compose.oneoff", "False");
+
+        var ports = new Ports();
+        var exposedPorts = new ArrayList<ExposedPort>();
+        for (String port : service.ports()) {
+            var binding = PortBinding.parse(port);
+            ports.add(binding);
+            exposedPorts.add(binding.getExposedPort());
+        }
+
+        var primaryNetwork = this.project.networks().get(service.networks().getFirst()).dockerName();
+        var hostConfig = HostConfig.newHostConfig()
+            .withPortBindings(ports)
+            .withBinds(service.volumes().stream().map(this::bind).toList())
+            .withNetworkMode(primaryNetwork);
+        if (service.restart() != null) {
+            hostConfig.withRestartPolicy(RestartPolicy.parse(service.restart()));
+        }
+
+        var cmd = this.client.createContainerCmd(service.image())
+            .withName(containerName)
+            .withLabels(labels)
+            .withEnv(service.environment())
+            .withExposedPorts(exposedPorts)
+            .withHostConfig(hostConfig)
+            .withAliases(service.name());
+
+        if (!service.command().isEmpty()) {
+            cmd.withCmd(service.command());
+        }
+        if (!service.entrypoint().isEmpty()) {
+            cmd.withEntrypoint(service.entrypoint());
+        }
+        if (service.workingDir() != null) {
+            cmd.withWorkingDir(service.workingDir());
+        }
+        if (service.user() != null) {
+            cmd.withUser(service.user());
+        }
+        if (service.healthcheck() != null) {
+            cmd.withHealthcheck(healthCheck(service.healthcheck()));
+        }
+
+        var containerId = cmd.exec().getId();
+
+        for (String network : service.networks().subList(1, service.networks().size())) {
+            this.client.connectToNetworkCmd()
+                .withNetworkId(this.project.networks().get(network).dockerName())
+                .withContainerId(containerId)
+                .withContainerNetwork(new ContainerNetwork().withAliases(service.name()))
+                .exec();
+        }
+
+        this.client.startContainerCmd(containerId).exec();
+        this.containers.put(service.name(), containerId);
+        this.runContext.logger().info("Started service {} in container {}", service.name(), containerName);
+    }
+
+    private boolean reuseRunningContainer(ComposeProject.Service service, String containerName) {
+        try {
+            var existing = this.client.inspectContainerCmd(containerName).exec();
+            if (Boolean.TRUE.equals(existing.getState().getRunning())) {
+                this.runContext.logger().info("Service {} is already running in container {}", service.name(), containerName);
+                this.containers.put(service.name(), existing.getId());
+                return true;
+            }
+
+            this.client.removeContainerCmd(existing.getId()).exec();
+            return false;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    private void ensureImage(ComposeProject.Service service) throws InterruptedException {
+        var always = "always".equals(service.pullPolicy());
+        if (!always) {
+            try {
+                this.client.inspectImageCmd(service.image()).exec();
+                return;
+            } catch (NotFoundException e) {
+                if ("never".equals(service.pullPolicy())) {
+                    throw new IllegalStateException("Image " + service.image() + " of service '" + service.name() + "' is not present and `pull_policy` is never");
+                }
+            }
+        }
+
+        this.runContext.logger().info("Pulling image {} for service {}", service.image(), service.name());
+        this.client.pullImageCmd(service.image()).exec(new PullImageResultCallback()).awaitCompletion();
+    }
+
+    private void awaitDependency(ComposeWatcher watcher, String service, String dependency, String condition) throws InterruptedException {
+        if ("service_started".equals(condition)) {
+            return;
+        }
+
+        var containerId = this.containers.get(dependency);
+        InspectContainerResponse.ContainerState state;
+        try {
+            state = watcher.await(containerId, response -> isSettled(response.getState(), condition), this.serviceTimeouts.getOrDefault(dependency, this.readyTimeout)).getState();
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for service '" + dependency + "' to reach " + condition + ", required by '" + service + "'");
+        }
+
+        var running = Boolean.TRUE.equals(state.getRunning());
+        if ("service_completed_successfully".equals(condition)) {
+            var exitCode = state.getExitCodeLong();
+            if (exitCode == null || exitCode != 0) {
+                throw new IllegalStateException("Service '" + dependency + "' required by '" + service + "' exited with code " + exitCode);
+            }
+            return;
+        }
+
+        if (state.getHealth() == null) {
+            throw new IllegalStateException("Service '" + service + "' waits for '" + dependency + "' to be healthy but it has no healthcheck");
+        }
+        if (!"healthy".equals(state.getHealth().getStatus())) {
+            throw new IllegalStateException("Service '" + dependency + "' required by '" + service + "' is " + (running ? "unhealthy" : "not running"));
+        }
+    }
+
+    private static boolean isSettled(InspectContainerResponse.ContainerState state, String condition) {
+        var running = Boolean.TRUE.equals(state.getRunning());
+        if ("service_completed_successfully".equals(condition)) {
+            return !running;
+        }
+        return !running || state.getHealth() == null || !"starting".equals(state.getHealth().getStatus());
+    }
+
+    private Bind bind(String spec) {
+        var parts = spec.split(":");
+        if (parts.length == 1) {
+            // anonymous volume
+            return new Bind(this.project.name() + "_" + UUID.randomUUID().toString().replace("-", ""), new Volume(parts[0]));
+        }
+
+        var source = parts[0];
+        var target = parts[1];
+        var accessMode = parts.length > 2 && parts[2].contains("ro") ? AccessMode.ro : AccessMode.rw;
+
+        if (source.startsWith(".") || source.startsWith("/") || source.startsWith("~")) {
+            if (source.startsWith("~")) {
+                source = System.getProperty("user.home") + source.substring(1);
+            }
+            source = this.workingDir.resolve(source).normalize().toString();
+        } else if (this.project.volumes().containsKey(source)) {
+            source = this.project.volumes().get(source).dockerName();
+        } else {
+            throw new IllegalArgumentException("Volume '" + source + "' is not declared in the top-level `volumes`");
+        }
+
+        return new Bind(source, new Volume(target), accessMode);
+    }
+
+    private static HealthCheck healthCheck(ComposeProject.HealthCheckSpec spec) {
+        var healthCheck = new HealthCheck().withTest(spec.test());
+        if (spec.interval() != null) {
+            healthCheck.withInterval(spec.interval().toNanos());
+        }
+        if (spec.timeout() != null) {
+            healthCheck.withTimeout(spec.timeout().toNanos());
+        }
+        if (spec.retries() != null) {
+            healthCheck.withRetries(spec.retries());
+        }
+        if (spec.startPeriod() != null) {
+            healthCheck.withStartPeriod(spec.startPeriod().toNanos());
+        }
+        return healthCheck;
+    }
+}
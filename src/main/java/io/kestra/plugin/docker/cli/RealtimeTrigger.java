@@ -0,0 +1,387 @@
+package io.kestra.plugin.docker.cli;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.*;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.scripts.runner.docker.Credentials;
+import io.kestra.plugin.scripts.runner.docker.DockerService;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.util.retry.Retry;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Trigger a flow on Docker daemon events",
+    description = """
+        Subscribes to the Docker daemon event stream (`/events`) and creates an execution for each event, or for each batch of events when batching is enabled.
+        Events can be filtered by type (e.g. `container`, `image`), action (e.g. `die`, `oom`, `pull`) and label. When the stream breaks or the internal buffer overflows, the trigger reconnects and resumes from the last delivered event so no event is skipped.
+        """
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Get notified when a container is killed by the OOM killer",
+            full = true,
+            code = """
+                id: docker_oom_alert
+                namespace: company.team
+
+                tasks:
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "Container {{ trigger.events[0].attributes.name }} was OOM killed"
+
+                triggers:
+                  - id: oom
+                    type: io.kestra.plugin.docker.cli.RealtimeTrigger
+                    types:
+                      - container
+                    actions:
+                      - oom
+                """
+        ),
+        @Example(
+            title = "Process image pulls in batches of up to 50 events or every 30 seconds",
+            full = true,
+            code = """
+                id: docker_image_pulls
+                namespace: company.team
+
+                tasks:
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ trigger.count }} image(s) pulled"
+
+                triggers:
+                  - id: pulls
+                    type: io.kestra.plugin.docker.cli.RealtimeTrigger
+                    types:
+                      - image
+                    actions:
+                      - pull
+                    maxBatchSize: 50
+                    maxBatchDuration: PT30S
+                """
+        )
+    }
+)
+public class RealtimeTrigger extends AbstractTrigger implements RealtimeTriggerInterface, TriggerOutput<RealtimeTrigger.Output> {
+    @Schema(
+        title = "The URI of your Docker host e.g. localhost"
+    )
+    @PluginProperty(group = "connection")
+    private Property<String> host;
+
+    @Schema(
+        title = "Docker configuration file",
+        description = "Docker configuration file that can set access credentials to private container registries. Usually located in `~/.docker/config.json`.",
+        anyOf = { String.class, Map.class }
+    )
+    @ToString.Exclude
+    @PluginProperty(dynamic = true, secret = true, group = "advanced")
+    private Object config;
+
+    @Schema(
+        title = "Credentials for a private container registry"
+    )
+    @PluginProperty(dynamic = true, secret = true, group = "connection")
+    private Credentials credentials;
+
+    @Schema(
+        title = "Event types",
+        description = "Only events of these types are emitted, e.g. `container`, `image`, `network`, `volume`. All types when empty."
+    )
+    @PluginProperty(group = "processing")
+    private Property<List<String>> types;
+
+    @Schema(
+        title = "Event actions",
+        description = "Only events with these actions are emitted, e.g. `start`, `die`, `oom`, `health_status`, `pull`. All actions when empty."
+    )
+    @PluginProperty(group = "processing")
+    private Property<List<String>> actions;
+
+    @Schema(
+        title = "Label filter",
+        description = "Only events whose actor carries all of these labels are emitted, e.g. `{\"com.docker.compose.project\": \"app\"}`."
+    )
+    @PluginProperty(group = "processing")
+    private Property<Map<String, String>> labels;
+
+    @Schema(
+        title = "Replay window",
+        description = "On start, also replays events that happened within this duration before the subscription, as far as the daemon still retains them. Only new events when not set."
+    )
+    @PluginProperty(group = "processing")
+    private Property<Duration> since;
+
+    @Schema(
+        title = "Maximum number of events per execution",
+        description = "Defaults to 1, creating one execution per event. Higher values group events into a single execution, flushed when the batch is full or `maxBatchDuration` elapses."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> maxBatchSize = Property.ofValue(1);
+
+    @Schema(
+        title = "Maximum time to wait to fill a batch",
+        description = "Only used when `maxBatchSize` is greater than 1. Defaults to 10 seconds."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> maxBatchDuration = Property.ofValue(Duration.ofSeconds(10));
+
+    @Schema(
+        title = "Maximum number of buffered events",
+        description = "Events received faster than executions can be created are buffered up to this size. On overflow, the buffer is discarded and the stream reconnects from the last delivered event, so events are re-read from the daemon instead of being lost. Defaults to 1000."
+    )
+    @Builder.Default
+    @PluginProperty(group = "reliability")
+    private Property<Integer> bufferSize = Property.ofValue(1000);
+
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final AtomicBoolean isActive = new AtomicBoolean(true);
+
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final CountDownLatch waitForTermination = new CountDownLatch(1);
+
+    @Override
+    public Publisher<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+
+        var rHost = runContext.render(this.host).as(String.class).orElse(null);
+        // validated once, so that a configuration error fails the trigger instead of being retried at each reconnection
+        var rTypes = eventTypes(runContext.render(this.types).asList(String.class));
+        var rActions = runContext.render(this.actions).asList(String.class);
+        var rLabels = runContext.render(this.labels).asMap(String.class, String.class);
+        var rSince = runContext.render(this.since).as(Duration.class).orElse(Duration.ZERO);
+        var rMaxBatchSize = runContext.render(this.maxBatchSize).as(Integer.class).orElse(1);
+        var rMaxBatchDuration = runContext.render(this.maxBatchDuration).as(Duration.class).orElse(Duration.ofSeconds(10));
+        var rBufferSize = runContext.render(this.bufferSize).as(Integer.class).orElse(1000);
+
+        // Time of the last event handed over to Kestra, in nanoseconds since epoch: every (re)connection resumes from it.
+        var cursor = new AtomicLong(Instant.now().minus(rSince).toEpochMilli() * 1_000_000L);
+
+        Flux<EventEntry> events = Flux.<EventEntry>create(
+                sink -> this.subscribe(runContext, rHost, rTypes, rActions, rLabels, cursor.get(), sink),
+                FluxSink.OverflowStrategy.BUFFER
+            )
+            .onBackpressureBuffer(
+                rBufferSize,
+                dropped -> runContext.logger().warn("Docker event buffer is full, reconnecting from the last delivered event"),
+                BufferOverflowStrategy.ERROR
+            )
+            .doOnNext(event -> cursor.set(event.getTimeNano()))
+            .retryWhen(
+                Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                    .maxBackoff(Duration.ofSeconds(30))
+                    .filter(throwable -> this.isActive.get())
+                    .doBeforeRetry(signal -> runContext.logger().warn("Docker event stream failed, reconnecting: {}", signal.failure().getMessage()))
+            )
+            .repeat(this.isActive::get)
+            .takeWhile(event -> this.isActive.get())
+            .doFinally(signal -> this.waitForTermination.countDown());
+
+        Flux<List<EventEntry>> batches = rMaxBatchSize > 1 ?
+            events.bufferTimeout(rMaxBatchSize, rMaxBatchDuration) :
+            events.map(List::of);
+
+        return batches
+            .filter(batch -> !batch.isEmpty())
+            .map(batch -> TriggerService.generateRealtimeExecution(
+                this,
+                conditionContext,
+                context,
+                Output.builder().events(batch).count(batch.size()).build()
+            ));
+    }
+
+    private void subscribe(
+        RunContext runContext,
+        String host,
+        EventType[] types,
+        List<String> actions,
+        Map<String, String> labels,
+        long sinceNanos,
+        FluxSink<EventEntry> sink
+    ) {
+        try {
+            var client = DockerService.client(runContext, host, this.config, this.credentials, null);
+            var cmd = client.eventsCmd().withSince(formatSince(sinceNanos));
+
+            if (types.length > 0) {
+                cmd.withEventTypeFilter(types);
+            }
+            if (!actions.isEmpty()) {
+                cmd.withEventFilter(actions.toArray(String[]::new));
+            }
+            if (!labels.isEmpty()) {
+                cmd.withLabelFilter(labels);
+            }
+
+            var callback = cmd.exec(new ResultCallback.Adapter<Event>() {
+                @Override
+                public void onNext(Event event) {
+                    var entry = EventEntry.of(event);
+                    // `since` is inclusive, so the event the cursor points to is received again on reconnection
+                    if (entry.getTimeNano() > sinceNanos) {
+                        sink.next(entry);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    sink.error(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    sink.complete();
+                }
+            });
+
+            sink.onDispose(() ->
+            {
+                try {
+                    callback.close();
+                    client.close();
+                } catch (Exception e) {
+                    runContext.logger().debug("Unable to close the Docker event stream: {}", e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            sink.error(e);
+        }
+    }
+
+    static EventType[] eventTypes(List<String> types) {
+        return types.stream()
+            .map(type ->
+            {
+                try {
+                    return EventType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                        "Invalid event type '" + type + "', expected one of " + Arrays.stream(EventType.values()).map(EventType::getValue).toList(),
+                        e
+                    );
+                }
+            })
+            .toArray(EventType[]::new);
+    }
+
+    private static String formatSince(long nanos) {
+        return (nanos / 1_000_000_000L) + "." + String.format("%09d", nanos % 1_000_000_000L);
+    }
+
+    @Override
+    public void kill() {
+        this.stop(true);
+    }
+
+    @Override
+    public void stop() {
+        this.stop(false);
+    }
+
+    private void stop(boolean wait) {
+        if (!this.isActive.compareAndSet(true, false)) {
+            return;
+        }
+
+        if (wait) {
+            try {
+                this.waitForTermination.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Events of this execution", description = "A single event unless `maxBatchSize` is greater than 1.")
+        private List<EventEntry> events;
+
+        @Schema(title = "Number of events")
+        private int count;
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "A Docker daemon event")
+    public static class EventEntry {
+        @Schema(title = "Object type", description = "e.g. `container`, `image`, `network`, `volume`.")
+        private String type;
+
+        @Schema(title = "Action", description = "e.g. `start`, `die`, `oom`, `health_status: healthy`, `pull`.")
+        private String action;
+
+        @Schema(title = "ID of the object the event is about", description = "Container ID, image reference, network ID...")
+        private String actorId;
+
+        @Schema(title = "Actor attributes", description = "Labels and event specific attributes such as `name`, `image` or `exitCode`.")
+        private Map<String, String> attributes;
+
+        @Schema(title = "Event time")
+        private Instant time;
+
+        @Schema(title = "Event time in nanoseconds since epoch")
+        private long timeNano;
+
+        static EventEntry of(Event event) {
+            long timeNano;
+            if (event.getTimeNano() != null) {
+                timeNano = event.getTimeNano();
+            } else {
+                timeNano = event.getTime() != null ? event.getTime() * 1_000_000_000L : Instant.now().toEpochMilli() * 1_000_000L;
+            }
+
+            return EventEntry.builder()
+                .type(event.getType() != null ? event.getType().getValue() : null)
+                .action(event.getAction() != null ? event.getAction() : event.getStatus())
+                .actorId(event.getActor() != null ? event.getActor().getId() : event.getId())
+                .attributes(event.getActor() != null && event.getActor().getAttributes() != null ? event.getActor().getAttributes() : Map.of())
+                .time(Instant.ofEpochSecond(0, timeNano))
+                .timeNano(timeNano)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package io.kestra.plugin.docker.cli;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.scripts.runner.docker.Credentials;
+
+/**
+ * Minimal client of the registry HTTP API v2, for what the Docker daemon API can't do: reading the descriptor of a
+ * pushed image manifest and pushing a manifest list. Handles the bearer token challenge used by Docker Hub and most
+ * registries, as well as basic authentication. Credentials are only sent to the registry they are for, other
+ * registries are accessed anonymously.
+ */
+final class RegistryClient {
+    static final String MANIFEST = "application/vnd.docker.distribution.manifest.v2+json";
+    static final String MANIFEST_LIST = "application/vnd.docker.distribution.manifest.list.v2+json";
+    static final String OCI_MANIFEST = "application/vnd.oci.image.manifest.v1+json";
+    static final String OCI_INDEX = "application/vnd.oci.image.index.v1+json";
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final Pattern CHALLENGE_PARAMETER = Pattern.compile("(\\w+)=\"([^\"]*)\"");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private String authorization;
+
+    private RegistryClient(HttpClient client, String host, String username, String password, String registryToken) {
+        this.client = client;
+        this.baseUrl = (isLocal(host) ? "http://" : "https://") + host;
+        this.username = username;
+        this.password = password;
+        this.authorization = registryToken != null ? "Bearer " + registryToken : null;
+    }
+
+    private static boolean isLocal(String host) {
+        return host.equals("localhost") || host.startsWith("localhost:") || host.equals("127.0.0.1") || host.startsWith("127.0.0.1:");
+    }
+
+    /**
+     * Reads the descriptor of a manifest, computing its digest and size from the manifest itself as the registry may
+     * not report them.
+     */
+    Descriptor describe(String repository, String tag) throws IOException, InterruptedException {
+        var response = this.send("GET", repository, "/v2/" + repository + "/manifests/" + tag, null, null);
+        if (response.statusCode() / 100 != 2) {
+            throw failure("read manifest " + repository + ":" + tag, response);
+        }
+
+        var mediaType = response.headers().firstValue("Content-Type").map(contentType -> contentType.split(";")[0].trim()).orElse(null);
+        if (mediaType == null || mediaType.equals("application/json")) {
+            mediaType = MAPPER.readTree(response.body()).path("mediaType").asText(MANIFEST);
+        }
+        return new Descriptor(mediaType, digest(response.body()), response.body().length);
+    }
+
+    /**
+     * Pushes a manifest list referencing the given platform manifests, as an OCI index if any of them is an OCI
+     * manifest since the two formats can't be mixed.
+     *
+     * @return the digest of the manifest list
+     */
+    String putManifestList(String repository, String tag, List<Manifest> manifests) throws IOException, InterruptedException {
+        var mediaType = manifests.stream().anyMatch(manifest -> OCI_MANIFEST.equals(manifest.mediaType())) ? OCI_INDEX : MANIFEST_LIST;
+        var manifestList = new LinkedHashMap<String, Object>();
+        manifestList.put("schemaVersion", 2);
+        manifestList.put("mediaType", mediaType);
+        manifestList.put("manifests", manifests);
+        var body = MAPPER.writeValueAsBytes(manifestList);
+
+        var response = this.send("PUT", repository, "/v2/" + repository + "/manifests/" + tag, mediaType, body);
+        if (response.statusCode() / 100 != 2) {
+            throw failure("push manifest list " + repository + ":" + tag, response);
+        }
+        return response.headers().firstValue("Docker-Content-Digest").orElseGet(() -> digest(body));
+    }
+
+    private HttpResponse<byte[]> send(String method, String repository, String path, String contentType, byte[] body) throws IOException, InterruptedException {
+        var response = this.client.send(this.request(method, path, contentType, body), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 401) {
+            var challenge = response.headers().firstValue("WWW-Authenticate").orElse(null);
+            if (challenge != null && this.authenticate(challenge, repository)) {
+                response = this.client.send(this.request(method, path, contentType, body), HttpResponse.BodyHandlers.ofByteArray());
+            }
+        }
+        return response;
+    }
+
+    private HttpRequest request(String method, String path, String contentType, byte[] body) {
+        var builder = HttpRequest.newBuilder(URI.create(this.baseUrl + path))
+            .timeout(TIMEOUT)
+            .header("Accept", String.join(", ", MANIFEST, OCI_MANIFEST, MANIFEST_LIST, OCI_INDEX))
+            .method(method, body != null ? HttpRequest.BodyPublishers.ofByteArray(body) : HttpRequest.BodyPublishers.noBody());
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        if (this.authorization != null) {
+            builder.header("Authorization", this.authorization);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Answers an authentication challenge, fetching a token from the realm of a bearer challenge.
+     *
+     * @return whether the request is worth sending again
+     */
+    private boolean authenticate(String challenge, String repository) throws IOException, InterruptedException {
+        var basic = this.username != null ? "Basic " + Base64.getEncoder().encodeToString((this.username + ":" + this.password).getBytes(StandardCharsets.UTF_8)) : null;
+        if (challenge.regionMatches(true, 0, "Basic", 0, 5)) {
+            if (basic == null || basic.equals(this.authorization)) {
+                return false;
+            }
+            this.authorization = basic;
+            return true;
+        }
+
+        var parameters = new HashMap<String, String>();
+        var matcher = CHALLENGE_PARAMETER.matcher(challenge);
+        while (matcher.find()) {
+            parameters.put(matcher.group(1), matcher.group(2));
+        }
+        if (!challenge.regionMatches(true, 0, "Bearer", 0, 6) || !parameters.containsKey("realm")) {
+            return false;
+        }
+
+        var query = new StringBuilder("?scope=").append(URLEncoder.encode(parameters.getOrDefault("scope", "repository:" + repository + ":pull,push"), StandardCharsets.UTF_8));
+        if (parameters.containsKey("service")) {
+            query.append("&service=").append(URLEncoder.encode(parameters.get("service"), StandardCharsets.UTF_8));
+        }
+        var realm = URI.create(parameters.get("realm") + query);
+        var tokenRequest = HttpRequest.newBuilder(realm).timeout(TIMEOUT).GET();
+        // the realm is named by the registry, don't send the password over it in clear text
+        if (basic != null && ("https".equalsIgnoreCase(realm.getScheme()) || isLocal(realm.getRawAuthority()))) {
+            tokenRequest.header("Authorization", basic);
+        }
+
+        var response = this.client.send(tokenRequest.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw failure("authenticate to " + this.baseUrl, response);
+        }
+        var token = MAPPER.readTree(response.body());
+        var value = token.hasNonNull("token") ? token.get("token").asText() : token.path("access_token").asText(null);
+        if (value == null) {
+            return false;
+        }
+        this.authorization = "Bearer " + value;
+        return true;
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            return "sha256:" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static IllegalStateException failure(String action, HttpResponse<byte[]> response) {
+        var body = new String(response.body(), StandardCharsets.UTF_8);
+        return new IllegalStateException("Failed to " + action + ": HTTP " + response.statusCode() + (body.isBlank() ? "" : ", " + body));
+    }
+
+    /**
+     * A registry, repository and tag parsed from an image reference, with the defaults of the Docker CLI: Docker Hub
+     * when the first component isn't a host, the {@code library} namespace for official images, and the
+     * {@code latest} tag.
+     */
+    record Reference(String registry, String repository, String tag) {
+        static Reference parse(String image) {
+            var reference = image.contains("://") ? image.substring(image.indexOf("://") + 3) : image;
+            var digest = reference.indexOf('@');
+            if (digest >= 0) {
+                reference = reference.substring(0, digest);
+            }
+
+            var tag = "latest";
+            var colon = reference.lastIndexOf(':');
+            if (colon > reference.lastIndexOf('/')) {
+                tag = reference.substring(colon + 1);
+                reference = reference.substring(0, colon);
+            }
+
+            var slash = reference.indexOf('/');
+            if (slash >= 0) {
+                var first = reference.substring(0, slash);
+                if (first.contains(".") || first.contains(":") || first.equals("localhost")) {
+                    return new Reference(first, reference.substring(slash + 1), tag);
+                }
+            }
+            return new Reference("docker.io", slash >= 0 ? reference : "library/" + reference, tag);
+        }
+
+        /**
+         * Host serving the registry API, which differs from the registry name for Docker Hub.
+         */
+        String host() {
+            return "docker.io".equals(this.registry) ? "registry-1.docker.io" : this.registry;
+        }
+    }
+
+    record Descriptor(String mediaType, String digest, long size) {
+        Manifest forPlatform(String platform) {
+            if (MANIFEST_LIST.equals(this.mediaType) || OCI_INDEX.equals(this.mediaType)) {
+                throw new IllegalStateException(
+                    "The image pushed for platform " + platform + " is already a multi-platform index (" + this.digest + "), "
+                        + "which happens when the daemon uses the containerd image store; build it without `manifestList` instead"
+                );
+            }
+
+            var parts = platform.split("/");
+            var target = new LinkedHashMap<String, String>();
+            target.put("architecture", parts.length > 1 ? parts[1] : parts[0]);
+            target.put("os", parts.length > 1 ? parts[0] : "linux");
+            if (parts.length > 2) {
+                target.put("variant", parts[2]);
+            }
+            return new Manifest(this.mediaType, this.digest, this.size, target);
+        }
+    }
+
+    record Manifest(String mediaType, String digest, long size, Map<String, String> platform) {
+    }
+
+    /**
+     * Clients by registry host, sharing one HTTP client and one token per registry for the duration of a task. As with
+     * {@code docker login}, the credentials are used for their {@code registry}, or for Docker Hub when it is not set.
+     */
+    static final class Pool implements AutoCloseable {
+        private final HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).followRedirects(HttpClient.Redirect.NORMAL).build();
+        private final Map<String, RegistryClient> registries = new HashMap<>();
+        private final String registry;
+        private final String username;
+        private final String password;
+        private final String registryToken;
+
+        Pool(RunContext runContext, Credentials credentials) throws IllegalVariableEvaluationException {
+            this.registry = credentials != null ? runContext.render(credentials.getRegistry()).as(String.class).orElse(null) : null;
+            this.username = credentials != null ? runContext.render(credentials.getUsername()).as(String.class).orElse(null) : null;
+            this.password = credentials != null ? runContext.render(credentials.getPassword()).as(String.class).orElse(null) : null;
+            this.registryToken = credentials != null ? runContext.render(credentials.getRegistryToken()).as(String.class).orElse(null) : null;
+        }
+
+        RegistryClient get(Reference reference) {
+            return this.registries.computeIfAbsent(reference.host(), host -> this.authenticates(reference)
+                ? new RegistryClient(this.client, host, this.username, this.password, this.registryToken)
+                : new RegistryClient(this.client, host, null, null, null)
+            );
+        }
+
+        private boolean authenticates(Reference reference) {
+            // null for an unset registry as well as for Docker Hub, whatever the alias it is given by
+            var host = AbstractDocker.registryHostForImagePrefix(this.registry);
+            return host != null ? host.equalsIgnoreCase(reference.registry()) : "docker.io".equals(reference.registry());
+        }
+
+        @Override
+        public void close() {
+            this.client.close();
+        }
+    }
+}
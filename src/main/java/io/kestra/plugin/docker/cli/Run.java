@@ -1,10 +1,13 @@
 package io.kestra.plugin.docker.cli;
 
+import java.time.Duration;
 import java.util.*;
 
 import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.*;
 import io.kestra.core.models.tasks.runners.TaskRunner;
@@ -117,7 +120,39 @@ import static io.kestra.core.utils.Rethrow.throwFunction;
                     type: io.kestra.plugin.core.log.Log
                     message: "{{ read(outputs.docker_run_output_file.outputFiles['file.txt']) }}"
                 """
+        ),
+        @Example(
+            title = "Collect resource usage to size CPU and memory limits",
+            full = true,
+            code = """
+                id: docker_run_stats
+                namespace: company.team
+
+                tasks:
+                  - id: run
+                    type: io.kestra.plugin.docker.cli.Run
+                    containerImage: python:3.12-slim
+                    commands:
+                      - python
+                      - -c
+                      - "data = [0] * 50_000_000"
+                    collectStats: true
+                    statsInterval: PT2S
+
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "Peak memory: {{ outputs.run.vars.containerStats.memoryPeakBytes }} bytes"
+                """
         )
+    },
+    metrics = {
+        @Metric(name = "memory.peak", type = Counter.TYPE, unit = "bytes", description = "Peak memory usage of the container, when `collectStats` is enabled"),
+        @Metric(name = "memory.avg", type = Counter.TYPE, unit = "bytes", description = "Average sampled memory usage of the container, when `collectStats` is enabled"),
+        @Metric(name = "cpu.seconds", type = Counter.TYPE, unit = "seconds", description = "CPU time consumed by the container, when `collectStats` is enabled"),
+        @Metric(name = "blkio.read.bytes", type = Counter.TYPE, unit = "bytes", description = "Bytes read from block devices, when `collectStats` is enabled"),
+        @Metric(name = "blkio.write.bytes", type = Counter.TYPE, unit = "bytes", description = "Bytes written to block devices, when `collectStats` is enabled"),
+        @Metric(name = "network.rx.bytes", type = Counter.TYPE, unit = "bytes", description = "Bytes received on all container networks, when `collectStats` is enabled"),
+        @Metric(name = "network.tx.bytes", type = Counter.TYPE, unit = "bytes", description = "Bytes sent on all container networks, when `collectStats` is enabled")
     }
 )
 public class Run extends AbstractDocker implements RunnableTask<ScriptOutput>, NamespaceFilesInterface, InputFilesInterface, OutputFilesInterface {
@@ -257,11 +292,27 @@ public class Run extends AbstractDocker implements RunnableTask<ScriptOutput>, N
     @Builder.Default
     @Schema(
         title = "Wait for container exit",
-        description = "Defaults to true; set false to start and return immediately."
+        description = "Defaults to true; set false to start and return immediately. When false, the started container is exposed as `vars.container.id` so it can be awaited, followed or inspected later with the `Wait`, `Logs` and `Inspect` tasks."
     )
     @PluginProperty(group = "execution")
     private final Property<Boolean> wait = Property.ofValue(true);
 
+    @Schema(
+        title = "Collect container resource usage",
+        description = "When true, samples the container stats while the task runs and reports peak/average memory, CPU seconds, block I/O and network bytes as metrics and under `vars.containerStats`. Defaults to false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> collectStats = Property.ofValue(false);
+
+    @Schema(
+        title = "Stats sampling interval",
+        description = "Delay between two one-shot stats requests when `collectStats` is enabled; larger values lower the daemon overhead but may miss short memory peaks. Defaults to 5 seconds."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> statsInterval = Property.ofValue(Duration.ofSeconds(5));
+
     @Override
     public ScriptOutput run(RunContext runContext) throws Exception {
         String image = runContext.render(this.containerImage).as(String.class).orElseThrow();
@@ -273,10 +324,12 @@ public class Run extends AbstractDocker implements RunnableTask<ScriptOutput>, N
         if (registryHost != null && !image.startsWith(registryHost)) {
             image = String.join("/", registryHost, image);
         }
+
+        var rHost = runContext.render(this.host).as(String.class).orElse(null);
         TaskRunner<Docker.DockerTaskRunnerDetailResult> taskRunner = Docker
             .builder()
             .type(Docker.class.getName())
-            .host(runContext.render(this.host).as(String.class).orElse(null))
+            .host(rHost)
             .config(this.config)
             .credentials(this.credentials)
             .user(runContext.render(this.user).as(String.class).orElse(null))
@@ -304,6 +357,66 @@ public class Run extends AbstractDocker implements RunnableTask<ScriptOutput>, N
             .withOutputFiles(renderedOutputFiles.isEmpty() ? null : renderedOutputFiles)
             .withCommands(this.commands);
 
-        return commandWrapper.run();
+        // the Docker task runner removes the container once it has waited for it, so only a started container has a handle
+        var rWait = runContext.render(this.wait).as(Boolean.class).orElse(true);
+        if (!runContext.render(this.collectStats).as(Boolean.class).orElse(false)) {
+            var output = commandWrapper.run();
+            return rWait ? output : withContainerHandle(output, rHost);
+        }
+
+        var rStatsInterval = runContext.render(this.statsInterval).as(Duration.class).orElse(Duration.ofSeconds(5));
+        try (var collector = new ContainerStatsCollector(runContext, DockerService.client(runContext, rHost, this.config, this.credentials, null), rStatsInterval)) {
+            collector.start();
+            ScriptOutput output = commandWrapper.run();
+            if (!rWait) {
+                output = withContainerHandle(output, rHost);
+            }
+
+            var usage = collector.stop(containerId(output));
+            if (usage == null) {
+                runContext.logger().warn("No container stats could be sampled, the container may have exited before the first sample");
+                return output;
+            }
+
+            usage.emitMetrics(runContext);
+            return withVars(output, Map.of("containerStats", usage.toMap()));
+        }
+    }
+
+    /**
+     * Exposes the started container under {@code vars.container} so that {@link Wait}, {@link Logs},
+     * {@link Inspect} or {@link Stop} can target it later, after a run with {@code wait: false}.
+     */
+    private static ScriptOutput withContainerHandle(ScriptOutput output, String host) {
+        var containerId = containerId(output);
+        if (containerId == null) {
+            return output;
+        }
+
+        var handle = new HashMap<String, Object>();
+        handle.put("id", containerId);
+        if (host != null) {
+            handle.put("host", host);
+        }
+        return withVars(output, Map.of("container", handle));
+    }
+
+    private static String containerId(ScriptOutput output) {
+        return output.getTaskRunner() instanceof Docker.DockerTaskRunnerDetailResult detailResult ? detailResult.getContainerId() : null;
+    }
+
+    static ScriptOutput withVars(ScriptOutput output, Map<String, Object> extraVars) {
+        var vars = new HashMap<String, Object>(output.getVars() != null ? output.getVars() : Map.of());
+        vars.putAll(extraVars);
+
+        return ScriptOutput.builder()
+            .vars(vars)
+            .exitCode(output.getExitCode())
+            .outputFiles(output.getOutputFiles())
+            .stdOutLineCount(output.getStdOutLineCount())
+            .stdErrLineCount(output.getStdErrLineCount())
+            .warningOnStdErr(output.getWarningOnStdErr())
+            .taskRunner(output.getTaskRunner())
+            .build();
     }
 }
@@ -0,0 +1,134 @@
+package io.kestra.plugin.docker.cli;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import com.github.dockerjava.api.command.WaitContainerResultCallback;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.scripts.runner.docker.DockerService;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Wait for a Docker container to exit",
+    description = "Blocks until the container exits and returns its exit code. Pair it with `Run` and `wait: false` to start a container early and collect its result later in the flow. Fails on a non-zero exit code unless `failOnNonZeroExit` is false."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Start a container in the background and wait for it later",
+            full = true,
+            code = """
+                id: docker_wait
+                namespace: company.team
+
+                tasks:
+                  - id: start
+                    type: io.kestra.plugin.docker.cli.Run
+                    containerImage: alpine:latest
+                    commands:
+                      - /bin/sh
+                      - -c
+                      - sleep 30
+                    wait: false
+
+                  - id: do_something_else
+                    type: io.kestra.plugin.core.log.Log
+                    message: Container is running in the background
+
+                  - id: wait
+                    type: io.kestra.plugin.docker.cli.Wait
+                    containerId: "{{ outputs.start.vars.container.id }}"
+                    maxDuration: PT5M
+                """
+        )
+    }
+)
+public class Wait extends AbstractDocker implements RunnableTask<Wait.Output> {
+    @Schema(
+        title = "Container ID or name",
+        description = "ID, ID prefix, or name of the container to wait for, e.g. `{{ outputs.run.vars.container.id }}`."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> containerId;
+
+    @Schema(
+        title = "Maximum wait duration",
+        description = "Fails the task when the container is still running after this duration; waits indefinitely when not set."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Duration> maxDuration;
+
+    @Schema(
+        title = "Fail on non-zero exit code",
+        description = "Defaults to true; set false to only report the exit code."
+    )
+    @Builder.Default
+    @PluginProperty(group = "reliability")
+    private Property<Boolean> failOnNonZeroExit = Property.ofValue(true);
+
+    @Schema(
+        title = "Delete container after exit",
+        description = "Defaults to false; set true to remove the container once it has exited."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> delete = Property.ofValue(false);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        var rContainerId = runContext.render(this.containerId).as(String.class).orElseThrow();
+        var rMaxDuration = runContext.render(this.maxDuration).as(Duration.class).orElse(null);
+        var start = Instant.now();
+
+        int exitCode;
+        try (var client = DockerService.client(runContext, runContext.render(this.host).as(String.class).orElse(null), this.config, this.credentials, null)) {
+            var callback = client.waitContainerCmd(rContainerId).exec(new WaitContainerResultCallback());
+            exitCode = rMaxDuration != null ?
+                callback.awaitStatusCode(rMaxDuration.toMillis(), TimeUnit.MILLISECONDS) :
+                callback.awaitStatusCode();
+
+            if (runContext.render(this.delete).as(Boolean.class).orElse(false)) {
+                client.removeContainerCmd(rContainerId).exec();
+            }
+        }
+
+        var duration = Duration.between(start, Instant.now());
+        runContext.logger().info("Container {} exited with code {} after waiting {}", rContainerId, exitCode, duration);
+
+        if (exitCode != 0 && runContext.render(this.failOnNonZeroExit).as(Boolean.class).orElse(true)) {
+            throw new IllegalStateException("Container " + rContainerId + " exited with code " + exitCode);
+        }
+
+        return Output.builder()
+            .exitCode(exitCode)
+            .waitDuration(duration)
+            .build();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Container exit code")
+        private int exitCode;
+
+        @Schema(title = "Time spent waiting for the container to exit")
+        private Duration waitDuration;
+    }
+}
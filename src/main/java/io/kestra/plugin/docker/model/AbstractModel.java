@@ -4,21 +4,34 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
-import io.kestra.core.http.HttpRequest;
-import io.kestra.core.http.client.HttpClient;
-import io.kestra.core.http.client.HttpClientException;
-import io.kestra.core.http.client.configurations.HttpConfiguration;
-import io.kestra.core.http.client.configurations.TimeoutConfiguration;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -31,93 +44,379 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 public abstract class AbstractModel extends Task {
 
-    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
-    // Idle timeout between reads, not a total cap. Fine for long Pull streams while data keeps flowing.
-    private static final Duration READ_IDLE_TIMEOUT = Duration.ofSeconds(60);
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    private static final String HTTPCLIENT5_CONNECT_TIMEOUT = "org.apache.hc.client5.http.ConnectTimeoutException";
+
+    // wait for response headers under a request deadline
+    private static final ExecutorService RESPONSE_WAITERS = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("docker-model-runner-request-", 0).factory()
+    );
 
     @Schema(
         title = "Docker Model Runner host",
-        description = "Base URL of the Docker Model Runner REST API. Override when DMR is exposed on a non-default address."
+        description = """
+            Base URL of the Docker Model Runner REST API. Override when DMR is exposed on a non-default address.
+            A `unix://` socket path avoids the TCP hops on the worker host: `unix:///var/run/docker.sock` goes through the Docker engine,
+            which serves DMR under `/exp/vDD4.40`; any path after the `.sock` file replaces that prefix, e.g. `unix:///run/dmr.sock` for a socket served by DMR itself.
+            """
     )
     @PluginProperty(group = "connection")
     @Builder.Default
     protected Property<String> host = Property.ofValue("http://localhost:12434");
 
+    @Schema(
+        title = "Connection timeout",
+        description = "How long to wait for the TCP connection to DMR to be established."
+    )
+    @PluginProperty(group = "connection")
+    @Builder.Default
+    protected Property<Duration> connectTimeout = Property.ofValue(Duration.ofSeconds(10));
+
+    @Schema(
+        title = "Read idle timeout",
+        description = """
+            How long to wait for the next bytes of a response, not a cap on the whole response: long pulls and streamed completions keep going
+            while data flows. Raise it when DMR takes longer than that to load a large model before answering.
+            """
+    )
+    @PluginProperty(group = "connection")
+    @Builder.Default
+    protected Property<Duration> readIdleTimeout = Property.ofValue(Duration.ofSeconds(60));
+
+    @Schema(
+        title = "Deadline of each request attempt",
+        description = """
+            Maximum time for one attempt of a request, from sending it to reading the last byte of its response, including the wait for DMR to
+            start answering, e.g. while it loads a model. Once reached, the connection is closed and the attempt fails, even if DMR is still
+            sending data slowly. This is not a total deadline: each retry gets its own, so use the task `timeout` to bound the task as a whole.
+            No deadline by default.
+            """
+    )
+    @PluginProperty(group = "connection")
+    protected Property<Duration> requestDeadline;
+
+    @Schema(
+        title = "Maximum number of retries of idempotent requests",
+        description = """
+            Requests that only read, and model pulls, which DMR resumes from the layers it already has, are sent again after a transport failure
+            or a `429`, `502`, `503` or `504` response. Inference requests are never retried by this setting. `0` disables retries.
+            """
+    )
+    @PluginProperty(group = "reliability")
+    @Builder.Default
+    protected Property<Integer> maxRetries = Property.ofValue(3);
+
+    @Schema(
+        title = "Delay before the first retry",
+        description = "Doubled at each retry up to `maxRetryDelay`, with jitter so that retries from several tasks spread out."
+    )
+    @PluginProperty(group = "reliability")
+    @Builder.Default
+    protected Property<Duration> retryDelay = Property.ofValue(Duration.ofSeconds(1));
+
+    @Schema(title = "Maximum delay between retries")
+    @PluginProperty(group = "reliability")
+    @Builder.Default
+    protected Property<Duration> maxRetryDelay = Property.ofValue(Duration.ofSeconds(30));
+
     protected String resolvedHost(RunContext runContext) throws IllegalVariableEvaluationException {
         var rHost = runContext.render(this.host).as(String.class).orElse("http://localhost:12434");
         return rHost.endsWith("/") ? rHost.substring(0, rHost.length() - 1) : rHost;
     }
 
-    private HttpClient httpClient(RunContext runContext) throws IllegalVariableEvaluationException {
-        return HttpClient.builder()
-            .runContext(runContext)
-            .configuration(
-                HttpConfiguration.builder()
-                    .timeout(
-                        TimeoutConfiguration.builder()
-                            .connectTimeout(Property.ofValue(CONNECT_TIMEOUT))
-                            .readIdleTimeout(Property.ofValue(READ_IDLE_TIMEOUT))
-                            .build()
-                    )
-                    .build()
-            )
-            .build();
-    }
-
     /**
      * Executes a request and returns the response body. On a transport failure or a non-2xx
-     * response, wraps Kestra's exception (which already carries DMR's status code and body) into
-     * an actionable message naming the attempted action.
+     * response, throws an actionable message naming the attempted action and carrying DMR's
+     * status code and body. Connections come from the pool shared by the worker for this host.
+     * {@code GET} requests are retried as configured, see {@link #withRetry}.
+     *
+     * @param jsonBody request payload serialized as JSON, or {@code null} for no body
      */
-    protected <T> T execute(RunContext runContext, HttpRequest request, Class<T> responseType, String action) throws IllegalVariableEvaluationException, IOException {
-        try (var client = this.httpClient(runContext)) {
-            return client.request(request, responseType).getBody();
-        } catch (HttpClientException e) {
-            throw failure(action, e);
-        } catch (RuntimeException e) {
-            throw rethrowAsFailureIfTransport(action, e);
+    protected String execute(RunContext runContext, String method, String path, Object jsonBody, String action) throws IllegalVariableEvaluationException, IOException {
+        if ("GET".equals(method)) {
+            return this.withRetry(runContext, action, () -> this.executeOnce(runContext, method, path, jsonBody, action));
         }
+        return this.executeOnce(runContext, method, path, jsonBody, action);
+    }
+
+    private String executeOnce(RunContext runContext, String method, String path, Object jsonBody, String action) throws IllegalVariableEvaluationException, IOException {
+        return this.send(runContext, method, path, jsonBody, action, response ->
+        {
+            var body = new String(response.body().readAllBytes(), StandardCharsets.UTF_8);
+            if (response.statusCode() / 100 != 2) {
+                throw failure(action, response.statusCode(), body);
+            }
+            return body;
+        });
     }
 
     /**
      * Executes a request and streams the response body line by line, closing the underlying
      * stream once fully consumed. Suited to newline-delimited progress payloads (e.g. Pull).
      */
-    protected void executeStreaming(RunContext runContext, HttpRequest request, Consumer<String> lineConsumer, String action) throws IllegalVariableEvaluationException, IOException {
-        try (var client = this.httpClient(runContext)) {
-            client.request(request, response -> readLines(response.getBody(), lineConsumer));
-        } catch (HttpClientException e) {
-            throw failure(action, e);
+    protected void executeStreaming(RunContext runContext, String method, String path, Object jsonBody, Consumer<String> lineConsumer, String action) throws IllegalVariableEvaluationException, IOException {
+        this.executeStreamingBody(runContext, method, path, jsonBody, body -> readLines(body, lineConsumer), action);
+    }
+
+    /**
+     * Executes a request and hands the raw response body to the given reader, closing the underlying stream once it
+     * returns. Lets high-rate payloads be parsed straight from the stream rather than through a String per line.
+     */
+    protected void executeStreamingBody(RunContext runContext, String method, String path, Object jsonBody, BodyReader bodyReader, String action) throws IllegalVariableEvaluationException, IOException {
+        this.send(runContext, method, path, jsonBody, action, response ->
+        {
+            if (response.statusCode() / 100 != 2) {
+                var body = new String(response.body().readAllBytes(), StandardCharsets.UTF_8);
+                throw failure(action, response.statusCode(), body);
+            }
+            bodyReader.read(response.body());
+            return null;
+        });
+    }
+
+    /**
+     * Sends a request with the configured timeouts and hands the response to the given handler. When a
+     * {@link #requestDeadline} is set, the response is closed once it is reached, which unblocks a handler waiting on
+     * a slow stream; the request then fails with a {@link TimeoutException} cause, which is not retried. Transport
+     * failures are turned into actionable messages, and timeouts are counted in the {@code timeouts} metric by cause.
+     */
+    private <T> T send(RunContext runContext, String method, String path, Object jsonBody, String action, ResponseHandler<T> handler) throws IllegalVariableEvaluationException, IOException {
+        var rHost = resolvedHost(runContext);
+        var rConnectTimeout = runContext.render(this.connectTimeout).as(Duration.class).orElse(Duration.ofSeconds(10));
+        var rReadIdleTimeout = runContext.render(this.readIdleTimeout).as(Duration.class).orElse(Duration.ofSeconds(60));
+        var rRequestDeadline = runContext.render(this.requestDeadline).as(Duration.class).orElse(null);
+
+        var expired = new AtomicBoolean();
+        var current = new AtomicReference<ModelRunnerClients.Response>();
+        var deadlineAt = rRequestDeadline == null ? 0L : System.nanoTime() + rRequestDeadline.toNanos();
+        var deadline = rRequestDeadline == null ? null : ModelRunnerClients.schedule(() ->
+        {
+            expired.set(true);
+            closeQuietly(current.get());
+        }, rRequestDeadline);
+
+        try (
+            var lease = ModelRunnerClients.acquire(rHost, rConnectTimeout, rReadIdleTimeout);
+            var response = awaitResponse(lease, method, path, jsonBody != null ? MAPPER.writeValueAsBytes(jsonBody) : null, rRequestDeadline != null ? deadlineAt : null, expired)
+        ) {
+            current.set(response);
+            // the deadline may have passed while waiting for the response headers
+            if (expired.get()) {
+                throw deadlineExceeded(runContext, action, rRequestDeadline);
+            }
+            return handler.handle(response);
         } catch (UncheckedIOException e) {
-            throw failure(action, e.getCause());
+            throwIfCancelled(e.getCause());
+            throw expired.get() ? deadlineExceeded(runContext, action, rRequestDeadline) : transportFailure(runContext, action, e.getCause());
+        } catch (IOException e) {
+            throwIfCancelled(e);
+            throw expired.get() ? deadlineExceeded(runContext, action, rRequestDeadline) : transportFailure(runContext, action, e);
         } catch (RuntimeException e) {
-            throw rethrowAsFailureIfTransport(action, e);
+            // once the response is closed, whatever the handler fails with, e.g. a truncated payload, is a consequence of the deadline
+            if (expired.get() && !(e.getCause() instanceof TimeoutException)) {
+                throw deadlineExceeded(runContext, action, rRequestDeadline);
+            }
+            if (e.getClass() == RuntimeException.class && e.getCause() instanceof IOException cause) {
+                throwIfCancelled(cause);
+                throw transportFailure(runContext, action, cause);
+            }
+            throw e;
+        } finally {
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Sends a request and waits for its response headers, at most until the deadline if there is one: while DMR loads a
+     * large model, it may not answer for longer than the read idle timeout users raise for that. The wait then happens
+     * on a virtual thread, and a response arriving after the deadline is closed as soon as it comes.
+     *
+     * @param deadlineAt {@link System#nanoTime()} at which the request expires, or {@code null} for no deadline
+     */
+    private static ModelRunnerClients.Response awaitResponse(ModelRunnerClients.Lease lease, String method, String path, byte[] body, Long deadlineAt, AtomicBoolean expired) throws IOException {
+        if (deadlineAt == null) {
+            return lease.execute(method, path, body);
+        }
+
+        var pending = CompletableFuture.supplyAsync(() ->
+        {
+            try {
+                return lease.execute(method, path, body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, RESPONSE_WAITERS);
+        try {
+            return pending.get(deadlineAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            expired.set(true);
+            pending.thenAccept(AbstractModel::closeQuietly);
+            throw new InterruptedIOException("No response to " + method + " " + path + " within the request deadline");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException transport) {
+                throw transport.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.thenAccept(AbstractModel::closeQuietly);
+            throw new InterruptedIOException("Interrupted while waiting for the response to " + method + " " + path);
+        }
+    }
+
+    /**
+     * Runs an idempotent call, running it again after a transport failure or a response telling that DMR or a proxy in
+     * front of it is temporarily unavailable, up to {@link #maxRetries} times with a jittered exponential backoff.
+     * Each retry is logged and counted in the {@code retries} metric.
+     */
+    protected <T> T withRetry(RunContext runContext, String action, Call<T> call) throws IllegalVariableEvaluationException, IOException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return call.call();
+            } catch (IllegalStateException e) {
+                if (!isRetryable(e)) {
+                    throw e;
+                }
+
+                // only rendered once something failed, as most calls succeed at once
+                var rMaxRetries = runContext.render(this.maxRetries).as(Integer.class).orElse(3);
+                if (attempt >= rMaxRetries) {
+                    throw e;
+                }
+                var delay = jitteredBackoff(
+                    runContext.render(this.retryDelay).as(Duration.class).orElse(Duration.ofSeconds(1)),
+                    runContext.render(this.maxRetryDelay).as(Duration.class).orElse(Duration.ofSeconds(30)),
+                    attempt
+                );
+
+                runContext.logger().warn("Unable to {}, retrying in {} ({}/{}): {}", action, delay, attempt + 1, rMaxRetries, e.getMessage());
+                runContext.metric(Counter.of("retries", 1));
+                try {
+                    Thread.sleep(delay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
         }
     }
 
     /**
-     * Core's HttpClient rethrows some transport IOExceptions (read timeout, connection closed before
-     * a response) as a bare RuntimeException wrapping the IOException. Wrap only that exact shape, so
-     * real programming errors like NPE are left untouched.
+     * Transport failures and {@code 429}, {@code 502}, {@code 503} and {@code 504} responses are worth another
+     * attempt; other responses, invalid payloads and exceeded deadlines would fail the same way again.
+     */
+    static boolean isRetryable(IllegalStateException e) {
+        if (e instanceof ModelRunnerException response) {
+            return response.isOverloaded() || response.statusCode() == 502 || response.statusCode() == 504;
+        }
+        return e.getCause() instanceof IOException && !(e.getCause() instanceof JsonProcessingException);
+    }
+
+    /**
+     * Exponential backoff capped to {@code max}, with equal jitter: a random delay between half and the whole of the
+     * backoff, so that requests failing together don't come back together.
+     */
+    static Duration jitteredBackoff(Duration initial, Duration max, int attempt) {
+        var exponential = initial.multipliedBy(1L << Math.min(attempt, 20));
+        var capped = exponential.compareTo(max) > 0 ? max : exponential;
+        return Duration.ofMillis((long) (capped.toMillis() * ThreadLocalRandom.current().nextDouble(0.5, 1.0)));
+    }
+
+    /**
+     * A request, or a sequence of requests, that can be run again.
+     */
+    @FunctionalInterface
+    protected interface Call<T> {
+        T call() throws IllegalVariableEvaluationException, IOException;
+    }
+
+    /**
+     * Wraps a transport failure into an actionable message. The docker-java transport of unix sockets rethrows
+     * transport IOExceptions (read timeout, connection closed before a response) as a bare RuntimeException wrapping
+     * the IOException, which callers unwrap first so that real programming errors like NPE are left untouched.
      */
-    private static RuntimeException rethrowAsFailureIfTransport(String action, RuntimeException e) {
-        if (e.getClass() == RuntimeException.class && e.getCause() instanceof IOException cause) {
-            return failure(action, cause);
+    private static IllegalStateException transportFailure(RunContext runContext, String action, IOException cause) {
+        var timeout = timeoutCause(cause);
+        if (timeout != null) {
+            runContext.metric(Counter.of("timeouts", 1, "cause", timeout));
         }
-        return e;
+        return failure(action, cause);
     }
 
-    private static void readLines(InputStream inputStream, Consumer<String> lineConsumer) {
+    /**
+     * @return the {@code cause} tag of the {@code timeouts} metric for the given transport failure, or {@code null} if
+     * it isn't a timeout
+     */
+    static String timeoutCause(IOException cause) {
+        // the JDK client has its own timeout exceptions, while httpclient5 reports connect timeouts with a subclass of
+        // InterruptedIOException, the same base class as a thread interruption, and read timeouts as is
+        if (cause instanceof HttpConnectTimeoutException || HTTPCLIENT5_CONNECT_TIMEOUT.equals(cause.getClass().getName())) {
+            return "connect";
+        }
+        if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException) {
+            return "idle";
+        }
+        return null;
+    }
+
+    /**
+     * A request interrupted because the task is killed is neither a timeout nor worth a retry: the IOException is
+     * rethrown as is rather than as a transport failure.
+     */
+    private static void throwIfCancelled(IOException cause) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw cause;
+        }
+    }
+
+    private static IllegalStateException deadlineExceeded(RunContext runContext, String action, Duration deadline) {
+        runContext.metric(Counter.of("timeouts", 1, "cause", "deadline"));
+        return failure(action, new TimeoutException("no complete response within the request deadline of " + deadline));
+    }
+
+    private static void closeQuietly(ModelRunnerClients.Response response) {
+        if (response == null) {
+            return;
+        }
+        try {
+            response.close();
+        } catch (Exception e) {
+            // the reading side fails anyway
+        }
+    }
+
+    private static void readLines(InputStream inputStream, Consumer<String> lineConsumer) throws IOException {
         try (var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 lineConsumer.accept(line);
             }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
         }
     }
 
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        T handle(ModelRunnerClients.Response response) throws IOException;
+    }
+
+    /**
+     * Reads a streamed response body.
+     */
+    @FunctionalInterface
+    protected interface BodyReader {
+        void read(InputStream body) throws IOException;
+    }
+
+    private static ModelRunnerException failure(String action, int statusCode, String body) {
+        return new ModelRunnerException("Failed to " + action + " on Docker Model Runner: HTTP " + statusCode + (body.isBlank() ? "" : ", " + body), statusCode);
+    }
+
     private static IllegalStateException failure(String action, Exception cause) {
         return new IllegalStateException("Failed to " + action + " on Docker Model Runner: " + cause.getMessage(), cause);
     }
@@ -0,0 +1,76 @@
+package io.kestra.plugin.docker.model;
+
+/**
+ * Additive-increase, multiplicative-decrease limit on the number of requests in flight.
+ * <p>
+ * The limit grows by one each time a full window of requests completes without latency growth, and is halved when the
+ * server sheds load or latency doubles compared to the fastest recent request, a sign that requests are queuing in
+ * the model runner rather than being processed in parallel.
+ */
+final class AdaptiveConcurrency {
+    private static final double LATENCY_GROWTH_FACTOR = 2.0;
+    // lets the baseline follow slower but stable latencies, e.g. longer prompts later in the file
+    private static final double BASELINE_DRIFT = 1.01;
+
+    private final int max;
+    private int limit;
+    private int successes;
+    private int cooldown;
+    private double baselineNanos = -1;
+    private int peak;
+    private int decreases;
+
+    AdaptiveConcurrency(int initial, int max) {
+        this.max = max;
+        this.limit = Math.max(1, Math.min(initial, max));
+        this.peak = this.limit;
+    }
+
+    synchronized int limit() {
+        return this.limit;
+    }
+
+    synchronized int peak() {
+        return this.peak;
+    }
+
+    synchronized int decreases() {
+        return this.decreases;
+    }
+
+    synchronized void onSuccess(long latencyNanos) {
+        this.baselineNanos = this.baselineNanos < 0 ? latencyNanos : Math.min(latencyNanos, this.baselineNanos * BASELINE_DRIFT);
+
+        if (this.cooldown > 0) {
+            this.cooldown--;
+            return;
+        }
+
+        if (latencyNanos > this.baselineNanos * LATENCY_GROWTH_FACTOR && this.limit > 1) {
+            this.decrease();
+            return;
+        }
+
+        if (++this.successes >= this.limit) {
+            this.successes = 0;
+            if (this.limit < this.max) {
+                this.limit++;
+                this.peak = Math.max(this.peak, this.limit);
+            }
+        }
+    }
+
+    synchronized void onOverload() {
+        if (this.cooldown == 0) {
+            this.decrease();
+        }
+    }
+
+    private void decrease() {
+        this.limit = Math.max(1, this.limit / 2);
+        this.successes = 0;
+        // requests already in flight were sent under the previous limit, ignore their signals
+        this.cooldown = this.limit * 2;
+        this.decreases++;
+    }
+}
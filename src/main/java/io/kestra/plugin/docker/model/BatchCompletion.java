@@ -0,0 +1,475 @@
+package io.kestra.plugin.docker.model;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Run a chat completion for each row of a file with Docker Model Runner",
+    description = """
+        Reads an ION or CSV file from internal storage row by row, renders `prompt` for each row with the row available as `row`, and sends the prompts concurrently to the OpenAI-compatible chat completions endpoint of Docker Model Runner (DMR).
+        Results are streamed to an ION output file in input order: record rows get a `completion` field added, scalar rows become `{text, completion}` records.
+
+        Concurrency adapts to the model runner: it grows while latency stays stable, and is halved when latency doubles or the server answers `429` or `503`, in which case the request is sent again after a backoff.
+
+        Progress is checkpointed every `checkpointInterval` rows. When the task is retried or the execution restarted, completed rows are kept and the task resumes after the last checkpoint instead of starting over.
+        """
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Classify support tickets stored in a CSV file",
+            full = true,
+            code = """
+                id: docker_model_batch_completion
+                namespace: company.team
+
+                inputs:
+                  - id: tickets
+                    type: FILE
+
+                tasks:
+                  - id: classify
+                    type: io.kestra.plugin.docker.model.BatchCompletion
+                    model: ai/smollm2
+                    from: "{{ inputs.tickets }}"
+                    format: CSV
+                    systemMessage: Answer with a single word among billing, bug, feature or other.
+                    prompt: "Classify this ticket: {{ row.subject }} - {{ row.body }}"
+                    maxTokens: 4
+                    maxConcurrency: 16
+                    retry:
+                      type: constant
+                      interval: PT1M
+                      maxAttempts: 3
+                """
+        )
+    },
+    metrics = {
+        @Metric(name = "rows", type = Counter.TYPE, unit = "rows", description = "Number of rows completed during this attempt"),
+        @Metric(name = "rows.resumed", type = Counter.TYPE, unit = "rows", description = "Number of rows restored from a checkpoint"),
+        @Metric(name = "rows.per.second", type = Counter.TYPE, unit = "rows/s", description = "Throughput of this attempt"),
+        @Metric(name = "throttled", type = Counter.TYPE, unit = "requests", description = "Requests answered with 429 or 503 and sent again"),
+        @Metric(name = "concurrency.peak", type = Counter.TYPE, unit = "requests", description = "Highest concurrency reached"),
+        @Metric(name = "prompt.tokens", type = Counter.TYPE, unit = "tokens", description = "Prompt tokens, as reported by the server"),
+        @Metric(name = "completion.tokens", type = Counter.TYPE, unit = "tokens", description = "Generated tokens, as reported by the server"),
+        @Metric(name = "latency.p50", type = Timer.TYPE, description = "Median request latency"),
+        @Metric(name = "latency.p95", type = Timer.TYPE, description = "95th percentile request latency"),
+        @Metric(name = "latency.p99", type = Timer.TYPE, description = "99th percentile request latency"),
+        @Metric(name = "timeouts", type = Counter.TYPE, description = "Number of requests that timed out, tagged by `cause`: `connect`, `idle` or `deadline`")
+    }
+)
+public class BatchCompletion extends AbstractModel implements RunnableTask<BatchCompletion.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final String STATE_NAME = "docker-model-batch-completion";
+    private static final int MAX_OVERLOAD_RETRIES = 8;
+    private static final Duration BACKOFF_BASE = Duration.ofMillis(500);
+    private static final Duration BACKOFF_MAX = Duration.ofSeconds(30);
+
+    @Schema(
+        title = "Model identifier",
+        description = "The model to run, e.g. `ai/smollm2`."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> model;
+
+    @Schema(
+        title = "Input file",
+        description = "Internal storage URI of an ION or CSV file."
+    )
+    @NotNull
+    @PluginProperty(internalStorageURI = true, group = "source")
+    private Property<String> from;
+
+    @Schema(
+        title = "Input file format",
+        description = "Inferred from the file extension when not set: `.csv` files are read as CSV, anything else as ION."
+    )
+    @PluginProperty(group = "source")
+    private Property<InputFormat> format;
+
+    @Schema(
+        title = "Prompt template",
+        description = "Rendered for each row, with the row available as `row`, e.g. `Classify: {{ row.text }}`. Scalar rows are available as they are."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> prompt;
+
+    @Schema(title = "System message sent before each prompt")
+    @PluginProperty(group = "main")
+    private Property<String> systemMessage;
+
+    @Schema(title = "Sampling temperature")
+    @PluginProperty(group = "advanced")
+    private Property<Double> temperature;
+
+    @Schema(title = "Maximum number of tokens to generate per row")
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxTokens;
+
+    @Schema(title = "Number of requests in flight at start")
+    @Min(1)
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> initialConcurrency = Property.ofValue(2);
+
+    @Schema(title = "Maximum number of requests in flight")
+    @Min(1)
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> maxConcurrency = Property.ofValue(8);
+
+    @Schema(
+        title = "Number of rows between two checkpoints",
+        description = "Lower values lose less work on failure, at the cost of more internal storage writes."
+    )
+    @Min(1)
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> checkpointInterval = Property.ofValue(500);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        var rModel = runContext.render(this.model).as(String.class)
+            .orElseThrow(() -> new IllegalArgumentException("The `model` property is required, e.g. `ai/smollm2`."));
+        var rFrom = URI.create(runContext.render(this.from).as(String.class).orElseThrow());
+        var rFormat = runContext.render(this.format).as(InputFormat.class).orElse(null);
+        var rSystemMessage = runContext.render(this.systemMessage).as(String.class).orElse(null);
+        var rTemperature = runContext.render(this.temperature).as(Double.class).orElse(null);
+        var rMaxTokens = runContext.render(this.maxTokens).as(Integer.class).orElse(null);
+        var rCheckpointInterval = runContext.render(this.checkpointInterval).as(Integer.class).orElse(500);
+        var controller = new AdaptiveConcurrency(
+            runContext.render(this.initialConcurrency).as(Integer.class).orElse(2),
+            runContext.render(this.maxConcurrency).as(Integer.class).orElse(8)
+        );
+
+        var stateKey = this.stateKey(runContext, rModel, rFrom);
+        var progress = new Progress(runContext, stateKey, loadCheckpoint(runContext, stateKey), rCheckpointInterval);
+        var resumed = progress.rowsDone;
+        if (resumed > 0) {
+            runContext.logger().info("Resuming after {} row(s) completed by a previous attempt", resumed);
+        }
+
+        var throttled = new AtomicInteger();
+        var start = System.nanoTime();
+
+        try (
+            var rows = InputRows.open(runContext, rFrom, rFormat);
+            var executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            var window = new ArrayDeque<Future<Completed>>();
+            var index = 0L;
+
+            try {
+                for (Object row : rows) {
+                    if (index++ < resumed) {
+                        continue;
+                    }
+
+                    var messages = new ArrayList<ChatCompletion.ChatMessage>(2);
+                    if (rSystemMessage != null) {
+                        messages.add(new ChatCompletion.ChatMessage(ChatCompletion.ChatMessage.Role.SYSTEM, rSystemMessage));
+                    }
+                    // a null ION line is kept as a null row, Map.of rejects null values
+                    var rPrompt = runContext.render(this.prompt).skipCache().as(String.class, Collections.singletonMap("row", row)).orElseThrow();
+                    messages.add(new ChatCompletion.ChatMessage(ChatCompletion.ChatMessage.Role.USER, rPrompt));
+
+                    while (window.size() >= controller.limit()) {
+                        progress.write(await(window.poll()));
+                    }
+                    window.add(this.submit(runContext, executor, controller, throttled, row, index - 1, ChatCompletions.body(rModel, messages, rTemperature, rMaxTokens)));
+                }
+
+                while (!window.isEmpty()) {
+                    progress.write(await(window.poll()));
+                }
+            } catch (Exception e) {
+                // keep what completed in order so that a retry resumes from there, without hiding why the run failed
+                try {
+                    progress.checkpoint();
+                } catch (Exception checkpointException) {
+                    e.addSuppressed(checkpointException);
+                }
+                throw e;
+            }
+        }
+
+        var uri = progress.complete();
+        var completed = progress.rowsDone - resumed;
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        var rowsPerSecond = elapsed.isZero() ? 0d : completed / (elapsed.toNanos() / 1_000_000_000d);
+        var histogram = LatencyHistogram.of(progress.latencies);
+
+        runContext.metric(Counter.of("rows", completed));
+        runContext.metric(Counter.of("rows.resumed", resumed));
+        runContext.metric(Counter.of("rows.per.second", rowsPerSecond));
+        runContext.metric(Counter.of("throttled", throttled.get()));
+        runContext.metric(Counter.of("concurrency.peak", controller.peak()));
+        runContext.metric(Counter.of("prompt.tokens", progress.promptTokens));
+        runContext.metric(Counter.of("completion.tokens", progress.completionTokens));
+        if (histogram != null) {
+            runContext.metric(Timer.of("latency.p50", histogram.getP50()));
+            runContext.metric(Timer.of("latency.p95", histogram.getP95()));
+            runContext.metric(Timer.of("latency.p99", histogram.getP99()));
+        }
+
+        runContext.logger().info(
+            "Completed {} row(s) with {} in {} ({} rows/s, peak concurrency {}, {} throttled request(s))",
+            completed, rModel, elapsed, String.format("%.1f", rowsPerSecond), controller.peak(), throttled.get()
+        );
+
+        return Output.builder()
+            .uri(uri)
+            .rowCount(progress.rowsDone)
+            .resumedRowCount(resumed)
+            .rowsPerSecond(rowsPerSecond)
+            .peakConcurrency(controller.peak())
+            .throttledCount(throttled.get())
+            .promptTokens(progress.promptTokens)
+            .completionTokens(progress.completionTokens)
+            .latency(histogram)
+            .build();
+    }
+
+    private Future<Completed> submit(
+        RunContext runContext,
+        ExecutorService executor,
+        AdaptiveConcurrency controller,
+        AtomicInteger throttled,
+        Object row,
+        long index,
+        Map<String, Object> body
+    ) {
+        return executor.submit(() ->
+        {
+            for (int attempt = 0; ; attempt++) {
+                var start = System.nanoTime();
+                try {
+                    var response = this.execute(runContext, "POST", ChatCompletions.PATH, body, "complete row " + index);
+                    var latency = System.nanoTime() - start;
+                    controller.onSuccess(latency);
+                    return new Completed(row, ChatCompletions.parse(response, Duration.ofNanos(latency)), latency);
+                } catch (ModelRunnerException e) {
+                    if (!e.isOverloaded() || attempt >= MAX_OVERLOAD_RETRIES) {
+                        throw e;
+                    }
+                    controller.onOverload();
+                    throttled.incrementAndGet();
+                    Thread.sleep(backoff(attempt).toMillis());
+                }
+            }
+        });
+    }
+
+    private static Duration backoff(int attempt) {
+        return jitteredBackoff(BACKOFF_BASE, BACKOFF_MAX, attempt);
+    }
+
+    private static Completed await(Future<Completed> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Identifies the checkpoint of this task run: the same execution, task and iteration over the same input, model and
+     * prompt, so that an edited flow never resumes from stale results.
+     */
+    private String stateKey(RunContext runContext, String rModel, URI rFrom) throws Exception {
+        var digest = MessageDigest.getInstance("SHA-256");
+        for (Object part : java.util.List.of(
+            Objects.toString(runContext.getVariables().get("execution") instanceof Map<?, ?> execution ? execution.get("id") : null),
+            this.getId(),
+            Objects.toString(runContext.getVariables().get("taskrun") instanceof Map<?, ?> taskrun ? taskrun.get("value") : null),
+            rFrom.toString(),
+            rModel,
+            MAPPER.writeValueAsString(this.prompt),
+            MAPPER.writeValueAsString(this.systemMessage)
+        )) {
+            digest.update(part.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static Checkpoint loadCheckpoint(RunContext runContext, String stateKey) throws Exception {
+        try (var content = runContext.stateStore().getState(STATE_NAME, stateKey, null)) {
+            return content != null ? MAPPER.readValue(content, Checkpoint.class) : new Checkpoint(0, java.util.List.of());
+        } catch (FileNotFoundException e) {
+            return new Checkpoint(0, java.util.List.of());
+        }
+    }
+
+    record Checkpoint(long rowsDone, java.util.List<String> chunks) {
+    }
+
+    private record Completed(Object row, ChatCompletions.Result result, long latencyNanos) {
+    }
+
+    /**
+     * Writes completed rows in order to chunk files, uploaded and recorded in the state store at each checkpoint.
+     */
+    private static final class Progress {
+        private final RunContext runContext;
+        private final String stateKey;
+        private final int interval;
+        private final java.util.List<String> chunks;
+        private final java.util.List<Long> latencies = new ArrayList<>();
+
+        private long rowsDone;
+        private long promptTokens;
+        private long completionTokens;
+        private Path chunk;
+        private OutputStream output;
+        private int rowsInChunk;
+
+        private Progress(RunContext runContext, String stateKey, Checkpoint checkpoint, int interval) {
+            this.runContext = runContext;
+            this.stateKey = stateKey;
+            this.interval = interval;
+            this.chunks = new ArrayList<>(checkpoint.chunks());
+            this.rowsDone = checkpoint.rowsDone();
+        }
+
+        void write(Completed completed) throws Exception {
+            if (this.output == null) {
+                this.chunk = this.runContext.workingDir().createTempFile(".ion");
+                this.output = new BufferedOutputStream(Files.newOutputStream(this.chunk), FileSerde.BUFFER_SIZE);
+            }
+
+            var out = new LinkedHashMap<String, Object>();
+            if (completed.row() instanceof Map<?, ?> map) {
+                map.forEach((key, value) -> out.put(String.valueOf(key), value));
+            } else {
+                out.put("text", completed.row());
+            }
+            out.put("completion", completed.result().content());
+            FileSerde.write(this.output, out);
+
+            this.latencies.add(completed.latencyNanos());
+            this.promptTokens += completed.result().promptTokens() != null ? completed.result().promptTokens() : 0;
+            this.completionTokens += completed.result().completionTokens() != null ? completed.result().completionTokens() : 0;
+            this.rowsDone++;
+
+            if (++this.rowsInChunk >= this.interval) {
+                this.checkpoint();
+            }
+        }
+
+        void checkpoint() throws Exception {
+            if (this.output == null) {
+                return;
+            }
+
+            this.output.close();
+            this.chunks.add(this.runContext.storage().putFile(this.chunk.toFile()).toString());
+            Files.deleteIfExists(this.chunk);
+            this.output = null;
+            this.rowsInChunk = 0;
+
+            this.runContext.stateStore().putState(STATE_NAME, this.stateKey, null, MAPPER.writeValueAsBytes(new Checkpoint(this.rowsDone, this.chunks)));
+        }
+
+        /**
+         * Concatenates the chunks into the output file and drops the checkpoint.
+         */
+        URI complete() throws Exception {
+            this.checkpoint();
+
+            var result = this.runContext.workingDir().createTempFile(".ion");
+            try (var out = Files.newOutputStream(result)) {
+                for (String chunkUri : this.chunks) {
+                    try (var in = this.runContext.storage().getFile(URI.create(chunkUri))) {
+                        in.transferTo(out);
+                    }
+                }
+            }
+
+            var uri = this.runContext.storage().putFile(result.toFile());
+            this.runContext.stateStore().deleteState(STATE_NAME, this.stateKey, null);
+            return uri;
+        }
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Output of the BatchCompletion task")
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "URI of the ION file holding the rows with their `completion`")
+        private final URI uri;
+
+        @Schema(title = "Number of rows completed, including the resumed ones")
+        private final Long rowCount;
+
+        @Schema(title = "Number of rows restored from the checkpoint of a previous attempt")
+        private final Long resumedRowCount;
+
+        @Schema(title = "Throughput of this attempt in rows per second")
+        private final Double rowsPerSecond;
+
+        @Schema(title = "Highest concurrency reached")
+        private final Integer peakConcurrency;
+
+        @Schema(title = "Requests answered with 429 or 503 and sent again")
+        private final Integer throttledCount;
+
+        @Schema(title = "Prompt tokens of this attempt, as reported by the server")
+        private final Long promptTokens;
+
+        @Schema(title = "Generated tokens of this attempt, as reported by the server")
+        private final Long completionTokens;
+
+        @Schema(title = "Distribution of the request latencies of this attempt")
+        private final LatencyHistogram latency;
+    }
+}
@@ -0,0 +1,347 @@
+package io.kestra.plugin.docker.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Benchmark Docker Model Runner models",
+    description = """
+        Measures the inference latency and throughput of one or more Docker Model Runner (DMR) models on the current hardware,
+        e.g. to compare models or quantizations before rolling them out.
+        For each model, a few warm-up requests load it, then for each concurrency level, `requests` streamed chat completions are sent
+        with that many in flight, cycling through `prompts`.
+        Each level reports latency and time-to-first-token percentiles, generated tokens per second and error rate, as outputs and as metrics
+        tagged by model and concurrency. Models are benchmarked one after the other so that they don't compete for the hardware.
+        """
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Compare two quantizations of a model",
+            full = true,
+            code = """
+                id: docker_model_benchmark
+                namespace: company.team
+
+                tasks:
+                  - id: pull
+                    type: io.kestra.plugin.docker.model.Pull
+                    models:
+                      - ai/qwen3:8B-Q4_K_M
+                      - ai/qwen3:8B-F16
+                    pullPolicy: IF_NOT_PRESENT
+
+                  - id: benchmark
+                    type: io.kestra.plugin.docker.model.Benchmark
+                    models:
+                      - ai/qwen3:8B-Q4_K_M
+                      - ai/qwen3:8B-F16
+                    concurrencyLevels: [1, 4, 8]
+                    requests: 32
+                    maxTokens: 128
+                    prompts:
+                      - Summarize the plot of Hamlet in three sentences.
+                      - Write a SQL query returning the ten most recent orders.
+                """
+        )
+    },
+    metrics = {
+        @Metric(name = "latency.p50", type = Timer.TYPE, description = "Median request latency, tagged by model and concurrency"),
+        @Metric(name = "latency.p95", type = Timer.TYPE, description = "95th percentile request latency, tagged by model and concurrency"),
+        @Metric(name = "latency.p99", type = Timer.TYPE, description = "99th percentile request latency, tagged by model and concurrency"),
+        @Metric(name = "ttft.p50", type = Timer.TYPE, description = "Median time to first token, tagged by model and concurrency"),
+        @Metric(name = "ttft.p95", type = Timer.TYPE, description = "95th percentile time to first token, tagged by model and concurrency"),
+        @Metric(name = "tokens.per.second", type = Counter.TYPE, unit = "tokens/s", description = "Generated tokens per second across all requests in flight, tagged by model and concurrency"),
+        @Metric(name = "error.rate", type = Counter.TYPE, description = "Share of failed requests, from 0 to 1, tagged by model and concurrency"),
+        @Metric(name = "retries", type = Counter.TYPE, description = "Number of requests sent again after a transient failure"),
+        @Metric(name = "timeouts", type = Counter.TYPE, description = "Number of requests that timed out, tagged by `cause`: `connect`, `idle` or `deadline`")
+    }
+)
+public class Benchmark extends AbstractModel implements RunnableTask<Benchmark.Output> {
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Schema(
+        title = "Model identifier",
+        description = "The model to benchmark, e.g. `ai/smollm2`. Either `model` or `models` is required."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> model;
+
+    @Schema(
+        title = "Model identifiers",
+        description = "Several models to benchmark one after the other. Can be combined with `model`."
+    )
+    @PluginProperty(group = "main")
+    private Property<java.util.List<String>> models;
+
+    @Schema(
+        title = "Prompts",
+        description = "User messages sent in turn, so that the request mix reflects the expected workload."
+    )
+    @PluginProperty(group = "main")
+    @Builder.Default
+    private Property<java.util.List<String>> prompts = Property.ofValue(java.util.List.of("Explain in a few sentences how a hash map works."));
+
+    @Schema(title = "Number of requests in flight for each level")
+    @PluginProperty(group = "execution")
+    @Builder.Default
+    private Property<java.util.List<Integer>> concurrencyLevels = Property.ofValue(java.util.List.of(1, 4));
+
+    @Schema(title = "Number of requests sent at each level")
+    @PluginProperty(group = "execution")
+    @Builder.Default
+    private Property<Integer> requests = Property.ofValue(20);
+
+    @Schema(
+        title = "Number of warm-up requests",
+        description = "Sent once per model before measuring, so that loading the model doesn't skew the first level."
+    )
+    @PluginProperty(group = "execution")
+    @Builder.Default
+    private Property<Integer> warmupRequests = Property.ofValue(1);
+
+    @Schema(title = "Maximum number of tokens to generate per request")
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Integer> maxTokens = Property.ofValue(128);
+
+    @Schema(title = "Sampling temperature")
+    @PluginProperty(group = "advanced")
+    private Property<Double> temperature;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        var rModels = ModelFanOut.render(runContext, this.model, this.models);
+        var rPrompts = runContext.render(this.prompts).asList(String.class);
+        if (rPrompts.isEmpty()) {
+            throw new IllegalArgumentException("The `prompts` property must contain at least one prompt.");
+        }
+        var rLevels = runContext.render(this.concurrencyLevels).asList(Integer.class);
+        if (rLevels.isEmpty() || rLevels.stream().anyMatch(level -> level == null || level < 1)) {
+            throw new IllegalArgumentException("The `concurrencyLevels` property must contain positive numbers, e.g. `[1, 4, 8]`.");
+        }
+        var rRequests = runContext.render(this.requests).as(Integer.class).orElse(20);
+        var rWarmupRequests = runContext.render(this.warmupRequests).as(Integer.class).orElse(1);
+        var rMaxTokens = runContext.render(this.maxTokens).as(Integer.class).orElse(128);
+        var rTemperature = runContext.render(this.temperature).as(Double.class).orElse(null);
+
+        var results = new ArrayList<LevelResult>();
+        for (var rModel : rModels) {
+            var quantization = this.quantization(runContext, rModel);
+
+            for (var i = 0; i < rWarmupRequests; i++) {
+                this.send(runContext, rModel, rPrompts.get(i % rPrompts.size()), rTemperature, rMaxTokens);
+            }
+
+            for (var level : rLevels) {
+                var result = this.level(runContext, rModel, quantization, level, rRequests, rPrompts, rTemperature, rMaxTokens);
+                results.add(result);
+            }
+        }
+
+        return Output.builder()
+            .results(results)
+            .build();
+    }
+
+    private LevelResult level(
+        RunContext runContext,
+        String rModel,
+        String quantization,
+        int concurrency,
+        int requestCount,
+        java.util.List<String> rPrompts,
+        Double rTemperature,
+        Integer rMaxTokens
+    ) throws Exception {
+        var latencies = Collections.synchronizedList(new ArrayList<Long>(requestCount));
+        var ttfts = Collections.synchronizedList(new ArrayList<Long>(requestCount));
+        var completionTokens = new AtomicLong();
+        var errors = new AtomicInteger();
+        var firstError = new AtomicReference<String>();
+
+        var permits = new Semaphore(concurrency);
+        var start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<?>>(requestCount);
+            for (var i = 0; i < requestCount; i++) {
+                var prompt = rPrompts.get(i % rPrompts.size());
+                permits.acquire();
+                futures.add(executor.submit(() ->
+                {
+                    try {
+                        var result = this.send(runContext, rModel, prompt, rTemperature, rMaxTokens);
+                        latencies.add(result.duration().toNanos());
+                        if (result.timeToFirstToken() != null) {
+                            ttfts.add(result.timeToFirstToken().toNanos());
+                        }
+                        completionTokens.addAndGet(result.completionTokens());
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        firstError.compareAndSet(null, e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        var latency = LatencyHistogram.of(latencies);
+        var ttft = LatencyHistogram.of(ttfts);
+        var seconds = elapsed.toNanos() / 1_000_000_000d;
+        var tokensPerSecond = seconds > 0 ? completionTokens.get() / seconds : 0d;
+        var errorRate = requestCount > 0 ? errors.get() / (double) requestCount : 0d;
+
+        var tags = new String[]{"model", rModel, "concurrency", String.valueOf(concurrency)};
+        if (latency != null) {
+            runContext.metric(Timer.of("latency.p50", latency.getP50(), tags));
+            runContext.metric(Timer.of("latency.p95", latency.getP95(), tags));
+            runContext.metric(Timer.of("latency.p99", latency.getP99(), tags));
+        }
+        if (ttft != null) {
+            runContext.metric(Timer.of("ttft.p50", ttft.getP50(), tags));
+            runContext.metric(Timer.of("ttft.p95", ttft.getP95(), tags));
+        }
+        runContext.metric(Counter.of("tokens.per.second", tokensPerSecond, tags));
+        runContext.metric(Counter.of("error.rate", errorRate, tags));
+
+        if (errors.get() > 0) {
+            runContext.logger().warn("{} of {} requests to {} failed at concurrency {}, first error: {}", errors.get(), requestCount, rModel, concurrency, firstError.get());
+        }
+        runContext.logger().info(
+            "{} at concurrency {}: p50 {}, p95 {}, first token p50 {}, {} tokens/s, {}% errors",
+            rModel, concurrency,
+            latency != null ? latency.getP50() : null, latency != null ? latency.getP95() : null, ttft != null ? ttft.getP50() : null,
+            String.format("%.1f", tokensPerSecond), String.format("%.1f", errorRate * 100)
+        );
+
+        return LevelResult.builder()
+            .model(rModel)
+            .quantization(quantization)
+            .concurrency(concurrency)
+            .requests(requestCount)
+            .errors(errors.get())
+            .errorRate(errorRate)
+            .firstError(firstError.get())
+            .latency(latency)
+            .timeToFirstToken(ttft)
+            .completionTokens(completionTokens.get())
+            .tokensPerSecond(tokensPerSecond)
+            .requestsPerSecond(seconds > 0 ? (requestCount - errors.get()) / seconds : 0d)
+            .duration(elapsed)
+            .build();
+    }
+
+    private ChatCompletions.Result send(RunContext runContext, String rModel, String prompt, Double rTemperature, Integer rMaxTokens) throws Exception {
+        var body = ChatCompletions.streamingBody(
+            rModel,
+            java.util.List.of(new ChatCompletion.ChatMessage(ChatCompletion.ChatMessage.Role.USER, prompt)),
+            rTemperature,
+            rMaxTokens
+        );
+        var accumulator = new ChatCompletions.Accumulator();
+        this.executeStreaming(runContext, "POST", ChatCompletions.PATH, body, accumulator, "run a chat completion with model '" + rModel + "'");
+        return accumulator.result();
+    }
+
+    /**
+     * Reads the quantization of a model so that results can be compared across quantizations; best effort.
+     */
+    private String quantization(RunContext runContext, String rModel) throws Exception {
+        try {
+            var body = this.execute(runContext, "GET", ModelIdentifier.parse(rModel).path(), null, "inspect model '" + rModel + "'");
+            var info = MAPPER.readValue(body, List.ModelInfo.class);
+            return info.config() != null ? info.config().quantization() : null;
+        } catch (IllegalStateException | JsonProcessingException e) {
+            runContext.logger().warn("Unable to read the quantization of model {}: {}", rModel, e.getMessage());
+            return null;
+        }
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Measurements of a model at one concurrency level")
+    public static class LevelResult {
+        @Schema(title = "Model identifier")
+        private final String model;
+
+        @Schema(title = "Quantization method of the model", description = "e.g. `Q4_K_M`. Not set if the model details could not be read.")
+        private final String quantization;
+
+        @Schema(title = "Number of requests in flight")
+        private final Integer concurrency;
+
+        @Schema(title = "Number of requests sent")
+        private final Integer requests;
+
+        @Schema(title = "Number of failed requests")
+        private final Integer errors;
+
+        @Schema(title = "Share of failed requests, from 0 to 1")
+        private final Double errorRate;
+
+        @Schema(title = "Message of the first failure, if any")
+        private final String firstError;
+
+        @Schema(title = "Latency of the successful requests")
+        private final LatencyHistogram latency;
+
+        @Schema(title = "Time to first token of the successful requests")
+        private final LatencyHistogram timeToFirstToken;
+
+        @Schema(title = "Tokens generated across all requests")
+        private final Long completionTokens;
+
+        @Schema(title = "Generated tokens per second across all requests in flight")
+        private final Double tokensPerSecond;
+
+        @Schema(title = "Successful requests per second")
+        private final Double requestsPerSecond;
+
+        @Schema(title = "Duration of the level")
+        private final Duration duration;
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Output of the Benchmark task")
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Measurements for each model and concurrency level, in order")
+        private final java.util.List<LevelResult> results;
+    }
+}
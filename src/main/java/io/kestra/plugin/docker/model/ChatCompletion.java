@@ -0,0 +1,203 @@
+package io.kestra.plugin.docker.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Run a chat completion with Docker Model Runner",
+    description = """
+        Sends a chat completion request to the OpenAI-compatible endpoint of Docker Model Runner (DMR) and streams the generated tokens as server-sent events.
+        The assembled message is returned once generation ends, together with token counts, time to first token and decode speed, which are also recorded as metrics.
+        The model must have been pulled beforehand, e.g. with the `Pull` task.
+        """
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Summarize a text with a local model",
+            full = true,
+            code = """
+                id: docker_model_chat
+                namespace: company.team
+
+                inputs:
+                  - id: text
+                    type: STRING
+
+                tasks:
+                  - id: pull
+                    type: io.kestra.plugin.docker.model.Pull
+                    model: ai/smollm2
+
+                  - id: chat
+                    type: io.kestra.plugin.docker.model.ChatCompletion
+                    model: ai/smollm2
+                    maxTokens: 256
+                    messages:
+                      - role: SYSTEM
+                        content: You summarize texts in one sentence.
+                      - role: USER
+                        content: "{{ inputs.text }}"
+
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ outputs.chat.message }}"
+                """
+        )
+    },
+    metrics = {
+        @Metric(name = "ttft", type = Timer.TYPE, description = "Time from sending the request to receiving the first token"),
+        @Metric(name = "tokens.per.second", type = Counter.TYPE, unit = "tokens/s", description = "Decode speed, excluding the first token"),
+        @Metric(name = "prompt.tokens", type = Counter.TYPE, unit = "tokens", description = "Tokens in the prompt, as reported by the server"),
+        @Metric(name = "completion.tokens", type = Counter.TYPE, unit = "tokens", description = "Generated tokens"),
+        @Metric(name = "total.tokens", type = Counter.TYPE, unit = "tokens", description = "Prompt and generated tokens, as reported by the server"),
+        @Metric(name = "timeouts", type = Counter.TYPE, description = "Number of requests that timed out, tagged by `cause`: `connect`, `idle` or `deadline`")
+    }
+)
+public class ChatCompletion extends AbstractModel implements RunnableTask<ChatCompletion.Output> {
+
+    @Schema(
+        title = "Model identifier",
+        description = "The model to run, e.g. `ai/smollm2`."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> model;
+
+    @Schema(
+        title = "Conversation messages",
+        description = "Messages sent in order. Use `prompt` instead for a single user message."
+    )
+    @PluginProperty(group = "main")
+    private Property<java.util.List<ChatMessage>> messages;
+
+    @Schema(
+        title = "Prompt",
+        description = "A user message appended after `messages`."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> prompt;
+
+    @Schema(title = "Sampling temperature")
+    @PluginProperty(group = "advanced")
+    private Property<Double> temperature;
+
+    @Schema(title = "Maximum number of tokens to generate")
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxTokens;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        var rModel = runContext.render(this.model).as(String.class)
+            .orElseThrow(() -> new IllegalArgumentException("The `model` property is required, e.g. `ai/smollm2`."));
+
+        var rMessages = new ArrayList<>(runContext.render(this.messages).asList(ChatMessage.class));
+        runContext.render(this.prompt).as(String.class).ifPresent(rPrompt -> rMessages.add(new ChatMessage(ChatMessage.Role.USER, rPrompt)));
+        if (rMessages.isEmpty()) {
+            throw new IllegalArgumentException("Either `messages` or `prompt` is required.");
+        }
+
+        var body = ChatCompletions.streamingBody(
+            rModel,
+            rMessages,
+            runContext.render(this.temperature).as(Double.class).orElse(null),
+            runContext.render(this.maxTokens).as(Integer.class).orElse(null)
+        );
+
+        var accumulator = new ChatCompletions.Accumulator();
+        this.executeStreaming(runContext, "POST", ChatCompletions.PATH, body, accumulator, "run a chat completion with model '" + rModel + "'");
+        var result = accumulator.result();
+
+        if (result.timeToFirstToken() != null) {
+            runContext.metric(Timer.of("ttft", result.timeToFirstToken()));
+        }
+        if (result.tokensPerSecond() != null) {
+            runContext.metric(Counter.of("tokens.per.second", result.tokensPerSecond()));
+        }
+        if (result.promptTokens() != null) {
+            runContext.metric(Counter.of("prompt.tokens", result.promptTokens()));
+        }
+        runContext.metric(Counter.of("completion.tokens", result.completionTokens()));
+        if (result.totalTokens() != null) {
+            runContext.metric(Counter.of("total.tokens", result.totalTokens()));
+        }
+
+        runContext.logger().info(
+            "Generated {} token(s) with {} in {}, first token after {}",
+            result.completionTokens(), rModel, result.duration(), result.timeToFirstToken()
+        );
+        runContext.logger().debug("{}", result.content());
+
+        return Output.builder()
+            .message(result.content())
+            .model(result.model() != null ? result.model() : rModel)
+            .finishReason(result.finishReason())
+            .promptTokens(result.promptTokens())
+            .completionTokens(result.completionTokens())
+            .totalTokens(result.totalTokens())
+            .timeToFirstToken(result.timeToFirstToken())
+            .tokensPerSecond(result.tokensPerSecond())
+            .build();
+    }
+
+    @Schema(title = "A chat message")
+    public record ChatMessage(
+        @Schema(title = "Author of the message") @NotNull Role role,
+        @Schema(title = "Text of the message") @NotNull String content) {
+
+        public enum Role {
+            SYSTEM,
+            USER,
+            ASSISTANT
+        }
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Output of the ChatCompletion task")
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Generated message")
+        private final String message;
+
+        @Schema(title = "Model that generated the message, as reported by the server")
+        private final String model;
+
+        @Schema(title = "Why generation stopped", description = "e.g. `stop` or `length`.")
+        private final String finishReason;
+
+        @Schema(title = "Tokens in the prompt", description = "Only set when the server reports usage.")
+        private final Integer promptTokens;
+
+        @Schema(title = "Generated tokens")
+        private final Integer completionTokens;
+
+        @Schema(title = "Prompt and generated tokens", description = "Only set when the server reports usage.")
+        private final Integer totalTokens;
+
+        @Schema(title = "Time from sending the request to receiving the first token")
+        private final Duration timeToFirstToken;
+
+        @Schema(title = "Decode speed in tokens per second, excluding the first token")
+        private final Double tokensPerSecond;
+    }
+}
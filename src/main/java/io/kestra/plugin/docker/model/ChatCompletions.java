@@ -0,0 +1,194 @@
+package io.kestra.plugin.docker.model;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Request bodies and response handling, streamed or not, for DMR's OpenAI-compatible chat completions endpoint,
+ * shared by the tasks that run chat inference.
+ */
+final class ChatCompletions {
+    static final String PATH = "/engines/v1/chat/completions";
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE = "[DONE]";
+
+    private ChatCompletions() {
+    }
+
+    /**
+     * Builds a streaming request body; usage is requested so that token counts come from the server.
+     */
+    static Map<String, Object> streamingBody(String model, java.util.List<ChatCompletion.ChatMessage> messages, Double temperature, Integer maxTokens) {
+        var body = body(model, messages, temperature, maxTokens);
+        body.put("stream", true);
+        body.put("stream_options", Map.of("include_usage", true));
+        return body;
+    }
+
+    /**
+     * Builds a request body for a response returned at once, read with {@link #parse(String, Duration)}.
+     */
+    static Map<String, Object> body(String model, java.util.List<ChatCompletion.ChatMessage> messages, Double temperature, Integer maxTokens) {
+        var body = new HashMap<String, Object>();
+        body.put("model", model);
+        body.put("messages", messages.stream()
+            .map(message -> Map.of("role", message.role().name().toLowerCase(Locale.ROOT), "content", message.content()))
+            .toList());
+        if (temperature != null) {
+            body.put("temperature", temperature);
+        }
+        if (maxTokens != null) {
+            body.put("max_tokens", maxTokens);
+        }
+        return body;
+    }
+
+    /**
+     * Reads a non-streamed chat completion response.
+     */
+    static Result parse(String response, Duration duration) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Docker Model Runner sent an invalid chat completion response: " + e.getOriginalMessage(), e);
+        }
+
+        var choice = node.path("choices").path(0);
+        if (choice.isMissingNode()) {
+            throw new IllegalStateException("Docker Model Runner sent a chat completion response without choices");
+        }
+
+        var usage = node.path("usage");
+        return new Result(
+            node.hasNonNull("model") ? node.get("model").asText() : null,
+            choice.path("message").path("content").asText(""),
+            choice.hasNonNull("finish_reason") ? choice.get("finish_reason").asText() : null,
+            usage.has("prompt_tokens") ? usage.get("prompt_tokens").asInt() : null,
+            usage.has("completion_tokens") ? usage.get("completion_tokens").asInt() : null,
+            usage.has("total_tokens") ? usage.get("total_tokens").asInt() : null,
+            null,
+            duration,
+            null
+        );
+    }
+
+    /**
+     * Consumes the server-sent events of a streamed completion, assembling the message and timing the first token.
+     * Create it right before sending the request, since timings are measured from its creation.
+     */
+    static final class Accumulator implements Consumer<String> {
+        private final long startNanos = System.nanoTime();
+        private final StringBuilder content = new StringBuilder();
+
+        private long firstTokenNanos = -1;
+        private long lastTokenNanos = -1;
+        private int chunks;
+        private String model;
+        private String finishReason;
+        private JsonNode usage;
+
+        @Override
+        public void accept(String line) {
+            if (!line.startsWith(DATA_PREFIX)) {
+                // blank separators, comments and `event:` lines carry no payload
+                return;
+            }
+
+            var data = line.substring(DATA_PREFIX.length()).trim();
+            if (data.isEmpty() || DONE.equals(data)) {
+                return;
+            }
+
+            JsonNode chunk;
+            try {
+                chunk = MAPPER.readTree(data);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Docker Model Runner sent an invalid chat completion chunk: " + data, e);
+            }
+
+            if (chunk.hasNonNull("error")) {
+                var error = chunk.get("error");
+                throw new IllegalStateException("Docker Model Runner reported an error during the chat completion: " + (error.has("message") ? error.get("message").asText() : error.toString()));
+            }
+
+            if (chunk.hasNonNull("model")) {
+                this.model = chunk.get("model").asText();
+            }
+            if (chunk.hasNonNull("usage")) {
+                this.usage = chunk.get("usage");
+            }
+
+            var choices = chunk.path("choices");
+            if (choices.isEmpty()) {
+                return;
+            }
+
+            var choice = choices.get(0);
+            var delta = choice.path("delta").path("content");
+            if (delta.isTextual() && !delta.asText().isEmpty()) {
+                var now = System.nanoTime();
+                if (this.firstTokenNanos < 0) {
+                    this.firstTokenNanos = now;
+                }
+                this.lastTokenNanos = now;
+                this.chunks++;
+                this.content.append(delta.asText());
+            }
+            if (choice.hasNonNull("finish_reason")) {
+                this.finishReason = choice.get("finish_reason").asText();
+            }
+        }
+
+        Result result() {
+            var end = System.nanoTime();
+            // without usage, each content chunk is one token, which is how llama.cpp streams
+            var completionTokens = this.usage != null && this.usage.has("completion_tokens") ? this.usage.get("completion_tokens").asInt() : this.chunks;
+            var promptTokens = this.usage != null && this.usage.has("prompt_tokens") ? this.usage.get("prompt_tokens").asInt() : null;
+            var totalTokens = this.usage != null && this.usage.has("total_tokens") ? this.usage.get("total_tokens").asInt() : null;
+
+            Duration timeToFirstToken = this.firstTokenNanos >= 0 ? Duration.ofNanos(this.firstTokenNanos - this.startNanos) : null;
+            Double tokensPerSecond = null;
+            if (this.firstTokenNanos >= 0 && this.lastTokenNanos > this.firstTokenNanos && completionTokens > 1) {
+                // decode rate: the first token is excluded as its latency is prompt processing
+                tokensPerSecond = (completionTokens - 1) / ((this.lastTokenNanos - this.firstTokenNanos) / 1_000_000_000d);
+            }
+
+            return new Result(
+                this.model,
+                this.content.toString(),
+                this.finishReason,
+                promptTokens,
+                completionTokens,
+                totalTokens,
+                timeToFirstToken,
+                Duration.ofNanos(end - this.startNanos),
+                tokensPerSecond
+            );
+        }
+    }
+
+    record Result(
+        String model,
+        String content,
+        String finishReason,
+        Integer promptTokens,
+        Integer completionTokens,
+        Integer totalTokens,
+        Duration timeToFirstToken,
+        Duration duration,
+        Double tokensPerSecond
+    ) {
+    }
+}
@@ -1,18 +1,23 @@
 package io.kestra.plugin.docker.model;
 
-import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.kestra.core.http.HttpRequest;
 import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
-import io.kestra.core.models.tasks.VoidOutput;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
@@ -29,6 +34,8 @@ import lombok.experimental.SuperBuilder;
         `ai/smollm2` → namespace `ai`, name `smollm2`;
         `hf.co/org/repo` → namespace `hf.co`, name `org/repo`;
         bare names like `smollm2` default to namespace `ai`.
+        Several models can be listed in `models` to be deleted in parallel, up to `concurrency` at once; every model is
+        attempted, and the task fails afterwards if any of them failed.
         """
 )
 @Plugin(
@@ -45,33 +52,128 @@ import lombok.experimental.SuperBuilder;
                     type: io.kestra.plugin.docker.model.Delete
                     model: ai/smollm2
                 """
+        ),
+        @Example(
+            title = "Delete several models at once",
+            full = true,
+            code = """
+                id: docker_model_delete_many
+                namespace: company.team
+
+                tasks:
+                  - id: delete_models
+                    type: io.kestra.plugin.docker.model.Delete
+                    models:
+                      - ai/smollm2
+                      - ai/qwen3
+                """
         )
+    },
+    metrics = {
+        @Metric(name = "models.deleted", type = Counter.TYPE, description = "Number of models deleted"),
+        @Metric(name = "duration", type = Timer.TYPE, description = "Duration of the task"),
+        @Metric(name = "timeouts", type = Counter.TYPE, description = "Number of requests that timed out, tagged by `cause`: `connect`, `idle` or `deadline`")
     }
 )
-public class Delete extends AbstractModel implements RunnableTask<VoidOutput> {
+public class Delete extends AbstractModel implements RunnableTask<Delete.Output> {
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
 
     @Schema(
         title = "Model identifier",
-        description = "The model to delete, e.g. `ai/smollm2` or `hf.co/org/repo`."
+        description = "The model to delete, e.g. `ai/smollm2` or `hf.co/org/repo`. Either `model` or `models` is required."
     )
-    @NotNull
     @PluginProperty(group = "main")
     private Property<String> model;
 
+    @Schema(
+        title = "Model identifiers",
+        description = "Several models to delete in parallel. Can be combined with `model`."
+    )
+    @PluginProperty(group = "main")
+    private Property<java.util.List<String>> models;
+
+    @Schema(
+        title = "Maximum number of models deleted at once",
+        description = "Only applies when several models are deleted."
+    )
+    @PluginProperty(group = "execution")
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
     @Override
-    public VoidOutput run(RunContext runContext) throws Exception {
-        var rModel = runContext.render(this.model).as(String.class)
-            .orElseThrow(() -> new IllegalArgumentException("The `model` property is required, e.g. `ai/smollm2`."));
-        var rHost = resolvedHost(runContext);
-        var id = ModelIdentifier.parse(rModel);
+    public Output run(RunContext runContext) throws Exception {
+        var rModels = ModelFanOut.render(runContext, this.model, this.models);
+        var rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(4);
+
+        var start = System.nanoTime();
+        java.util.List<DeletedModel> results;
+        try {
+            results = ModelFanOut.run(rModels, rConcurrency, "delete", rModel -> this.delete(runContext, rModel));
+        } finally {
+            List.invalidateCache(resolvedHost(runContext));
+        }
+        var duration = Duration.ofNanos(System.nanoTime() - start);
+
+        runContext.metric(Counter.of("models.deleted", results.size()));
+        runContext.metric(Timer.of("duration", duration));
+        if (results.size() > 1) {
+            runContext.logger().info("Deleted {} models in {}", results.size(), duration);
+        }
 
-        var request = HttpRequest.builder()
-            .uri(URI.create(rHost + "/models/" + id.namespace() + "/" + id.name()))
-            .method("DELETE")
+        return Output.builder()
+            .models(results)
             .build();
+    }
+
+    private DeletedModel delete(RunContext runContext, String rModel) throws Exception {
+        var id = ModelIdentifier.parse(rModel);
 
-        this.execute(runContext, request, String.class, "delete model '" + rModel + "'");
+        var body = this.execute(runContext, "DELETE", id.path(), null, "delete model '" + rModel + "'");
         runContext.logger().info("Deleted model {}", rModel);
-        return null;
+
+        var untagged = new ArrayList<String>();
+        var deleted = new ArrayList<String>();
+        try {
+            // e.g. [{"Untagged":"docker.io/ai/smollm2:latest"},{"Deleted":"sha256:abc"}]
+            for (var action : MAPPER.readTree(body)) {
+                if (action.hasNonNull("Untagged")) {
+                    untagged.add(action.get("Untagged").asText());
+                }
+                if (action.hasNonNull("Deleted")) {
+                    deleted.add(action.get("Deleted").asText());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            runContext.logger().debug("Unable to read the actions taken to delete model {}: {}", rModel, e.getOriginalMessage());
+        }
+
+        return DeletedModel.builder()
+            .model(rModel)
+            .untagged(untagged)
+            .deleted(deleted)
+            .build();
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Result of deleting one model")
+    public static class DeletedModel {
+        @Schema(title = "Deleted model identifier")
+        private final String model;
+
+        @Schema(title = "References removed from the model", description = "e.g. `docker.io/ai/smollm2:latest`.")
+        private final java.util.List<String> untagged;
+
+        @Schema(title = "Content digests removed from disk", description = "Empty when other tags still point at the model.")
+        private final java.util.List<String> deleted;
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Output of the Delete task")
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Result of each model, in the order they were declared")
+        private final java.util.List<DeletedModel> models;
     }
 }
@@ -0,0 +1,323 @@
+package io.kestra.plugin.docker.model;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Compute embeddings for a file of rows with Docker Model Runner",
+    description = """
+        Reads an ION or CSV file from internal storage row by row, groups rows into batches and sends them to the OpenAI-compatible embeddings endpoint of Docker Model Runner (DMR), with up to `concurrency` batches in flight.
+        Results are streamed to an ION output file in input order: record rows get an `embedding` field added, scalar rows become `{text, embedding}` records.
+        Neither the input nor the output is held in memory, so files of millions of rows can be processed.
+        """
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Embed the `description` column of a CSV file",
+            full = true,
+            code = """
+                id: docker_model_embed
+                namespace: company.team
+
+                inputs:
+                  - id: products
+                    type: FILE
+
+                tasks:
+                  - id: pull
+                    type: io.kestra.plugin.docker.model.Pull
+                    model: ai/nomic-embed-text-v1.5
+
+                  - id: embed
+                    type: io.kestra.plugin.docker.model.Embed
+                    model: ai/nomic-embed-text-v1.5
+                    from: "{{ inputs.products }}"
+                    format: CSV
+                    column: description
+                    batchSize: 128
+                    concurrency: 4
+                """
+        )
+    },
+    metrics = {
+        @Metric(name = "rows", type = Counter.TYPE, unit = "rows", description = "Number of rows embedded"),
+        @Metric(name = "batches", type = Counter.TYPE, unit = "batches", description = "Number of requests sent"),
+        @Metric(name = "rows.per.second", type = Counter.TYPE, unit = "rows/s", description = "Overall throughput"),
+        @Metric(name = "batch.latency.p50", type = Timer.TYPE, description = "Median request latency"),
+        @Metric(name = "batch.latency.p95", type = Timer.TYPE, description = "95th percentile request latency"),
+        @Metric(name = "batch.latency.p99", type = Timer.TYPE, description = "99th percentile request latency"),
+        @Metric(name = "timeouts", type = Counter.TYPE, description = "Number of requests that timed out, tagged by `cause`: `connect`, `idle` or `deadline`")
+    }
+)
+public class Embed extends AbstractModel implements RunnableTask<Embed.Output> {
+    static final String PATH = "/engines/v1/embeddings";
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Schema(
+        title = "Model identifier",
+        description = "An embedding model, e.g. `ai/nomic-embed-text-v1.5`."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> model;
+
+    @Schema(
+        title = "Input file",
+        description = "Internal storage URI of an ION or CSV file."
+    )
+    @NotNull
+    @PluginProperty(internalStorageURI = true, group = "source")
+    private Property<String> from;
+
+    @Schema(
+        title = "Input file format",
+        description = "Inferred from the file extension when not set: `.csv` files are read as CSV, anything else as ION."
+    )
+    @PluginProperty(group = "source")
+    private Property<InputFormat> format;
+
+    @Schema(
+        title = "Column holding the text to embed",
+        description = "Required when rows are records (CSV, or ION maps); scalar ION rows are embedded as they are."
+    )
+    @PluginProperty(group = "source")
+    private Property<String> column;
+
+    @Schema(title = "Number of rows sent per request")
+    @Min(1)
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> batchSize = Property.ofValue(64);
+
+    @Schema(
+        title = "Maximum number of requests in flight",
+        description = "Higher values keep the model busy while results are written, at the cost of memory for the pending batches."
+    )
+    @Min(1)
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        var rModel = runContext.render(this.model).as(String.class)
+            .orElseThrow(() -> new IllegalArgumentException("The `model` property is required, e.g. `ai/nomic-embed-text-v1.5`."));
+        var rFrom = URI.create(runContext.render(this.from).as(String.class).orElseThrow());
+        var rFormat = runContext.render(this.format).as(InputFormat.class).orElse(null);
+        var rColumn = runContext.render(this.column).as(String.class).orElse(null);
+        var rBatchSize = runContext.render(this.batchSize).as(Integer.class).orElse(64);
+        var rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(4);
+
+        var tempFile = runContext.workingDir().createTempFile(".ion");
+        var start = System.nanoTime();
+        var latencies = new ArrayList<Long>();
+        long rowCount = 0;
+        Integer dimensions = null;
+
+        try (
+            var rows = InputRows.open(runContext, rFrom, rFormat);
+            OutputStream output = new BufferedOutputStream(Files.newOutputStream(tempFile), FileSerde.BUFFER_SIZE);
+            var executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            // completed batches are written in submission order; the window bounds both requests in flight and memory
+            var window = new ArrayDeque<Future<Batch>>();
+            var pending = new ArrayList<Object>(rBatchSize);
+            var index = 0L;
+
+            for (Object row : rows) {
+                pending.add(row);
+                if (pending.size() == rBatchSize) {
+                    if (window.size() == rConcurrency) {
+                        dimensions = write(output, await(window.poll()), latencies, dimensions);
+                    }
+                    window.add(this.submit(runContext, executor, rModel, rColumn, pending, index));
+                    index += pending.size();
+                    pending = new ArrayList<>(rBatchSize);
+                }
+            }
+            if (!pending.isEmpty()) {
+                if (window.size() == rConcurrency) {
+                    dimensions = write(output, await(window.poll()), latencies, dimensions);
+                }
+                window.add(this.submit(runContext, executor, rModel, rColumn, pending, index));
+                index += pending.size();
+            }
+            while (!window.isEmpty()) {
+                dimensions = write(output, await(window.poll()), latencies, dimensions);
+            }
+            rowCount = index;
+        }
+
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        var rowsPerSecond = elapsed.isZero() ? 0d : rowCount / (elapsed.toNanos() / 1_000_000_000d);
+        var histogram = LatencyHistogram.of(latencies);
+
+        runContext.metric(Counter.of("rows", rowCount));
+        runContext.metric(Counter.of("batches", latencies.size()));
+        runContext.metric(Counter.of("rows.per.second", rowsPerSecond));
+        if (histogram != null) {
+            runContext.metric(Timer.of("batch.latency.p50", histogram.getP50()));
+            runContext.metric(Timer.of("batch.latency.p95", histogram.getP95()));
+            runContext.metric(Timer.of("batch.latency.p99", histogram.getP99()));
+        }
+
+        runContext.logger().info("Embedded {} row(s) in {} batch(es) with {} in {} ({} rows/s)", rowCount, latencies.size(), rModel, elapsed, String.format("%.1f", rowsPerSecond));
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(tempFile.toFile()))
+            .rowCount(rowCount)
+            .batchCount(latencies.size())
+            .dimensions(dimensions)
+            .rowsPerSecond(rowsPerSecond)
+            .batchLatency(histogram)
+            .build();
+    }
+
+    private Future<Batch> submit(RunContext runContext, ExecutorService executor, String rModel, String rColumn, java.util.List<Object> rows, long firstIndex) {
+        var inputs = new ArrayList<String>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            inputs.add(InputRows.text(rows.get(i), rColumn, firstIndex + i));
+        }
+
+        return executor.submit(() ->
+        {
+            var start = System.nanoTime();
+            var body = this.execute(
+                runContext,
+                "POST",
+                PATH,
+                Map.of("model", rModel, "input", inputs),
+                "embed rows " + firstIndex + " to " + (firstIndex + rows.size() - 1) + " with model '" + rModel + "'"
+            );
+            var latency = System.nanoTime() - start;
+
+            return new Batch(rows, inputs, vectors(body, rows.size()), latency);
+        });
+    }
+
+    private static Batch await(Future<Batch> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Integer write(OutputStream output, Batch batch, java.util.List<Long> latencies, Integer dimensions) throws Exception {
+        latencies.add(batch.latencyNanos());
+        for (int i = 0; i < batch.rows().size(); i++) {
+            var vector = batch.vectors()[i];
+            if (dimensions == null) {
+                dimensions = vector.length;
+            }
+
+            Map<String, Object> out;
+            if (batch.rows().get(i) instanceof Map<?, ?> map) {
+                out = new LinkedHashMap<>();
+                map.forEach((key, value) -> out.put(String.valueOf(key), value));
+            } else {
+                out = new LinkedHashMap<>();
+                out.put("text", batch.inputs().get(i));
+            }
+            out.put("embedding", vector);
+            FileSerde.write(output, out);
+        }
+        return dimensions;
+    }
+
+    private static float[][] vectors(String body, int expected) throws Exception {
+        var data = MAPPER.readTree(body).path("data");
+        if (data.size() != expected) {
+            throw new IllegalStateException("Docker Model Runner returned " + data.size() + " embedding(s) for " + expected + " input(s)");
+        }
+
+        var vectors = new float[expected][];
+        var next = 0;
+        for (JsonNode item : data) {
+            // entries carry their input index; fall back to response order when they do not
+            var position = item.has("index") ? item.get("index").asInt() : next;
+            next++;
+            if (position < 0 || position >= expected) {
+                throw new IllegalStateException("Docker Model Runner returned an embedding at index " + position + " for " + expected + " input(s)");
+            }
+            if (vectors[position] != null) {
+                throw new IllegalStateException("Docker Model Runner returned several embeddings at index " + position + " for " + expected + " input(s)");
+            }
+            var embedding = item.path("embedding");
+            var vector = new float[embedding.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = (float) embedding.get(i).asDouble();
+            }
+            vectors[position] = vector;
+        }
+        return vectors;
+    }
+
+    private record Batch(java.util.List<Object> rows, java.util.List<String> inputs, float[][] vectors, long latencyNanos) {
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Output of the Embed task")
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "URI of the ION file holding the rows with their `embedding`")
+        private final URI uri;
+
+        @Schema(title = "Number of rows embedded")
+        private final Long rowCount;
+
+        @Schema(title = "Number of requests sent")
+        private final Integer batchCount;
+
+        @Schema(title = "Size of the embedding vectors")
+        private final Integer dimensions;
+
+        @Schema(title = "Overall throughput in rows per second")
+        private final Double rowsPerSecond;
+
+        @Schema(title = "Distribution of the request latencies")
+        private final LatencyHistogram batchLatency;
+    }
+}
@@ -0,0 +1,11 @@
+package io.kestra.plugin.docker.model;
+
+/**
+ * Format of an internal storage file read row by row by the batch model tasks.
+ */
+public enum InputFormat {
+    /** One Amazon Ion value per row, as written by Kestra tasks. */
+    ION,
+    /** Comma-separated values with a header line; each row is a map from column name to value. */
+    CSV
+}
@@ -0,0 +1,158 @@
+package io.kestra.plugin.docker.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+/**
+ * Streams the rows of an internal storage file without loading it in memory: ION values as they are, CSV records as
+ * maps keyed by the header columns.
+ */
+final class InputRows implements Iterable<Object>, AutoCloseable {
+    private final BufferedReader reader;
+    private final Iterable<Object> rows;
+
+    private InputRows(BufferedReader reader, Iterable<Object> rows) {
+        this.reader = reader;
+        this.rows = rows;
+    }
+
+    /**
+     * @param format the file format, or {@code null} to infer it from the file extension, defaulting to ION
+     */
+    static InputRows open(RunContext runContext, URI uri, InputFormat format) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(uri), StandardCharsets.UTF_8), FileSerde.BUFFER_SIZE);
+        var resolved = format != null ? format : (uri.getPath() != null && uri.getPath().toLowerCase(Locale.ROOT).endsWith(".csv") ? InputFormat.CSV : InputFormat.ION);
+
+        return switch (resolved) {
+            case ION -> new InputRows(reader, FileSerde.readAll(reader).toIterable());
+            case CSV -> new InputRows(reader, () -> new CsvIterator(reader));
+        };
+    }
+
+    /**
+     * Extracts the text to send to the model: the row itself for scalar rows, the given column for map rows.
+     */
+    static String text(Object row, String column, long index) {
+        if (row instanceof Map<?, ?> map) {
+            if (column == null) {
+                throw new IllegalArgumentException("Row " + index + " is a record, set the column holding the text to use");
+            }
+            var value = map.get(column);
+            if (value == null) {
+                throw new IllegalArgumentException("Row " + index + " has no value for column '" + column + "'");
+            }
+            return value.toString();
+        }
+        if (row == null) {
+            throw new IllegalArgumentException("Row " + index + " is null");
+        }
+        return row.toString();
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return this.rows.iterator();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    /**
+     * RFC 4180 reader: quoted fields may contain commas, doubled quotes and line breaks.
+     */
+    private static final class CsvIterator implements Iterator<Object> {
+        private final Reader reader;
+        private final java.util.List<String> header;
+        private java.util.List<String> next;
+
+        private CsvIterator(Reader reader) {
+            this.reader = reader;
+            this.header = this.readRecord();
+            this.next = this.header != null ? this.readRecord() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public Object next() {
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+
+            var row = new LinkedHashMap<String, Object>();
+            for (int i = 0; i < this.header.size(); i++) {
+                row.put(this.header.get(i), i < this.next.size() ? this.next.get(i) : null);
+            }
+            this.next = this.readRecord();
+            return row;
+        }
+
+        private java.util.List<String> readRecord() {
+            try {
+                var fields = new ArrayList<String>();
+                var field = new StringBuilder();
+                var quoted = false;
+                var started = false;
+
+                int c;
+                while ((c = this.reader.read()) != -1) {
+                    started = true;
+                    if (quoted) {
+                        if (c == '"') {
+                            this.reader.mark(1);
+                            if (this.reader.read() == '"') {
+                                field.append('"');
+                            } else {
+                                this.reader.reset();
+                                quoted = false;
+                            }
+                        } else {
+                            field.append((char) c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else if (c == '\n') {
+                        if (fields.isEmpty() && field.isEmpty()) {
+                            // skip blank lines
+                            started = false;
+                            continue;
+                        }
+                        break;
+                    } else if (c != '\r') {
+                        field.append((char) c);
+                    }
+                }
+
+                if (!started) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.kestra.plugin.docker.model;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+@Schema(title = "Distribution of request latencies")
+public class LatencyHistogram {
+    @Schema(title = "Number of requests")
+    private final Integer count;
+
+    @Schema(title = "Fastest request")
+    private final Duration min;
+
+    @Schema(title = "Mean latency")
+    private final Duration mean;
+
+    @Schema(title = "Median latency")
+    private final Duration p50;
+
+    @Schema(title = "95th percentile latency")
+    private final Duration p95;
+
+    @Schema(title = "99th percentile latency")
+    private final Duration p99;
+
+    @Schema(title = "Slowest request")
+    private final Duration max;
+
+    /**
+     * Computes the distribution of the given latencies in nanoseconds, using the nearest-rank method.
+     *
+     * @return {@code null} when there is no latency
+     */
+    static LatencyHistogram of(Collection<Long> nanos) {
+        if (nanos.isEmpty()) {
+            return null;
+        }
+
+        var sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        var total = 0L;
+        for (long value : sorted) {
+            total += value;
+        }
+
+        return LatencyHistogram.builder()
+            .count(sorted.length)
+            .min(Duration.ofNanos(sorted[0]))
+            .mean(Duration.ofNanos(total / sorted.length))
+            .p50(Duration.ofNanos(percentile(sorted, 50)))
+            .p95(Duration.ofNanos(percentile(sorted, 95)))
+            .p99(Duration.ofNanos(percentile(sorted, 99)))
+            .max(Duration.ofNanos(sorted[sorted.length - 1]))
+            .build();
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        var rank = (int) Math.ceil(percentile / 100d * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
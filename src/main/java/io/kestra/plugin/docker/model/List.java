@@ -1,14 +1,27 @@
 package io.kestra.plugin.docker.model;
 
-import java.net.URI;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.kestra.core.http.HttpRequest;
 import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.JacksonMapper;
@@ -24,7 +37,12 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @Schema(
     title = "List models available in Docker Model Runner",
-    description = "Fetches the list of locally available models from the Docker Model Runner (DMR) REST API."
+    description = """
+        Fetches the list of locally available models from the Docker Model Runner (DMR) REST API.
+        The response is parsed as it is received, and models can be filtered by tag, format, architecture and quantization.
+        With `cacheTtl`, the list is kept on the worker for that long, so that tight loops over this task don't query DMR each time;
+        the `Pull` and `Delete` tasks clear it for their host.
+        """
 )
 @Plugin(
     examples = {
@@ -39,40 +57,188 @@ import lombok.experimental.SuperBuilder;
                   - id: list_models
                     type: io.kestra.plugin.docker.model.List
                 """
+        ),
+        @Example(
+            title = "List the quantized GGUF models of the `ai` namespace",
+            full = true,
+            code = """
+                id: docker_model_list_filtered
+                namespace: company.team
+
+                tasks:
+                  - id: list_models
+                    type: io.kestra.plugin.docker.model.List
+                    tagPattern: "^docker.io/ai/"
+                    format: gguf
+                    quantization: Q4_K_M
+                    cacheTtl: PT30S
+                """
         )
+    },
+    metrics = {
+        @Metric(name = "retries", type = Counter.TYPE, description = "Number of requests sent again after a transient failure"),
+        @Metric(name = "timeouts", type = Counter.TYPE, description = "Number of requests that timed out, tagged by `cause`: `connect`, `idle` or `deadline`")
     }
 )
 public class List extends AbstractModel implements RunnableTask<List.Output> {
 
     private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
 
+    // unfiltered lists per host, only filled when a task sets cacheTtl
+    private static final Map<String, CachedModels> CACHE = new ConcurrentHashMap<>();
+
+    @Schema(
+        title = "Tag pattern",
+        description = "Regular expression searched in the tags of each model, e.g. `^docker.io/ai/` or `:latest$`. Models with no matching tag are left out."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> tagPattern;
+
+    @Schema(title = "File format", description = "Only list models in this format, e.g. `gguf`. Case-insensitive.")
+    @PluginProperty(group = "processing")
+    private Property<String> format;
+
+    @Schema(title = "Model architecture", description = "Only list models with this architecture, e.g. `llama`. Case-insensitive.")
+    @PluginProperty(group = "processing")
+    private Property<String> architecture;
+
+    @Schema(title = "Quantization method", description = "Only list models with this quantization, e.g. `Q4_K_M`. Case-insensitive.")
+    @PluginProperty(group = "processing")
+    private Property<String> quantization;
+
+    @Schema(
+        title = "How long the list is cached on the worker",
+        description = "Not cached by default. Filters apply to the cached list, so tasks with different filters share it."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Duration> cacheTtl;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         var rHost = resolvedHost(runContext);
+        var rTagPattern = runContext.render(this.tagPattern).as(String.class).map(Pattern::compile).orElse(null);
+        var rFormat = runContext.render(this.format).as(String.class).orElse(null);
+        var rArchitecture = runContext.render(this.architecture).as(String.class).orElse(null);
+        var rQuantization = runContext.render(this.quantization).as(String.class).orElse(null);
+        var rCacheTtl = runContext.render(this.cacheTtl).as(Duration.class).orElse(null);
 
-        var request = HttpRequest.builder()
-            .uri(URI.create(rHost + "/models"))
-            .method("GET")
-            .build();
+        Predicate<ModelInfo> filter = model ->
+            (rTagPattern == null || model.tags() != null && model.tags().stream().anyMatch(tag -> rTagPattern.matcher(tag).find())) &&
+                matches(rFormat, model.config() != null ? model.config().format() : null) &&
+                matches(rArchitecture, model.config() != null ? model.config().architecture() : null) &&
+                matches(rQuantization, model.config() != null ? model.config().quantization() : null);
 
-        var rBody = this.execute(runContext, request, String.class, "list models");
-        if (rBody == null || rBody.isBlank()) {
-            throw new IllegalStateException(
-                "Docker Model Runner returned an empty response for GET " + rHost + "/models. Verify the DMR instance is running and reachable."
-            );
+        java.util.List<ModelInfo> models;
+        var fromCache = false;
+        if (rCacheTtl != null) {
+            var cached = CACHE.get(rHost);
+            if (cached != null && System.nanoTime() - cached.fetchedAt() < rCacheTtl.toNanos()) {
+                fromCache = true;
+            } else {
+                var fetchedAt = System.nanoTime();
+                cached = new CachedModels(fetchedAt, java.util.List.copyOf(this.fetch(runContext, rHost, model -> true)));
+                CACHE.put(rHost, cached);
+            }
+            models = cached.models().stream().filter(filter).toList();
+        } else {
+            models = this.fetch(runContext, rHost, filter);
         }
 
-        java.util.List<ModelInfo> models;
-        try {
-            models = java.util.List.of(MAPPER.readValue(rBody, ModelInfo[].class));
+        runContext.logger().info("Found {} model(s){}", models.size(), fromCache ? " in the cached list" : "");
+        return Output.builder()
+            .models(models)
+            .cached(fromCache)
+            .build();
+    }
+
+    private static boolean matches(String expected, String actual) {
+        return expected == null || expected.equalsIgnoreCase(actual);
+    }
+
+    private java.util.List<ModelInfo> fetch(RunContext runContext, String rHost, Predicate<ModelInfo> filter) throws Exception {
+        return this.withRetry(runContext, "list models", () ->
+        {
+            var models = new ArrayList<ModelInfo>();
+            this.executeStreamingBody(runContext, "GET", "/models", null, body -> readModels(body, rHost, filter, models::add), "list models");
+            return models;
+        });
+    }
+
+    /**
+     * Reads the model array returned by {@code GET /models} straight from the response stream, one model at a time,
+     * without buffering the whole body.
+     */
+    static void readModels(InputStream body, String rHost, Predicate<ModelInfo> filter, Consumer<ModelInfo> consumer) throws IOException {
+        try (var parser = MAPPER.createParser(body)) {
+            var token = parser.nextToken();
+            if (token == null) {
+                throw new IllegalStateException(
+                    "Docker Model Runner returned an empty response for GET " + rHost + "/models. Verify the DMR instance is running and reachable."
+                );
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Failed to parse Docker Model Runner's response for GET " + rHost + "/models: expected an array but got " + token);
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                var model = MAPPER.readValue(parser, ModelInfo.class);
+                if (filter.test(model)) {
+                    consumer.accept(model);
+                }
+            }
         } catch (JsonProcessingException e) {
             throw new IllegalStateException(
                 "Failed to parse Docker Model Runner's response for GET " + rHost + "/models: " + e.getOriginalMessage(), e
             );
         }
+    }
+
+    /**
+     * Drops the cached list of the given host, after a task changed the models it has.
+     */
+    static void invalidateCache(String rHost) {
+        CACHE.remove(rHost);
+    }
+
+    private record CachedModels(long fetchedAt, java.util.List<ModelInfo> models) {
+    }
+
+    /**
+     * Parses a size as displayed by DMR, e.g. {@code 260.86MiB}, {@code 1.2GB} or {@code 512 B}.
+     *
+     * @return the size in bytes, or {@code null} if the value can't be read
+     */
+    static Long parseSize(String size) {
+        if (size == null || size.isBlank()) {
+            return null;
+        }
 
-        runContext.logger().info("Found {} model(s)", models.size());
-        return Output.builder().models(models).build();
+        var value = size.trim();
+        var unitStart = value.length();
+        while (unitStart > 0 && Character.isLetter(value.charAt(unitStart - 1))) {
+            unitStart--;
+        }
+
+        double number;
+        try {
+            number = Double.parseDouble(value.substring(0, unitStart).trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        var multiplier = switch (value.substring(unitStart).toUpperCase(Locale.ROOT)) {
+            case "", "B" -> 1d;
+            case "KB" -> 1e3;
+            case "MB" -> 1e6;
+            case "GB" -> 1e9;
+            case "TB" -> 1e12;
+            case "KIB" -> 1024d;
+            case "MIB" -> Math.pow(1024, 2);
+            case "GIB" -> Math.pow(1024, 3);
+            case "TIB" -> Math.pow(1024, 4);
+            default -> Double.NaN;
+        };
+        return Double.isNaN(multiplier) ? null : Math.round(number * multiplier);
     }
 
     @Schema(title = "Information about a single model")
@@ -97,14 +263,24 @@ public class List extends AbstractModel implements RunnableTask<List.Output> {
         @Schema(title = "Quantization method", description = "e.g. `MOSTLY_F16`.") String quantization,
         @Schema(title = "Parameter count", description = "e.g. `136.73M`.") String parameters,
         @Schema(title = "Model architecture", description = "e.g. `nomic-bert`.") String architecture,
-        @Schema(title = "On-disk size", description = "e.g. `260.86MiB`.") String size) {
+        @Schema(title = "On-disk size", description = "e.g. `260.86MiB`.") String size,
+        @Schema(title = "On-disk size in bytes", description = "Parsed from `size`; binary units such as `MiB` are powers of 1024.") Long sizeBytes) {
+
+        public Config {
+            if (sizeBytes == null) {
+                sizeBytes = parseSize(size);
+            }
+        }
     }
 
     @Builder
     @Getter
     @Schema(title = "Output of the List task")
     public static class Output implements io.kestra.core.models.tasks.Output {
-        @Schema(title = "Models available in Docker Model Runner")
+        @Schema(title = "Models available in Docker Model Runner", description = "Only the models matching the filters, if any.")
         private final java.util.List<ModelInfo> models;
+
+        @Schema(title = "Whether the list came from the worker cache", description = "Only possible when `cacheTtl` is set.")
+        private final Boolean cached;
     }
 }
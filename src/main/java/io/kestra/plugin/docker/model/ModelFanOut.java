@@ -0,0 +1,95 @@
+package io.kestra.plugin.docker.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Runs the same action on several models with bounded parallelism, for the tasks accepting both a single {@code model}
+ * and a list of {@code models}. Requests go through the connection pool shared for the DMR host, so parallel actions
+ * don't each open their own connections.
+ */
+final class ModelFanOut {
+    private ModelFanOut() {
+    }
+
+    @FunctionalInterface
+    interface Action<T> {
+        T apply(String model) throws Exception;
+    }
+
+    /**
+     * Renders {@code model} then {@code models}, without duplicates and in declaration order.
+     */
+    static java.util.List<String> render(RunContext runContext, Property<String> model, Property<java.util.List<String>> models) throws IllegalVariableEvaluationException {
+        var rModels = new LinkedHashSet<String>();
+        runContext.render(model).as(String.class).ifPresent(rModels::add);
+        rModels.addAll(runContext.render(models).asList(String.class));
+        rModels.removeIf(String::isBlank);
+        if (rModels.isEmpty()) {
+            throw new IllegalArgumentException("Either the `model` or the `models` property is required, e.g. `ai/smollm2`.");
+        }
+        return java.util.List.copyOf(rModels);
+    }
+
+    /**
+     * Applies the action to each model, with at most {@code concurrency} running at once, and returns the results in
+     * the order of the models. Every model is attempted even if some fail; the failures are then reported together.
+     * A single model is handled on the calling thread and its failure is rethrown as is.
+     */
+    static <T> java.util.List<T> run(java.util.List<String> models, int concurrency, String verb, Action<T> action) throws Exception {
+        if (models.size() == 1) {
+            var result = new ArrayList<T>(1);
+            result.add(action.apply(models.getFirst()));
+            return result;
+        }
+
+        var permits = new Semaphore(Math.max(1, concurrency));
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<T>>(models.size());
+            for (var model : models) {
+                futures.add(executor.submit(() ->
+                {
+                    permits.acquire();
+                    try {
+                        return action.apply(model);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            var results = new ArrayList<T>(models.size());
+            var failures = new LinkedHashMap<String, Throwable>();
+            for (var i = 0; i < models.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    failures.put(models.get(i), e.getCause());
+                }
+            }
+
+            if (!failures.isEmpty()) {
+                var causes = failures.values().iterator();
+                var exception = new IllegalStateException(
+                    "Failed to " + verb + " " + failures.size() + " of " + models.size() + " models: " + failures.entrySet().stream()
+                        .map(failure -> failure.getKey() + ": " + failure.getValue().getMessage())
+                        .collect(Collectors.joining("; ")),
+                    causes.next()
+                );
+                causes.forEachRemaining(exception::addSuppressed);
+                throw exception;
+            }
+            return results;
+        }
+    }
+}
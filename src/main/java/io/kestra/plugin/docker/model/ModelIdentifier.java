@@ -14,4 +14,11 @@ record ModelIdentifier(String namespace, String name) {
         }
         return new ModelIdentifier(model.substring(0, slash), model.substring(slash + 1));
     }
+
+    /**
+     * REST path of the model, e.g. {@code /models/ai/smollm2}.
+     */
+    String path() {
+        return "/models/" + this.namespace + "/" + this.name;
+    }
 }
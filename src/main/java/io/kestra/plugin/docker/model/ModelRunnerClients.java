@@ -0,0 +1,391 @@
+package io.kestra.plugin.docker.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.ProxySelector;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.dockerjava.httpclient5.ApacheDockerHttpClient;
+import com.github.dockerjava.transport.DockerHttpClient;
+
+/**
+ * Keep-alive HTTP clients to Docker Model Runner, over TCP or a local unix socket, shared by all model tasks of the
+ * worker and keyed by host.
+ * <p>
+ * HTTP hosts use the JDK client, which keeps its connections open between requests and honors the proxy and TLS
+ * settings of the worker JVM, so consecutive List/Pull/Delete or inference calls against the same host reuse open
+ * connections instead of paying a TCP connect each time; at most {@link #MAX_CONNECTIONS} responses are open at once.
+ * Unix sockets, which the JDK client can't reach, use the
+ * docker-java transport with a bounded pool. A client that has no request in flight and has been idle for
+ * {@link #IDLE_TTL} is closed along with its connections.
+ */
+final class ModelRunnerClients {
+    static final int MAX_CONNECTIONS = 16;
+    static final Duration IDLE_TTL = Duration.ofMinutes(1);
+
+    // route under which the Docker engine socket forwards requests to DMR
+    static final String ENGINE_BASE_PATH = "/exp/vDD4.40";
+
+    private static final Map<String, Entry> CLIENTS = new ConcurrentHashMap<>();
+
+    // evicts idle clients and enforces read and request timeouts, all short tasks
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable ->
+        Thread.ofPlatform().daemon().name("docker-model-runner-client-scheduler").unstarted(runnable)
+    );
+
+    static {
+        SCHEDULER.scheduleWithFixedDelay(ModelRunnerClients::evictIdle, IDLE_TTL.toSeconds(), IDLE_TTL.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    private ModelRunnerClients() {
+    }
+
+    /**
+     * Leases the shared client of the given host, creating it if needed. The lease must be closed once the response
+     * has been consumed.
+     */
+    static Lease acquire(String host, Duration connectTimeout, Duration readIdleTimeout) {
+        var key = host + "|" + connectTimeout + "|" + readIdleTimeout;
+        var entry = CLIENTS.compute(key, (k, existing) ->
+        {
+            var current = existing != null ? existing : new Entry(create(host, connectTimeout, readIdleTimeout), basePath(host));
+            current.inFlight.incrementAndGet();
+            return current;
+        });
+        return new Lease(entry);
+    }
+
+    /**
+     * Runs a short task once the given delay has elapsed, e.g. closing a response that outlived its deadline.
+     */
+    static ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+        return SCHEDULER.schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static Client create(String host, Duration connectTimeout, Duration readIdleTimeout) {
+        var uri = URI.create(host);
+        if (isUnix(uri)) {
+            return new SocketClient(
+                new ApacheDockerHttpClient.Builder()
+                    .dockerHost(URI.create("unix://" + uri.getRawPath().substring(0, socketPathEnd(uri.getRawPath()))))
+                    .maxConnections(MAX_CONNECTIONS)
+                    .connectionTimeout(connectTimeout)
+                    .responseTimeout(readIdleTimeout)
+                    .build()
+            );
+        }
+        if (!"https".equalsIgnoreCase(uri.getScheme()) && !"http".equalsIgnoreCase(uri.getScheme())) {
+            throw new IllegalArgumentException("Unsupported Docker Model Runner host '" + host + "', expected an http:// or https:// URL, or a unix:// socket");
+        }
+
+        var builder = HttpClient.newBuilder()
+            // DMR speaks HTTP/1.1, skip the HTTP/2 upgrade attempt on every new connection
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(connectTimeout);
+        Optional.ofNullable(ProxySelector.getDefault()).ifPresent(builder::proxy);
+        return new JdkClient(builder.build(), uri.getScheme() + "://" + uri.getRawAuthority(), readIdleTimeout);
+    }
+
+    /**
+     * Path prefix of the API. For a unix socket, it is what follows the socket file in the host, and defaults to the
+     * engine route for the Docker engine socket, e.g. {@code unix:///var/run/docker.sock} serves DMR under
+     * {@value #ENGINE_BASE_PATH}, {@code unix:///var/run/docker.sock/proxy} under {@code /proxy}, and
+     * {@code unix:///run/dmr.sock} at the root.
+     */
+    static String basePath(String host) {
+        var uri = URI.create(host);
+        var path = uri.getRawPath();
+        if (isUnix(uri) && path != null) {
+            var socketEnd = socketPathEnd(path);
+            if (socketEnd == path.length() && path.endsWith("/docker.sock")) {
+                return ENGINE_BASE_PATH;
+            }
+            path = path.substring(socketEnd);
+        }
+        if (path == null || path.isEmpty()) {
+            return "";
+        }
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static boolean isUnix(URI uri) {
+        return "unix".equalsIgnoreCase(uri.getScheme());
+    }
+
+    /**
+     * End of the socket file in the path of a unix host: the first segment ending with {@code .sock}, or the whole path.
+     */
+    private static int socketPathEnd(String path) {
+        var index = path.indexOf(".sock/");
+        return index >= 0 ? index + ".sock".length() : path.length();
+    }
+
+    private static void evictIdle() {
+        var now = System.nanoTime();
+        for (String key : CLIENTS.keySet()) {
+            CLIENTS.computeIfPresent(key, (k, entry) ->
+            {
+                if (entry.inFlight.get() > 0 || now - entry.lastUsed < IDLE_TTL.toNanos()) {
+                    return entry;
+                }
+                try {
+                    entry.client.close();
+                } catch (Exception e) {
+                    // the connections are dropped anyway
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Sends requests to one host, whatever the transport.
+     */
+    interface Client extends AutoCloseable {
+        /**
+         * Sends a request and returns once the response headers are received.
+         *
+         * @param jsonBody request payload already serialized as JSON, or {@code null} for no body
+         */
+        Response execute(String method, String path, byte[] jsonBody) throws IOException;
+    }
+
+    /**
+     * A response whose body is still to be read; closing it releases the connection.
+     */
+    record Response(int statusCode, InputStream body, Closeable resource) implements Closeable {
+        @Override
+        public void close() throws IOException {
+            this.resource.close();
+        }
+    }
+
+    private static final class JdkClient implements Client {
+        private final HttpClient client;
+        private final String origin;
+        private final Duration readIdleTimeout;
+        // the JDK client has no pool limit, requests beyond it wait for a response to be closed
+        private final Semaphore connections = new Semaphore(MAX_CONNECTIONS, true);
+
+        private JdkClient(HttpClient client, String origin, Duration readIdleTimeout) {
+            this.client = client;
+            this.origin = origin;
+            this.readIdleTimeout = readIdleTimeout;
+        }
+
+        @Override
+        public Response execute(String method, String path, byte[] jsonBody) throws IOException {
+            var request = HttpRequest.newBuilder(URI.create(this.origin + path))
+                // bounds the wait for the response headers, the body is watched by IdleTimeoutInputStream
+                .timeout(this.readIdleTimeout)
+                .method(method, jsonBody != null ? HttpRequest.BodyPublishers.ofByteArray(jsonBody) : HttpRequest.BodyPublishers.noBody());
+            if (jsonBody != null) {
+                request.header("Content-Type", "application/json");
+            }
+
+            try {
+                this.connections.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a connection to send " + method + " " + path);
+            }
+
+            var released = new AtomicBoolean();
+            Runnable release = () ->
+            {
+                if (released.compareAndSet(false, true)) {
+                    this.connections.release();
+                }
+            };
+            try {
+                var response = this.client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+                var body = new IdleTimeoutInputStream(response.body(), this.readIdleTimeout);
+                return new Response(response.statusCode(), body, () ->
+                {
+                    try {
+                        body.close();
+                    } finally {
+                        release.run();
+                    }
+                });
+            } catch (InterruptedException e) {
+                release.run();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the response of " + method + " " + path);
+            } catch (IOException | RuntimeException e) {
+                release.run();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            this.client.close();
+        }
+    }
+
+    private static final class SocketClient implements Client {
+        private final DockerHttpClient client;
+
+        private SocketClient(DockerHttpClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public Response execute(String method, String path, byte[] jsonBody) {
+            var request = DockerHttpClient.Request.builder()
+                .method(DockerHttpClient.Request.Method.valueOf(method))
+                .path(path);
+            if (jsonBody != null) {
+                request
+                    .headers(Map.of("Content-Type", "application/json"))
+                    .body(new ByteArrayInputStream(jsonBody));
+            }
+
+            var response = this.client.execute(request.build());
+            return new Response(response.getStatusCode(), response.getBody() != null ? response.getBody() : InputStream.nullInputStream(), response);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.client.close();
+        }
+    }
+
+    /**
+     * Fails a read that waits longer than the timeout for the next bytes, as a socket read timeout would: the JDK
+     * client only bounds the wait for the response headers. The time spent by the caller between two reads doesn't
+     * count.
+     */
+    private static final class IdleTimeoutInputStream extends FilterInputStream {
+        private final Duration timeout;
+        private final ScheduledFuture<?> watchdog;
+        private volatile long readingSince = -1;
+        private volatile boolean timedOut;
+
+        private IdleTimeoutInputStream(InputStream in, Duration timeout) {
+            super(in);
+            this.timeout = timeout;
+            var period = Math.max(timeout.toMillis() / 4, 10);
+            this.watchdog = SCHEDULER.scheduleWithFixedDelay(this::check, period, period, TimeUnit.MILLISECONDS);
+        }
+
+        private void check() {
+            var since = this.readingSince;
+            if (since >= 0 && System.nanoTime() - since >= this.timeout.toNanos()) {
+                this.timedOut = true;
+                this.watchdog.cancel(false);
+                try {
+                    this.in.close();
+                } catch (IOException e) {
+                    // the blocked read fails anyway
+                }
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            this.readingSince = System.nanoTime();
+            try {
+                return this.orTimeout(super.read());
+            } catch (IOException e) {
+                throw this.timedOut ? this.timeoutException() : e;
+            } finally {
+                this.readingSince = -1;
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            this.readingSince = System.nanoTime();
+            try {
+                return this.orTimeout(super.read(buffer, offset, length));
+            } catch (IOException e) {
+                throw this.timedOut ? this.timeoutException() : e;
+            } finally {
+                this.readingSince = -1;
+            }
+        }
+
+        // a closed stream may report its end rather than fail
+        private int orTimeout(int read) throws SocketTimeoutException {
+            if (read < 0 && this.timedOut) {
+                throw this.timeoutException();
+            }
+            return read;
+        }
+
+        private SocketTimeoutException timeoutException() {
+            return new SocketTimeoutException("Read timed out after " + this.timeout + " without data");
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.watchdog.cancel(false);
+            super.close();
+        }
+    }
+
+    private static final class Entry {
+        private final Client client;
+        private final String basePath;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long lastUsed = System.nanoTime();
+
+        private Entry(Client client, String basePath) {
+            this.client = client;
+            this.basePath = basePath;
+        }
+    }
+
+    static final class Lease implements AutoCloseable {
+        private final Entry entry;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        Client client() {
+            return this.entry.client;
+        }
+
+        /**
+         * Path prefix of the host URL, e.g. {@code /proxy} for {@code http://gateway:8080/proxy}, to prepend to API paths.
+         */
+        String basePath() {
+            return this.entry.basePath;
+        }
+
+        /**
+         * Sends a request to an API path of the host.
+         */
+        Response execute(String method, String path, byte[] jsonBody) throws IOException {
+            return this.entry.client.execute(method, this.entry.basePath + path, jsonBody);
+        }
+
+        @Override
+        public void close() {
+            this.entry.lastUsed = System.nanoTime();
+            this.entry.inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.kestra.plugin.docker.model;
+
+/**
+ * Non-2xx response from Docker Model Runner, carrying the HTTP status so that callers can tell overload
+ * ({@code 429}, {@code 503}) from request errors.
+ */
+class ModelRunnerException extends IllegalStateException {
+    private final int statusCode;
+
+    ModelRunnerException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    int statusCode() {
+        return this.statusCode;
+    }
+
+    /**
+     * Whether the server is shedding load, in which case the request can be sent again later.
+     */
+    boolean isOverloaded() {
+        return this.statusCode == 429 || this.statusCode == 503;
+    }
+}
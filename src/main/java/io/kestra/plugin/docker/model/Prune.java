@@ -0,0 +1,312 @@
+package io.kestra.plugin.docker.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Keep the models of Docker Model Runner within a storage budget",
+    description = """
+        Lists the models available in Docker Model Runner (DMR) and, while their total on-disk size exceeds `maxSize`, deletes the oldest ones by creation time.
+        Models with a tag matching one of `protectedTags` are never deleted, nor are the models currently loaded by DMR unless `protectLoaded` is disabled.
+        If the budget can't be met without deleting protected models, the task deletes what it can and fails.
+        Models whose size DMR doesn't report in a readable form are neither counted nor deleted.
+        A model that fails to be deleted doesn't stop the others: the next one is deleted instead, and the task fails once done, listing the models it couldn't delete.
+        With `dryRun`, the models that would be deleted are returned without deleting anything.
+        """
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Keep at most 50 GiB of models, always keeping the embedding models",
+            full = true,
+            code = """
+                id: docker_model_prune
+                namespace: company.team
+
+                tasks:
+                  - id: prune
+                    type: io.kestra.plugin.docker.model.Prune
+                    maxSize: 50GiB
+                    protectedTags:
+                      - "embed"
+
+                triggers:
+                  - id: nightly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 3 * * *"
+                """
+        )
+    },
+    metrics = {
+        @Metric(name = "bytes.freed", type = Counter.TYPE, unit = "bytes", description = "Disk space freed, or that would be freed with `dryRun`"),
+        @Metric(name = "bytes.total", type = Counter.TYPE, unit = "bytes", description = "Size of the remaining models"),
+        @Metric(name = "models.deleted", type = Counter.TYPE, description = "Number of models deleted, or that would be deleted with `dryRun`"),
+        @Metric(name = "models.failed", type = Counter.TYPE, description = "Number of models that failed to be deleted"),
+        @Metric(name = "retries", type = Counter.TYPE, description = "Number of requests sent again after a transient failure"),
+        @Metric(name = "timeouts", type = Counter.TYPE, description = "Number of requests that timed out, tagged by `cause`: `connect`, `idle` or `deadline`")
+    }
+)
+public class Prune extends AbstractModel implements RunnableTask<Prune.Output> {
+
+    static final String LOADED_MODELS_PATH = "/engines/ps";
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Schema(
+        title = "Storage budget",
+        description = "Maximum total on-disk size of the models, e.g. `50GiB`, `500MB` or a number of bytes."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> maxSize;
+
+    @Schema(
+        title = "Protected tag patterns",
+        description = "Regular expressions searched in the tags of each model, e.g. `^docker.io/ai/smollm2:` or `embed`. Models with a matching tag are never deleted."
+    )
+    @PluginProperty(group = "main")
+    private Property<java.util.List<String>> protectedTags;
+
+    @Schema(
+        title = "Whether to keep the models currently loaded by DMR",
+        description = "Loaded models are serving requests. When DMR doesn't report them, no model is considered loaded."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Boolean> protectLoaded = Property.ofValue(true);
+
+    @Schema(
+        title = "Dry run",
+        description = "Only report the models that would be deleted."
+    )
+    @PluginProperty(group = "execution")
+    @Builder.Default
+    private Property<Boolean> dryRun = Property.ofValue(false);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        var logger = runContext.logger();
+        var rHost = resolvedHost(runContext);
+        var rMaxSizeValue = runContext.render(this.maxSize).as(String.class)
+            .orElseThrow(() -> new IllegalArgumentException("The `maxSize` property is required, e.g. `50GiB`."));
+        var rMaxSize = List.parseSize(rMaxSizeValue);
+        if (rMaxSize == null) {
+            throw new IllegalArgumentException("Unable to read the `maxSize` property '" + rMaxSizeValue + "', expected a size like `50GiB` or `500MB`.");
+        }
+        var rProtectedTags = runContext.render(this.protectedTags).asList(String.class).stream().map(Pattern::compile).toList();
+        var rProtectLoaded = runContext.render(this.protectLoaded).as(Boolean.class).orElse(true);
+        var rDryRun = runContext.render(this.dryRun).as(Boolean.class).orElse(false);
+
+        var models = this.withRetry(runContext, "list models", () ->
+        {
+            var all = new ArrayList<List.ModelInfo>();
+            this.executeStreamingBody(runContext, "GET", "/models", null, body -> List.readModels(body, rHost, model -> true, all::add), "list models");
+            return all;
+        });
+
+        // counting an unknown size as 0 would make the model the first to go while undercounting the total
+        var sized = new ArrayList<List.ModelInfo>(models.size());
+        for (var model : models) {
+            if (sizeBytes(model) == null) {
+                logger.warn(
+                    "Unable to read the size of model {} ('{}'), it is not counted in the total and won't be deleted",
+                    describe(model), model.config() != null ? model.config().size() : null
+                );
+            } else {
+                sized.add(model);
+            }
+        }
+
+        var total = sized.stream().mapToLong(Prune::sizeBytes).sum();
+        var loaded = rProtectLoaded ? this.loadedModels(runContext) : Set.<String>of();
+
+        var candidates = sized.stream()
+            .filter(model -> !isProtected(model, rProtectedTags, loaded))
+            .sorted(Comparator.comparing((List.ModelInfo model) -> model.created() != null ? model.created() : 0L))
+            .toList();
+
+        var pruned = new ArrayList<PrunedModel>();
+        var failures = new LinkedHashMap<String, IllegalStateException>();
+        var freed = 0L;
+        for (var candidate : candidates) {
+            if (total - freed <= rMaxSize) {
+                break;
+            }
+
+            var size = sizeBytes(candidate);
+            if (rDryRun) {
+                logger.info("Would delete model {} ({})", describe(candidate), Pull.humanBytes(size));
+            } else {
+                try {
+                    // by digest, so that every tag pointing at the model goes away with it
+                    this.execute(runContext, "DELETE", "/models/" + candidate.id() + "?force=true", null, "delete model '" + describe(candidate) + "'");
+                } catch (IllegalStateException e) {
+                    // keep track of the models already deleted, and try the next one to still meet the budget
+                    logger.warn("Unable to delete model {}, trying the next one: {}", describe(candidate), e.getMessage());
+                    failures.put(candidate.id(), e);
+                    continue;
+                } finally {
+                    List.invalidateCache(rHost);
+                }
+                logger.info("Deleted model {} ({})", describe(candidate), Pull.humanBytes(size));
+            }
+
+            freed += size;
+            pruned.add(PrunedModel.builder()
+                .id(candidate.id())
+                .tags(candidate.tags())
+                .created(candidate.created())
+                .sizeBytes(size)
+                .build());
+        }
+
+        var remaining = total - freed;
+        runContext.metric(Counter.of("bytes.freed", freed));
+        runContext.metric(Counter.of("bytes.total", remaining));
+        runContext.metric(Counter.of("models.deleted", pruned.size()));
+        runContext.metric(Counter.of("models.failed", failures.size()));
+
+        var usage = "use " + Pull.humanBytes(remaining) + " after pruning, above the budget of " + Pull.humanBytes(rMaxSize);
+        if (!failures.isEmpty()) {
+            var causes = failures.values().iterator();
+            var exception = new IllegalStateException(
+                "Failed to delete " + failures.size() + " of " + (failures.size() + pruned.size()) + " models: " + failures.entrySet().stream()
+                    .map(failure -> failure.getKey() + ": " + failure.getValue().getMessage())
+                    .collect(Collectors.joining("; "))
+                    + (remaining > rMaxSize ? "; models still " + usage : ""),
+                causes.next()
+            );
+            causes.forEachRemaining(exception::addSuppressed);
+            throw exception;
+        }
+        if (remaining > rMaxSize && !rDryRun) {
+            throw new IllegalStateException("Models still " + usage + ": the remaining models are protected or loaded");
+        }
+        if (remaining > rMaxSize) {
+            logger.warn("Models would still {}", usage);
+        } else {
+            logger.info("Models use {} of the {} budget", Pull.humanBytes(remaining), Pull.humanBytes(rMaxSize));
+        }
+
+        return Output.builder()
+            .models(pruned)
+            .freedBytes(freed)
+            .totalBytes(remaining)
+            .withinBudget(remaining <= rMaxSize)
+            .dryRun(rDryRun)
+            .build();
+    }
+
+    /**
+     * @return the on-disk size of the model, or {@code null} if DMR doesn't report it or in a form that can't be read
+     */
+    private static Long sizeBytes(List.ModelInfo model) {
+        return model.config() != null ? model.config().sizeBytes() : null;
+    }
+
+    private static String describe(List.ModelInfo model) {
+        return model.tags() != null && !model.tags().isEmpty() ? String.join(", ", model.tags()) : model.id();
+    }
+
+    private static boolean isProtected(List.ModelInfo model, java.util.List<Pattern> protectedTags, Set<String> loaded) {
+        if (model.tags() == null) {
+            return false;
+        }
+        return model.tags().stream().anyMatch(tag ->
+            loaded.contains(normalize(tag)) || protectedTags.stream().anyMatch(pattern -> pattern.matcher(tag).find())
+        );
+    }
+
+    /**
+     * Reduces a reference to the short form DMR uses for loaded models, e.g. {@code docker.io/ai/smollm2:latest} to
+     * {@code ai/smollm2}.
+     */
+    static String normalize(String reference) {
+        var normalized = reference.startsWith("docker.io/") ? reference.substring("docker.io/".length()) : reference;
+        return normalized.endsWith(":latest") ? normalized.substring(0, normalized.length() - ":latest".length()) : normalized;
+    }
+
+    /**
+     * Lists the models loaded by DMR, best effort since older versions don't expose them.
+     */
+    private Set<String> loadedModels(RunContext runContext) throws Exception {
+        try {
+            var body = this.execute(runContext, "GET", LOADED_MODELS_PATH, null, "list loaded models");
+            var loaded = new HashSet<String>();
+            for (var runner : MAPPER.readTree(body)) {
+                if (runner.hasNonNull("model_name")) {
+                    loaded.add(normalize(runner.get("model_name").asText()));
+                }
+            }
+            return loaded;
+        } catch (IllegalStateException | JsonProcessingException e) {
+            runContext.logger().warn("Unable to list the models loaded by Docker Model Runner, none will be considered loaded: {}", e.getMessage());
+            return Set.of();
+        }
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "A model deleted to meet the budget")
+    public static class PrunedModel {
+        @Schema(title = "Content digest")
+        private final String id;
+
+        @Schema(title = "Tags that pointed at the model")
+        private final java.util.List<String> tags;
+
+        @Schema(title = "Creation timestamp", description = "Unix epoch seconds at which the model was created.")
+        private final Long created;
+
+        @Schema(title = "On-disk size in bytes")
+        private final Long sizeBytes;
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Output of the Prune task")
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Models deleted, oldest first", description = "With `dryRun`, the models that would be deleted.")
+        private final java.util.List<PrunedModel> models;
+
+        @Schema(title = "Disk space freed in bytes")
+        private final Long freedBytes;
+
+        @Schema(title = "Size of the remaining models in bytes")
+        private final Long totalBytes;
+
+        @Schema(title = "Whether the remaining models fit in `maxSize`")
+        private final Boolean withinBudget;
+
+        @Schema(title = "Whether this was a dry run")
+        private final Boolean dryRun;
+    }
+}
@@ -1,23 +1,27 @@
 package io.kestra.plugin.docker.model;
 
-import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.kestra.core.http.HttpRequest;
 import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
-import io.kestra.core.models.tasks.VoidOutput;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.JacksonMapper;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
@@ -30,8 +34,14 @@ import lombok.experimental.SuperBuilder;
     title = "Pull a model via Docker Model Runner",
     description = """
         Pulls a model from a registry using the Docker Model Runner (DMR) REST API.
-        The model is streamed line by line; each status line is logged at debug level,
-        and a summary is logged at info level once the pull completes.
+        The progress stream is parsed as it arrives: download progress is logged at info level at most every few seconds,
+        each status line is logged at debug level, and bytes downloaded, throughput and duration are recorded as metrics.
+        Once the pull completes, the model is looked up to return its digest, tags and size.
+        With the `IF_NOT_PRESENT` or `IF_NEWER` pull policy, the local models are checked first so that frequent flows
+        don't trigger a transfer, or with `IF_NOT_PRESENT` even a registry call, when the model is already there.
+        Several models can be listed in `models` to be pulled in parallel, up to `concurrency` at once; every model is
+        attempted, and the task fails afterwards if any of them failed.
+        An interrupted pull is sent again, up to `maxRetries` times; DMR then only downloads the layers it doesn't have yet.
         Throws if any line contains an error field or if the server returns a non-2xx response.
         """
 )
@@ -48,56 +58,424 @@ import lombok.experimental.SuperBuilder;
                   - id: pull
                     type: io.kestra.plugin.docker.model.Pull
                     model: ai/smollm2
+
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "Pulled {{ outputs.pull.id }} ({{ outputs.pull.size }})"
+                """
+        ),
+        @Example(
+            title = "Pull a model only when the registry has a newer version of it",
+            full = true,
+            code = """
+                id: docker_model_pull_if_newer
+                namespace: company.team
+
+                tasks:
+                  - id: pull
+                    type: io.kestra.plugin.docker.model.Pull
+                    model: ai/smollm2
+                    pullPolicy: IF_NEWER
+                """
+        ),
+        @Example(
+            title = "Provision a worker with several models, pulled in parallel",
+            full = true,
+            code = """
+                id: docker_model_provision
+                namespace: company.team
+
+                tasks:
+                  - id: pull
+                    type: io.kestra.plugin.docker.model.Pull
+                    models:
+                      - ai/smollm2
+                      - ai/qwen3
+                      - ai/nomic-embed-text-v1.5
+                    pullPolicy: IF_NOT_PRESENT
+                    concurrency: 3
                 """
         )
+    },
+    metrics = {
+        @Metric(name = "bytes.downloaded", type = Counter.TYPE, unit = "bytes", description = "Bytes downloaded, across all models"),
+        @Metric(name = "bytes.total", type = Counter.TYPE, unit = "bytes", description = "Total size of the pulled models, as announced by DMR"),
+        @Metric(name = "bytes.per.second", type = Counter.TYPE, unit = "bytes/s", description = "Average download throughput, across all models"),
+        @Metric(name = "duration", type = Timer.TYPE, description = "Duration of the task"),
+        @Metric(name = "models.pulled", type = Counter.TYPE, description = "Number of models transferred"),
+        @Metric(name = "skipped", type = Counter.TYPE, description = "Number of models the pull policy found up to date, so that no transfer happened"),
+        @Metric(name = "bytes.wasted", type = Counter.TYPE, unit = "bytes", description = "Bytes of layers left incomplete by interrupted attempts, which may have been downloaded again"),
+        @Metric(name = "retries", type = Counter.TYPE, description = "Number of requests sent again after a transient failure"),
+        @Metric(name = "timeouts", type = Counter.TYPE, description = "Number of requests that timed out, tagged by `cause`: `connect`, `idle` or `deadline`")
     }
 )
-public class Pull extends AbstractModel implements RunnableTask<VoidOutput> {
+public class Pull extends AbstractModel implements RunnableTask<Pull.Output> {
 
     private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final Duration PROGRESS_LOG_INTERVAL = Duration.ofSeconds(5);
 
     @Schema(
         title = "Model identifier",
-        description = "The model to pull, e.g. `ai/smollm2` or `hf.co/org/repo`."
+        description = "The model to pull, e.g. `ai/smollm2` or `hf.co/org/repo`. Either `model` or `models` is required."
     )
-    @NotNull
     @PluginProperty(group = "main")
     private Property<String> model;
 
+    @Schema(
+        title = "Pull policy",
+        description = """
+            `ALWAYS` sends the pull to DMR every time.
+            `IF_NOT_PRESENT` only pulls if the model is not available locally.
+            `IF_NEWER` also pulls if the digest of the model in the registry differs from the local one.
+            """
+    )
+    @PluginProperty(group = "execution")
+    @Builder.Default
+    private Property<PullPolicy> pullPolicy = Property.ofValue(PullPolicy.ALWAYS);
+
+    @Schema(
+        title = "Model identifiers",
+        description = "Several models to pull in parallel, e.g. to provision a worker. Can be combined with `model`."
+    )
+    @PluginProperty(group = "main")
+    private Property<java.util.List<String>> models;
+
+    @Schema(
+        title = "Maximum number of models pulled at once",
+        description = "Only applies when several models are pulled."
+    )
+    @PluginProperty(group = "execution")
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
     @Override
-    public VoidOutput run(RunContext runContext) throws Exception {
-        var rModel = runContext.render(this.model).as(String.class)
-            .orElseThrow(() -> new IllegalArgumentException("The `model` property is required, e.g. `ai/smollm2`."));
-        var rHost = resolvedHost(runContext);
+    public Output run(RunContext runContext) throws Exception {
+        var rModels = ModelFanOut.render(runContext, this.model, this.models);
+        var rPullPolicy = runContext.render(this.pullPolicy).as(PullPolicy.class).orElse(PullPolicy.ALWAYS);
+        var rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(4);
+
+        var start = System.nanoTime();
+        java.util.List<PulledModel> results;
+        try {
+            results = ModelFanOut.run(rModels, rConcurrency, "pull", rModel -> this.pull(runContext, rModel, rPullPolicy));
+        } finally {
+            List.invalidateCache(resolvedHost(runContext));
+        }
+        var duration = Duration.ofNanos(System.nanoTime() - start);
+
+        var downloaded = results.stream().mapToLong(PulledModel::getDownloadedBytes).sum();
+        var total = results.stream().filter(result -> result.getTotalBytes() != null).mapToLong(PulledModel::getTotalBytes).sum();
+        var skipped = results.stream().filter(result -> !result.getPulled()).count();
+        runContext.metric(Counter.of("bytes.downloaded", downloaded));
+        runContext.metric(Counter.of("bytes.wasted", results.stream().filter(result -> result.getWastedBytes() != null).mapToLong(PulledModel::getWastedBytes).sum()));
+        if (results.stream().anyMatch(result -> result.getTotalBytes() != null)) {
+            runContext.metric(Counter.of("bytes.total", total));
+        }
+        if (skipped < results.size()) {
+            runContext.metric(Counter.of("bytes.per.second", duration.isZero() ? 0d : downloaded / (duration.toNanos() / 1_000_000_000d)));
+        }
+        runContext.metric(Counter.of("models.pulled", results.size() - skipped));
+        runContext.metric(Counter.of("skipped", skipped));
+        runContext.metric(Timer.of("duration", duration));
+
+        var output = Output.builder()
+            .models(results)
+            .downloadedBytes(downloaded)
+            .duration(duration);
+        if (results.size() == 1) {
+            var result = results.getFirst();
+            output
+                .model(result.getModel())
+                .id(result.getId())
+                .tags(result.getTags())
+                .size(result.getSize())
+                .pulled(result.getPulled())
+                .totalBytes(result.getTotalBytes());
+        } else {
+            runContext.logger().info("Pulled {} of {} models in {} ({} downloaded)", results.size() - skipped, results.size(), duration, humanBytes(downloaded));
+        }
+        return output.build();
+    }
+
+    private PulledModel pull(RunContext runContext, String rModel, PullPolicy rPullPolicy) throws Exception {
         var logger = runContext.logger();
+        var id = ModelIdentifier.parse(rModel);
 
-        var request = HttpRequest.builder()
-            .uri(URI.create(rHost + "/models/create"))
-            .method("POST")
-            .body(HttpRequest.JsonRequestBody.of(Map.of("from", rModel)))
-            .build();
+        if (rPullPolicy != PullPolicy.ALWAYS) {
+            var start = System.nanoTime();
+            var local = this.findLocal(runContext, id, rModel);
+            if (local != null && (rPullPolicy == PullPolicy.IF_NOT_PRESENT || this.isUpToDate(runContext, id, rModel, local))) {
+                logger.info("Model {} is up to date ({}), skipping the pull", rModel, local.id());
+                return pulledModel(rModel, local)
+                    .pulled(false)
+                    .downloadedBytes(0L)
+                    .duration(Duration.ofNanos(System.nanoTime() - start))
+                    .build();
+            }
+        }
 
-        this.executeStreaming(runContext, request, line ->
+        var progress = new Progress(rModel, logger);
+        var debug = logger.isDebugEnabled();
+        var action = "pull model '" + rModel + "'";
+        // a pull sent again resumes: DMR keeps the layers it completed and only downloads the others
+        this.withRetry(runContext, action, () ->
         {
-            if (line.isBlank()) {
+            progress.beginAttempt();
+            this.executeStreamingBody(runContext, "POST", "/models/create", Map.of("from", rModel), body -> PullEvent.readAll(body, debug, event ->
+            {
+                if (debug) {
+                    logger.debug("{}: {}", event.type(), event.message());
+                }
+                progress.accept(event);
+            }), action);
+            return null;
+        });
+
+        var duration = progress.elapsed();
+        if (progress.wasted() > 0) {
+            logger.info(
+                "Pulled model {} in {} ({} downloaded, up to {} of which again after {} interrupted attempt(s))",
+                rModel, duration, humanBytes(progress.downloaded()), humanBytes(progress.wasted()), progress.attempts() - 1
+            );
+        } else {
+            logger.info("Pulled model {} in {} ({} downloaded)", rModel, duration, humanBytes(progress.downloaded()));
+        }
+
+        List.ModelInfo info;
+        try {
+            info = this.findLocal(runContext, id, rModel);
+        } catch (IllegalStateException | JsonProcessingException e) {
+            logger.warn("Unable to read the details of model {}: {}", rModel, e.getMessage());
+            info = null;
+        }
+
+        return pulledModel(rModel, info)
+            .pulled(true)
+            .downloadedBytes(progress.downloaded())
+            .wastedBytes(progress.wasted())
+            .attempts(progress.attempts())
+            .totalBytes(progress.total >= 0 ? progress.total : null)
+            .duration(duration)
+            .build();
+    }
+
+    private static PulledModel.PulledModelBuilder pulledModel(String rModel, List.ModelInfo info) {
+        var result = PulledModel.builder().model(rModel);
+        if (info != null) {
+            result
+                .id(info.id())
+                .tags(info.tags())
+                .size(info.config() != null ? info.config().size() : null);
+        }
+        return result;
+    }
+
+    /**
+     * Looks a locally available model up by its identifier.
+     *
+     * @return {@code null} if the model is not available locally
+     */
+    private List.ModelInfo findLocal(RunContext runContext, ModelIdentifier id, String rModel) throws Exception {
+        try {
+            var body = this.execute(runContext, "GET", id.path(), null, "inspect model '" + rModel + "'");
+            return MAPPER.readValue(body, List.ModelInfo.class);
+        } catch (ModelRunnerException e) {
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Compares the digest of the local model with the one in the registry. When the registry cannot be reached, the
+     * model is considered stale so that the pull runs and reports the actual failure.
+     */
+    private boolean isUpToDate(RunContext runContext, ModelIdentifier id, String rModel, List.ModelInfo local) throws Exception {
+        try {
+            var body = this.execute(runContext, "GET", id.path() + "?remote=true", null, "inspect model '" + rModel + "' in its registry");
+            var remote = MAPPER.readValue(body, List.ModelInfo.class);
+            if (remote.id() != null && remote.id().equals(local.id())) {
+                return true;
+            }
+            runContext.logger().info("Model {} has a newer version in its registry ({}, local {})", rModel, remote.id(), local.id());
+            return false;
+        } catch (IllegalStateException | JsonProcessingException e) {
+            runContext.logger().warn("Unable to read the digest of model {} in its registry, pulling it: {}", rModel, e.getMessage());
+            return false;
+        }
+    }
+
+    static String humanBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        var exponent = (int) (Math.log(bytes) / Math.log(1024));
+        return String.format("%.1f %siB", bytes / Math.pow(1024, exponent), "KMGTPE".charAt(exponent - 1));
+    }
+
+    /**
+     * Tracks the progress of a pull: layers report their own downloaded bytes, so the total is the sum of the last
+     * value seen for each layer. Counters are kept in arrays, current then size, to avoid boxing on every progress event.
+     * When a pull is sent again after a failure, the bytes of the layers that were not complete are counted as wasted,
+     * as DMR may download them again from the start.
+     */
+    static final class Progress implements Consumer<PullEvent> {
+        private final String model;
+        private final Logger logger;
+        private final long start = System.nanoTime();
+        private final Map<String, long[]> layers = new HashMap<>();
+
+        private long downloaded;
+        private long wasted;
+        private int attempts;
+        private long total = -1;
+        private long lastLog = System.nanoTime();
+
+        Progress(String model, Logger logger) {
+            this.model = model;
+            this.logger = logger;
+        }
+
+        void beginAttempt() {
+            if (this.attempts++ == 0) {
                 return;
             }
 
-            try {
-                var node = MAPPER.readTree(line);
-                if (node.has("error")) {
-                    throw new IllegalStateException(
-                        "Docker Model Runner reported an error while pulling model '" + rModel + "': " + node.get("error").asText()
+            for (var layer : this.layers.values()) {
+                if (layer[1] < 0 || layer[0] < layer[1]) {
+                    this.wasted += layer[0];
+                    layer[0] = 0;
+                }
+            }
+        }
+
+        @Override
+        public void accept(PullEvent event) {
+            if (event.isError()) {
+                throw new IllegalStateException(
+                    "Docker Model Runner reported an error while pulling model '" + this.model + "': " + (event.error() != null ? event.error() : event.message())
+                );
+            }
+
+            if (event.total() >= 0) {
+                this.total = event.total();
+            }
+            if (event.layerId() != null && event.layerCurrent() >= 0) {
+                var layer = this.layers.computeIfAbsent(event.layerId(), id -> new long[]{0, -1});
+                this.downloaded += event.layerCurrent() - layer[0];
+                layer[0] = event.layerCurrent();
+                if (event.layerSize() >= 0) {
+                    layer[1] = event.layerSize();
+                }
+            }
+
+            var now = System.nanoTime();
+            if (PullEvent.PROGRESS.equals(event.type()) && now - this.lastLog >= PROGRESS_LOG_INTERVAL.toNanos()) {
+                this.lastLog = now;
+                var rate = this.downloaded / ((now - this.start) / 1_000_000_000d);
+                var kept = this.downloaded - this.wasted;
+                if (this.total > 0) {
+                    this.logger.info(
+                        "Pulling {}: {}% ({} / {}) at {}/s",
+                        this.model, kept * 100 / this.total, humanBytes(kept), humanBytes(this.total), humanBytes((long) rate)
                     );
+                } else {
+                    this.logger.info("Pulling {}: {} at {}/s", this.model, humanBytes(kept), humanBytes((long) rate));
                 }
-                logger.debug("{}", line);
-            } catch (JsonProcessingException e) {
-                // Non-JSON lines are treated as plain status output.
-                logger.debug("{}", line);
             }
-        }, "pull model '" + rModel + "'");
+        }
+
+        long downloaded() {
+            return this.downloaded;
+        }
+
+        long wasted() {
+            return this.wasted;
+        }
+
+        int attempts() {
+            return this.attempts;
+        }
+
+        Duration elapsed() {
+            return Duration.ofNanos(System.nanoTime() - this.start);
+        }
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Result of pulling one model")
+    public static class PulledModel {
+        @Schema(title = "Pulled model identifier")
+        private final String model;
+
+        @Schema(
+            title = "Content digest",
+            description = "Content-addressable identifier of the model, e.g. `sha256:...`. Not set if the model details could not be read after the pull."
+        )
+        private final String id;
+
+        @Schema(title = "Tags pointing at the model")
+        private final java.util.List<String> tags;
+
+        @Schema(title = "On-disk size", description = "e.g. `260.86MiB`.")
+        private final String size;
+
+        @Schema(title = "Whether the model was pulled", description = "`false` when the pull policy found the model up to date.")
+        private final Boolean pulled;
+
+        @Schema(title = "Bytes downloaded", description = "0 when the model was already up to date. Includes the bytes downloaded by interrupted attempts.")
+        private final Long downloadedBytes;
+
+        @Schema(
+            title = "Bytes possibly downloaded for nothing",
+            description = "Bytes of the layers that were incomplete when an attempt was interrupted, which DMR may have downloaded again."
+        )
+        private final Long wastedBytes;
+
+        @Schema(title = "Number of times the pull was sent", description = "More than 1 when it was retried after a failure.")
+        private final Integer attempts;
+
+        @Schema(title = "Total size of the model in bytes, as announced by DMR while pulling")
+        private final Long totalBytes;
+
+        @Schema(title = "Duration of the pull", description = "Only covers the local and registry checks when the pull was skipped.")
+        private final Duration duration;
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Output of the Pull task")
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Pulled model identifier", description = "Only set when a single model was pulled, as are the other details of the model.")
+        private final String model;
+
+        @Schema(
+            title = "Content digest",
+            description = "Content-addressable identifier of the model, e.g. `sha256:...`. Not set if the model details could not be read after the pull."
+        )
+        private final String id;
+
+        @Schema(title = "Tags pointing at the model")
+        private final java.util.List<String> tags;
+
+        @Schema(title = "On-disk size", description = "e.g. `260.86MiB`.")
+        private final String size;
+
+        @Schema(title = "Whether the model was pulled", description = "`false` when the pull policy found the model up to date.")
+        private final Boolean pulled;
+
+        @Schema(title = "Total size of the model in bytes, as announced by DMR while pulling")
+        private final Long totalBytes;
+
+        @Schema(title = "Bytes downloaded, across all models", description = "0 when the models were already up to date.")
+        private final Long downloadedBytes;
+
+        @Schema(title = "Duration of the task, across all models")
+        private final Duration duration;
 
-        logger.info("Pulled model {}", rModel);
-        return null;
+        @Schema(title = "Result of each model, in the order they were declared")
+        private final java.util.List<PulledModel> models;
     }
 }
@@ -0,0 +1,291 @@
+package io.kestra.plugin.docker.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * A line of the newline-delimited JSON stream sent by DMR while pulling a model, e.g.
+ * {@code {"type":"progress","message":"Downloaded: 0.01 MB","total":274303184,"layer":{"id":"sha256:abc","size":12624,"current":12624},"mode":"pull"}}.
+ * <p>
+ * Multi-GB pulls send progress lines at a high rate, so each line is read with a Jackson streaming parser straight
+ * from the bytes of the response body and only the fields below are extracted: no String is built per line, nor a
+ * tree per event.
+ * A single instance is reused from one event to the next; read what is needed in the consumer and don't keep it.
+ */
+final class PullEvent {
+    static final String PROGRESS = "progress";
+    static final String SUCCESS = "success";
+    static final String ERROR = "error";
+
+    private static final JsonFactory FACTORY = JacksonMapper.ofJson().getFactory();
+
+    private String type;
+    private String message;
+    private String error;
+    private long total;
+    private String layerId;
+    private long layerSize;
+    private long layerCurrent;
+    // kept across events, unlike the fields above
+    private String lastLayerId;
+
+    private PullEvent() {
+        this.reset();
+    }
+
+    /**
+     * Parses every event of a progress stream, until its end. Each line is parsed on its own, so that a line that is
+     * not JSON, such as a plain status line, is skipped rather than failing the whole stream.
+     *
+     * @param withMessages whether to read the human-readable {@code message} field, only needed for logging; it is
+     *                     always read on error events
+     */
+    static void readAll(InputStream inputStream, boolean withMessages, Consumer<PullEvent> consumer) throws IOException {
+        var lines = new Lines(inputStream);
+        var event = new PullEvent();
+        while (lines.next()) {
+            try (var parser = FACTORY.createParser(lines.bytes, lines.offset, lines.length)) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    if (token != JsonToken.START_OBJECT) {
+                        // anything but an object carries no event
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    event.reset();
+                    event.read(parser, withMessages);
+                    consumer.accept(event);
+                }
+            } catch (JsonParseException e) {
+                // plain status output, skip to the next line
+            }
+        }
+    }
+
+    private void read(JsonParser parser, boolean withMessages) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            // field names are canonicalized by the parser, so no String is built for them
+            var field = parser.currentName();
+            var value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                case "type" -> this.type = constant(parser, PROGRESS, SUCCESS, ERROR);
+                case "message" -> {
+                    // the type may come after the message, so keep it until the event is known not to be an error
+                    if (withMessages || this.type == null || ERROR.equals(this.type)) {
+                        this.message = parser.getText();
+                    }
+                }
+                case "error" -> this.error = value == JsonToken.VALUE_STRING ? parser.getText() : parser.readValueAsTree().toString();
+                case "total" -> this.total = parser.getValueAsLong(-1);
+                case "layer" -> this.readLayer(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (!withMessages && !this.isError()) {
+            this.message = null;
+        }
+    }
+
+    private void readLayer(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                // consecutive events mostly report the same layer, reuse its id rather than decoding it again
+                case "id" -> {
+                    if (this.lastLayerId == null || !textEquals(parser, this.lastLayerId)) {
+                        this.lastLayerId = parser.getText();
+                    }
+                    this.layerId = this.lastLayerId;
+                }
+                case "size" -> this.layerSize = parser.getValueAsLong(-1);
+                case "current" -> this.layerCurrent = parser.getValueAsLong(-1);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static String constant(JsonParser parser, String... constants) throws IOException {
+        for (var constant : constants) {
+            if (textEquals(parser, constant)) {
+                return constant;
+            }
+        }
+        return parser.getValueAsString();
+    }
+
+    private static boolean textEquals(JsonParser parser, String expected) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING || parser.getTextLength() != expected.length()) {
+            return false;
+        }
+
+        var chars = parser.getTextCharacters();
+        var offset = parser.getTextOffset();
+        for (var i = 0; i < expected.length(); i++) {
+            if (chars[offset + i] != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void reset() {
+        this.type = null;
+        this.message = null;
+        this.error = null;
+        this.total = -1;
+        this.layerId = null;
+        this.layerSize = -1;
+        this.layerCurrent = -1;
+    }
+
+    /**
+     * @return {@link #PROGRESS}, {@link #SUCCESS}, {@link #ERROR}, or {@code null} if absent
+     */
+    String type() {
+        return this.type;
+    }
+
+    /**
+     * @return the human-readable status, only read when requested or on errors
+     */
+    String message() {
+        return this.message;
+    }
+
+    /**
+     * @return the failure reason, on error events
+     */
+    String error() {
+        return this.error;
+    }
+
+    boolean isError() {
+        return this.error != null || ERROR.equals(this.type);
+    }
+
+    /**
+     * @return total size of the model in bytes, or -1 if absent
+     */
+    long total() {
+        return this.total;
+    }
+
+    /**
+     * @return the digest of the layer being downloaded, or {@code null} if absent
+     */
+    String layerId() {
+        return this.layerId;
+    }
+
+    /**
+     * @return size of the layer in bytes, or -1 if absent
+     */
+    long layerSize() {
+        return this.layerSize;
+    }
+
+    /**
+     * @return bytes of the layer downloaded so far, or -1 if absent
+     */
+    long layerCurrent() {
+        return this.layerCurrent;
+    }
+
+    /**
+     * Splits a stream into lines without decoding them. A line that fits in the read buffer is parsed in place, only
+     * one that spans two reads is copied.
+     */
+    private static final class Lines {
+        private final InputStream in;
+        private final byte[] chunk = new byte[8192];
+        private int position;
+        private int limit;
+        private byte[] spanning = new byte[1024];
+
+        private byte[] bytes;
+        private int offset;
+        private int length;
+
+        private Lines(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Moves to the next line, without its line feed.
+         *
+         * @return false at the end of the stream
+         */
+        private boolean next() throws IOException {
+            var copied = 0;
+            while (true) {
+                if (this.position == this.limit) {
+                    var read = this.in.read(this.chunk);
+                    this.position = 0;
+                    this.limit = Math.max(read, 0);
+                    if (read < 0) {
+                        // a last line without line feed
+                        this.line(this.spanning, 0, copied);
+                        return copied > 0;
+                    }
+                }
+
+                var start = this.position;
+                while (this.position < this.limit && this.chunk[this.position] != '\n') {
+                    this.position++;
+                }
+                var end = this.position;
+
+                if (end < this.limit) {
+                    this.position++;
+                    if (copied == 0) {
+                        this.line(this.chunk, start, end - start);
+                    } else {
+                        this.line(this.spanning, 0, this.append(copied, start, end));
+                    }
+                    return true;
+                }
+                copied = this.append(copied, start, end);
+            }
+        }
+
+        private int append(int copied, int start, int end) {
+            var total = copied + end - start;
+            if (total > this.spanning.length) {
+                this.spanning = Arrays.copyOf(this.spanning, Math.max(total, this.spanning.length * 2));
+            }
+            System.arraycopy(this.chunk, start, this.spanning, copied, end - start);
+            return total;
+        }
+
+        private void line(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
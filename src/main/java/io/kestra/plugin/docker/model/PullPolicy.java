@@ -0,0 +1,13 @@
+package io.kestra.plugin.docker.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(title = "When to pull a model from its registry")
+public enum PullPolicy {
+    @Schema(title = "Always pull, letting DMR download whatever changed")
+    ALWAYS,
+    @Schema(title = "Pull only if the model is not available locally, without contacting the registry otherwise")
+    IF_NOT_PRESENT,
+    @Schema(title = "Pull only if the model is not available locally or if the registry has a different digest for it")
+    IF_NEWER
+}
@@ -0,0 +1,245 @@
+package io.kestra.plugin.docker.model;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Load models into Docker Model Runner ahead of inference",
+    description = """
+        The first request sent to a Docker Model Runner (DMR) model pays for loading it into memory, which shows up as a latency spike of several seconds.
+        This task sends a minimal request to each model to load it, one token of chat completion or, for embedding models, a one-word embedding,
+        then sends it again to measure the warm latency. The difference is reported as the load time of the model.
+        With `keepAlive`, DMR is first asked to keep the models loaded for that long when idle; a refusal only logs a warning, and an acceptance is reported but not verified.
+        The models must have been pulled beforehand, e.g. with the `Pull` task.
+        """
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Pre-warm models before a latency-sensitive flow",
+            full = true,
+            code = """
+                id: docker_model_warmup
+                namespace: company.team
+
+                tasks:
+                  - id: pull
+                    type: io.kestra.plugin.docker.model.Pull
+                    models:
+                      - ai/smollm2
+                      - ai/nomic-embed-text-v1.5
+                    pullPolicy: IF_NOT_PRESENT
+
+                  - id: warmup
+                    type: io.kestra.plugin.docker.model.Warmup
+                    models:
+                      - ai/smollm2
+                      - ai/nomic-embed-text-v1.5
+                    keepAlive: PT30M
+                """
+        )
+    },
+    metrics = {
+        @Metric(name = "load.duration", type = Timer.TYPE, description = "Estimated time to load the model, tagged by model"),
+        @Metric(name = "first.request.duration", type = Timer.TYPE, description = "Duration of the request that loaded the model, tagged by model"),
+        @Metric(name = "warm.request.duration", type = Timer.TYPE, description = "Duration of the same request once the model was loaded, tagged by model"),
+        @Metric(name = "timeouts", type = Counter.TYPE, description = "Number of requests that timed out, tagged by `cause`: `connect`, `idle` or `deadline`")
+    }
+)
+public class Warmup extends AbstractModel implements RunnableTask<Warmup.Output> {
+
+    static final String CONFIGURE_PATH = "/engines/_configure";
+
+    private static final String WARMUP_INPUT = "Hello";
+
+    @Schema(
+        title = "Model identifier",
+        description = "The model to load, e.g. `ai/smollm2`. Either `model` or `models` is required."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> model;
+
+    @Schema(
+        title = "Model identifiers",
+        description = "Several models to load. Can be combined with `model`."
+    )
+    @PluginProperty(group = "main")
+    private Property<java.util.List<String>> models;
+
+    @Schema(
+        title = "How long DMR keeps the models loaded when idle",
+        description = "Not set by default, leaving DMR's own idle eviction in place."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Duration> keepAlive;
+
+    @Schema(
+        title = "Maximum number of models loaded at once",
+        description = "Models compete for memory and disk bandwidth while loading, so they are loaded one at a time by default."
+    )
+    @PluginProperty(group = "execution")
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(1);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        var rModels = ModelFanOut.render(runContext, this.model, this.models);
+        var rKeepAlive = runContext.render(this.keepAlive).as(Duration.class).orElse(null);
+        var rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(1);
+
+        var results = ModelFanOut.run(rModels, rConcurrency, "warm up", rModel -> this.warmup(runContext, rModel, rKeepAlive));
+
+        return Output.builder()
+            .models(results)
+            .build();
+    }
+
+    private WarmedModel warmup(RunContext runContext, String rModel, Duration rKeepAlive) throws Exception {
+        var logger = runContext.logger();
+
+        var keepAliveAccepted = rKeepAlive != null && this.configureKeepAlive(runContext, rModel, rKeepAlive);
+
+        var endpoint = Endpoint.COMPLETION;
+        var start = System.nanoTime();
+        try {
+            this.send(runContext, rModel, endpoint);
+        } catch (ModelRunnerException e) {
+            if (!rejectsCompletions(e)) {
+                throw e;
+            }
+
+            logger.debug("Model {} rejected a chat completion, trying embeddings: {}", rModel, e.getMessage());
+            endpoint = Endpoint.EMBEDDING;
+            start = System.nanoTime();
+            try {
+                this.send(runContext, rModel, endpoint);
+            } catch (ModelRunnerException embeddingException) {
+                embeddingException.addSuppressed(e);
+                throw embeddingException;
+            }
+        }
+        var first = Duration.ofNanos(System.nanoTime() - start);
+
+        start = System.nanoTime();
+        this.send(runContext, rModel, endpoint);
+        var warm = Duration.ofNanos(System.nanoTime() - start);
+
+        var load = first.compareTo(warm) > 0 ? first.minus(warm) : Duration.ZERO;
+        runContext.metric(Timer.of("load.duration", load, "model", rModel));
+        runContext.metric(Timer.of("first.request.duration", first, "model", rModel));
+        runContext.metric(Timer.of("warm.request.duration", warm, "model", rModel));
+        logger.info("Loaded model {} in {} (first request {}, warm request {})", rModel, load, first, warm);
+
+        return WarmedModel.builder()
+            .model(rModel)
+            .endpoint(endpoint)
+            .loadDuration(load)
+            .firstRequestDuration(first)
+            .warmRequestDuration(warm)
+            .keepAliveAccepted(keepAliveAccepted)
+            .build();
+    }
+
+    /**
+     * Whether the model refused a chat completion because it only serves embeddings, e.g. {@code model does not
+     * support chat completions}. Any other failure, such as an unknown model or a crashed runner, is not retried.
+     */
+    static boolean rejectsCompletions(ModelRunnerException e) {
+        var status = e.statusCode();
+        if (status != 400 && status != 422 && status != 501) {
+            return false;
+        }
+        var message = Objects.toString(e.getMessage(), "").toLowerCase(Locale.ROOT);
+        return message.contains("not support") && message.contains("completion");
+    }
+
+    private void send(RunContext runContext, String rModel, Endpoint endpoint) throws Exception {
+        if (endpoint == Endpoint.COMPLETION) {
+            var body = ChatCompletions.body(rModel, java.util.List.of(new ChatCompletion.ChatMessage(ChatCompletion.ChatMessage.Role.USER, WARMUP_INPUT)), 0d, 1);
+            this.execute(runContext, "POST", ChatCompletions.PATH, body, "warm up model '" + rModel + "'");
+        } else {
+            this.execute(runContext, "POST", Embed.PATH, Map.of("model", rModel, "input", WARMUP_INPUT), "warm up model '" + rModel + "'");
+        }
+    }
+
+    /**
+     * Asks DMR to keep the model loaded while idle. Older DMR versions don't know the setting, and a model that is
+     * already loaded can't be reconfigured, so a refusal is only logged.
+     *
+     * @return whether DMR answered successfully, which doesn't prove that it applies the setting
+     */
+    private boolean configureKeepAlive(RunContext runContext, String rModel, Duration rKeepAlive) throws Exception {
+        try {
+            // DMR parses the value as a Go duration
+            this.execute(runContext, "POST", CONFIGURE_PATH, Map.of("model", rModel, "keep_alive", rKeepAlive.toSeconds() + "s"), "configure model '" + rModel + "'");
+            return true;
+        } catch (ModelRunnerException e) {
+            runContext.logger().warn("Unable to keep model {} loaded for {}, DMR will unload it when idle: {}", rModel, rKeepAlive, e.getMessage());
+            return false;
+        }
+    }
+
+    @Schema(title = "Endpoint used to load a model")
+    public enum Endpoint {
+        COMPLETION,
+        EMBEDDING
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Result of loading one model")
+    public static class WarmedModel {
+        @Schema(title = "Model identifier")
+        private final String model;
+
+        @Schema(title = "Endpoint used to load the model", description = "`EMBEDDING` when the model rejected chat completions.")
+        private final Endpoint endpoint;
+
+        @Schema(
+            title = "Estimated load time",
+            description = "Duration of the first request minus that of the warm one; close to zero if the model was already loaded."
+        )
+        private final Duration loadDuration;
+
+        @Schema(title = "Duration of the request that loaded the model")
+        private final Duration firstRequestDuration;
+
+        @Schema(title = "Duration of the same request once the model was loaded")
+        private final Duration warmRequestDuration;
+
+        @Schema(
+            title = "Whether DMR accepted the `keepAlive` setting",
+            description = "Only tells that DMR answered the request successfully: DMR versions that ignore the setting accept it as well, and DMR doesn't report how long it keeps a model loaded, so it isn't verified."
+        )
+        private final Boolean keepAliveAccepted;
+    }
+
+    @Builder
+    @Getter
+    @Schema(title = "Output of the Warmup task")
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Result of each model, in the order they were declared")
+        private final java.util.List<WarmedModel> models;
+    }
+}
@@ -18,7 +18,11 @@ import io.kestra.core.utils.TestsUtils;
 import jakarta.inject.Inject;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 @KestraTest
 class BuildTest {
@@ -95,4 +99,80 @@ class BuildTest {
         Build.Output run = task.run(runContext);
         assertThat(run.getImageId(), notNullValue());
     }
+
+    @Test
+    void variants() throws Exception {
+        Build task = Build.builder()
+            .id("unit-test")
+            .type(Build.class.getName())
+            .tags(Property.ofValue(List.of("unit-test-variants:1.0")))
+            .buildArgs(Property.ofValue(Map.of("GREETING", "hello")))
+            .concurrency(Property.ofValue(2))
+            .variants(List.of(
+                Build.Variant.builder().name(Property.ofValue("base")).target(Property.ofValue("base")).build(),
+                Build.Variant.builder().name(Property.ofValue("bonjour")).buildArgs(Property.ofValue(Map.of("GREETING", "bonjour"))).build(),
+                Build.Variant.builder().name(Property.ofValue("custom")).tags(Property.ofValue(List.of("unit-test-variants:custom"))).build()
+            ))
+            .dockerfile(Property.ofValue("""
+                    FROM ubuntu AS base
+                    ARG GREETING
+                    RUN echo "${GREETING}" > /greeting
+
+                    FROM base AS final
+                    RUN cat /greeting
+                """))
+            .build();
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, ImmutableMap.of());
+
+        Build.Output run = task.run(runContext);
+        assertThat(run.getImageId(), nullValue());
+        assertThat(run.getVariants().keySet(), contains("base", "bonjour", "custom"));
+        assertThat(run.getVariants().get("base").getTags(), containsInAnyOrder("unit-test-variants:1.0-base"));
+        assertThat(run.getVariants().get("custom").getTags(), containsInAnyOrder("unit-test-variants:custom"));
+        run.getVariants().values().forEach(variant ->
+        {
+            assertThat(variant.getImageId(), notNullValue());
+            assertThat(variant.getDuration(), notNullValue());
+        });
+    }
+
+    @Test
+    void exclude() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        var workingDir = runContext.workingDir().path();
+        Files.createDirectories(workingDir.resolve("data"));
+        Files.write(workingDir.resolve("data/large.bin"), new byte[1024]);
+        Files.writeString(workingDir.resolve("data/schema.json"), "{}");
+        Files.writeString(workingDir.resolve("debug.log"), "debug");
+        Files.writeString(workingDir.resolve(".dockerignore"), "# logs\n*.log\n");
+        Files.writeString(workingDir.resolve("Dockerfile"), """
+                FROM alpine:3.19
+                COPY . /context
+                RUN test -e /context/data/schema.json && test ! -e /context/data/large.bin && test ! -e /context/debug.log
+            """);
+
+        Build task = Build.builder()
+            .id("unit-test")
+            .type(Build.class.getName())
+            .tags(Property.ofValue(List.of("unit-test-exclude")))
+            .dockerfile(Property.ofValue("Dockerfile"))
+            .exclude(Property.ofValue(List.of("data/**", "!data/schema.json")))
+            .build();
+
+        Build.Output run = task.run(runContext);
+        assertThat(run.getImageId(), notNullValue());
+        assertThat(
+            runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("bytes.excluded") && ((Number) metric.getValue()).longValue() == 1024 + "debug".length()),
+            is(true)
+        );
+    }
+
+    @Test
+    void variantTag() {
+        assertThat(Build.variantTag("my-app:1.0", "slim"), is("my-app:1.0-slim"));
+        assertThat(Build.variantTag("my-app", "slim"), is("my-app:slim"));
+        assertThat(Build.variantTag("registry:5000/my-app", "slim"), is("registry:5000/my-app:slim"));
+    }
 }
@@ -0,0 +1,85 @@
+package io.kestra.plugin.docker.cli;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.scripts.exec.scripts.models.ScriptOutput;
+import io.kestra.plugin.scripts.runner.docker.Docker;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+@KestraTest
+class BuildxTest extends AbstractDockerHelper {
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @Test
+    void buildWithCacheAndSecretMounts() throws Exception {
+        var task = Buildx.builder()
+            .id("buildx")
+            .type(Buildx.class.getName())
+            .taskRunner(
+                Docker.builder()
+                    .type(Docker.instance().getType())
+                    .volumes(List.of("/var/run/docker.sock:/var/run/docker.sock"))
+                    .build()
+            )
+            .dockerfile(Property.ofValue("""
+                # syntax=docker/dockerfile:1
+                FROM alpine:3.19
+                RUN --mount=type=cache,target=/var/cache/apk apk add --no-cache jq
+                RUN --mount=type=secret,id=api-token test "$(cat /run/secrets/api-token)" = "s3cr3t"
+                """))
+            .tags(Property.ofValue(List.of("unit-test:buildx")))
+            .secrets(Property.ofValue(Map.of("api-token", "s3cr3t")))
+            .inlineCache(Property.ofValue(true))
+            .build();
+
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+        var output = task.run(runContext);
+
+        assertThat(output.getExitCode(), is(0));
+        assertThat((String) output.getVars().get("imageId"), startsWith("sha256:"));
+    }
+
+    @Test
+    void withMetadata_exposesImageIdAndDigest() {
+        var output = ScriptOutput.builder()
+            .exitCode(0)
+            .vars(Map.of("metadata", Map.of("containerimage.config.digest", "sha256:config", "containerimage.digest", "sha256:manifest")))
+            .build();
+
+        var vars = Buildx.withMetadata(output).getVars();
+        assertThat(vars.get("imageId"), is("sha256:config"));
+        assertThat(vars.get("digest"), is("sha256:manifest"));
+
+        var withoutMetadata = ScriptOutput.builder().exitCode(0).vars(Map.of()).build();
+        assertThat(Buildx.withMetadata(withoutMetadata).getVars().get("imageId"), nullValue());
+    }
+
+    @Test
+    void quote_onlyWhenNeeded() {
+        assertThat(Buildx.quote("registry.example.com/my-app:1.0"), is("registry.example.com/my-app:1.0"));
+        assertThat(Buildx.quote("type=registry,ref=ghcr.io/team/app:cache,mode=max"), is("type=registry,ref=ghcr.io/team/app:cache,mode=max"));
+        assertThat(Buildx.quote("MESSAGE=hello world"), is("'MESSAGE=hello world'"));
+        assertThat(Buildx.quote("it's $HOME"), is("'it'\"'\"'s $HOME'"));
+        assertThat(Buildx.quote(""), is("''"));
+    }
+
+    @Test
+    void secretEnv_isAValidVariableName() {
+        assertThat(Buildx.secretEnv("npm-token"), is("BUILDX_SECRET_NPM_TOKEN"));
+        assertThat(Buildx.secretEnv("aws.credentials"), is("BUILDX_SECRET_AWS_CREDENTIALS"));
+    }
+}
@@ -0,0 +1,122 @@
+package io.kestra.plugin.docker.cli;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ComposeProjectTest {
+    @TempDir
+    Path tempDir;
+
+    private Path write(String content) throws Exception {
+        return Files.writeString(Files.createTempFile(this.tempDir, "compose", ".yaml"), content);
+    }
+
+    @Test
+    void levelsFollowDependencies() throws Exception {
+        var project = ComposeProject.parse(List.of(write("""
+            services:
+              app:
+                image: nginx
+                depends_on: [api]
+              api:
+                image: alpine
+                depends_on:
+                  db:
+                    condition: service_healthy
+                  cache:
+                    condition: service_started
+              db:
+                image: postgres
+              cache:
+                image: redis
+            """)), null, "My Flow");
+
+        assertThat(project.name(), is("myflow"));
+
+        var levels = project.levels().stream()
+            .map(level -> level.stream().map(ComposeProject.Service::name).toList())
+            .toList();
+        assertThat(levels, contains(List.of("db", "cache"), List.of("api"), List.of("app")));
+    }
+
+    @Test
+    void stopGracePeriod() throws Exception {
+        var project = ComposeProject.parse(List.of(write("""
+            services:
+              db:
+                image: postgres
+                stop_grace_period: 1m30s
+              cache:
+                image: redis
+            """)), "stack", "flow");
+
+        assertThat(project.services().get("db").stopGracePeriod(), is(Duration.ofSeconds(90)));
+        assertThat(project.services().get("cache").stopGracePeriod(), is((Duration) null));
+    }
+
+    @Test
+    void laterFilesOverrideEarlierOnes() throws Exception {
+        var project = ComposeProject.parse(
+            List.of(
+                write("""
+                    name: base
+                    services:
+                      web:
+                        image: nginx:1.25
+                        environment:
+                          A: "1"
+                    """),
+                write("""
+                    services:
+                      web:
+                        image: nginx:1.27
+                        command: nginx -g "daemon off;"
+                    """)
+            ),
+            null,
+            "fallback"
+        );
+
+        var web = project.services().get("web");
+        assertThat(project.name(), is("base"));
+        assertThat(web.image(), is("nginx:1.27"));
+        assertThat(web.environment(), contains("A=1"));
+        assertThat(web.command(), contains("nginx", "-g", "daemon off;"));
+        assertThat(project.networks().get("default").dockerName(), is("base_default"));
+    }
+
+    @Test
+    void circularDependencyIsRejected() throws Exception {
+        var file = write("""
+            services:
+              a:
+                image: alpine
+                depends_on: [b]
+              b:
+                image: alpine
+                depends_on: [a]
+            """);
+
+        var project = ComposeProject.parse(List.of(file), "loop", "fallback");
+        var exception = assertThrows(IllegalArgumentException.class, project::levels);
+        assertThat(exception.getMessage(), containsString("Circular dependency"));
+    }
+
+    @Test
+    void parseDuration() {
+        assertThat(ComposeProject.parseDuration("1m30s"), is(Duration.ofSeconds(90)));
+        assertThat(ComposeProject.parseDuration("500ms"), is(Duration.ofMillis(500)));
+        assertThrows(IllegalArgumentException.class, () -> ComposeProject.parseDuration("10 seconds"));
+    }
+}
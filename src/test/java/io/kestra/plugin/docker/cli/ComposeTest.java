@@ -1,5 +1,9 @@
 package io.kestra.plugin.docker.cli;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -16,7 +20,10 @@ import io.kestra.plugin.scripts.runner.docker.Docker;
 import jakarta.inject.Inject;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 @KestraTest
 class ComposeTest extends AbstractDockerHelper {
@@ -98,4 +105,162 @@ class ComposeTest extends AbstractDockerHelper {
         runContext = TestsUtils.mockRunContext(runContextFactory, upTask, Map.of());
         downTask.run(runContext);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void nativeUpStartsServicesByDependencyLevel() throws Exception {
+        var composeContent = """
+            services:
+              cache:
+                image: redis:6.2.17-alpine
+                healthcheck:
+                  test: ["CMD", "redis-cli", "ping"]
+                  interval: 1s
+                  retries: 30
+              worker:
+                image: alpine:3.19
+                command: sh -c "sleep 30"
+                depends_on:
+                  cache:
+                    condition: service_healthy
+            """;
+
+        var upTask = Compose.builder()
+            .id("compose-native-up")
+            .type(Compose.class.getName())
+            .engine(Property.ofValue(Compose.Engine.NATIVE))
+            .composeFile(Property.ofValue(composeContent))
+            .composeArgs(Property.ofValue(List.of("-p", "kestra_native_compose_test", "up")))
+            .build();
+
+        var runContext = TestsUtils.mockRunContext(runContextFactory, upTask, Map.of());
+        var output = upTask.run(runContext);
+
+        assertThat(output.getExitCode(), is(0));
+        var services = (Map<String, String>) output.getVars().get("services");
+        assertThat(services, hasKey("cache"));
+        assertThat(services, hasKey("worker"));
+
+        try (DockerClient client = getDockerClient(runContext, null, null, null)) {
+            var state = client.inspectContainerCmd(services.get("cache")).exec().getState();
+            assertThat(state.getHealth().getStatus(), is("healthy"));
+            assertThat(client.inspectContainerCmd(services.get("worker")).exec().getState().getRunning(), is(true));
+        }
+
+        var downTask = Compose.builder()
+            .id("compose-native-down")
+            .type(Compose.class.getName())
+            .engine(Property.ofValue(Compose.Engine.NATIVE))
+            .composeFile(Property.ofValue(composeContent))
+            .composeArgs(Property.ofValue(List.of("-p", "kestra_native_compose_test", "down")))
+            .build();
+        downTask.run(TestsUtils.mockRunContext(runContextFactory, downTask, Map.of()));
+
+        try (DockerClient client = getDockerClient(runContext, null, null, null)) {
+            var remaining = client.listContainersCmd()
+                .withShowAll(true)
+                .withLabelFilter(Map.of("com.docker.compose.project", "kestra_native_compose_test"))
+                .exec();
+            assertThat(remaining.isEmpty(), is(true));
+        }
+    }
+
+    @Test
+    void storedComposeFilesAreCachedOnTheWorker() throws Exception {
+        var task = Compose.builder()
+            .id("compose-cache")
+            .type(Compose.class.getName())
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var content = "services:\n  app:\n    image: alpine:3.19\n";
+        var uri = runContext.storage().putFile(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "compose.yaml");
+
+        var first = ComposeFileCache.fetch(runContext, uri);
+        var entry = ComposeFileCache.DIRECTORY.resolve(ComposeFileCache.storageKey(runContext, uri) + ".yaml");
+        assertThat(Files.exists(entry), is(true));
+
+        // the second fetch is served from the cache, each call still gets its own copy in the working directory
+        var second = ComposeFileCache.fetch(runContext, uri);
+        assertThat(second.equals(first), is(false));
+        assertThat(second.startsWith(runContext.workingDir().path()), is(true));
+        assertThat(Files.readString(second), is(content));
+    }
+
+    @Test
+    void inlineComposeFilesAreCachedByContent() throws Exception {
+        var task = Compose.builder()
+            .id("compose-inline-cache")
+            .type(Compose.class.getName())
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var content = "services:\n  app:\n    image: alpine:3.20\n";
+        var first = ComposeFileCache.write(runContext, content);
+        var entry = ComposeFileCache.DIRECTORY.resolve(ComposeFileCache.sha256(content) + ".yaml");
+        assertThat(Files.exists(entry), is(true));
+
+        var second = ComposeFileCache.write(runContext, content);
+        assertThat(second.equals(first), is(false));
+        assertThat(Files.readString(second), is(content));
+        assertThat(Files.mismatch(second, entry), is(-1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void waitForHealthyReturnsServiceStatus() throws Exception {
+        var composeContent = """
+            services:
+              cache:
+                image: redis:6.2.17-alpine
+                ports:
+                  - "6379"
+                healthcheck:
+                  test: ["CMD", "redis-cli", "ping"]
+                  interval: 1s
+                  retries: 30
+              worker:
+                image: alpine:3.19
+                command: ["sh", "-c", "sleep 30"]
+            """;
+
+        var upTask = Compose.builder()
+            .id("compose-wait-up")
+            .type(Compose.class.getName())
+            .composeFile(Property.ofValue(composeContent))
+            .taskRunner(
+                Docker.builder()
+                    .type(Docker.instance().getType())
+                    .volumes(List.of("/var/run/docker.sock:/var/run/docker.sock"))
+                    .build()
+            )
+            .waitForHealthy(Property.ofValue(true))
+            .serviceTimeouts(Property.ofValue(Map.of("cache", Duration.ofMinutes(1))))
+            // no -p: the project is found back from the containers created from the temporary compose file
+            .composeArgs(Property.ofValue(List.of("up", "-d")))
+            .build();
+
+        var runContext = TestsUtils.mockRunContext(runContextFactory, upTask, Map.of());
+        var output = upTask.run(runContext);
+
+        var project = (String) output.getVars().get("project");
+        try {
+            var status = (Map<String, Map<String, Object>>) output.getVars().get("serviceStatus");
+            assertThat(status.get("cache").get("health"), is("healthy"));
+            assertThat(status.get("cache").get("state"), is("running"));
+            assertThat((Map<String, List<String>>) status.get("cache").get("ports"), hasKey("6379/tcp"));
+            assertThat(status.get("cache").get("timeToReady"), notNullValue());
+            assertThat(status.get("worker").get("health"), nullValue());
+            assertThat(status.get("worker").get("state"), is("running"));
+        } finally {
+            var downTask = Compose.builder()
+                .id("compose-wait-down")
+                .type(Compose.class.getName())
+                .engine(Property.ofValue(Compose.Engine.NATIVE))
+                .composeFile(Property.ofValue(composeContent))
+                .composeArgs(Property.ofValue(List.of("-p", project, "down")))
+                .build();
+            downTask.run(TestsUtils.mockRunContext(runContextFactory, downTask, Map.of()));
+        }
+    }
 }
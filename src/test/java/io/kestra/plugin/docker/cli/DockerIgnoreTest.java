@@ -0,0 +1,55 @@
+package io.kestra.plugin.docker.cli;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class DockerIgnoreTest {
+
+    @Test
+    void excludes_matchesLikeTheDockerCli() {
+        var ignore = DockerIgnore.read("""
+            # comment
+            *.log
+            /build
+            **/node_modules
+            data/**
+            !data/schema.json
+            report-?.csv
+            """);
+
+        assertThat(ignore.excludes("debug.log"), is(true));
+        assertThat(ignore.excludes("logs/debug.log"), is(false));
+        assertThat(ignore.excludes("build/app.jar"), is(true));
+        assertThat(ignore.excludes("node_modules/lib/index.js"), is(true));
+        assertThat(ignore.excludes("web/node_modules/lib/index.js"), is(true));
+        assertThat(ignore.excludes("data/large.parquet"), is(true));
+        assertThat(ignore.excludes("data/schema.json"), is(false));
+        assertThat(ignore.excludes("report-1.csv"), is(true));
+        assertThat(ignore.excludes("report-10.csv"), is(false));
+        assertThat(ignore.excludes("./src/main.py"), is(false));
+    }
+
+    @Test
+    void with_appendsPatternsThatTakePrecedence() {
+        var ignore = DockerIgnore.read("!keep.bin\n").with(DockerIgnore.parse(List.of("*.bin")));
+
+        assertThat(ignore.excludes("keep.bin"), is(true));
+        assertThat(DockerIgnore.parse(List.of("", "# only comments")).excludes("keep.bin"), is(false));
+    }
+
+    @Test
+    void toRegex_supportsCharacterClassesAndEscapes() {
+        var ignore = DockerIgnore.parse(List.of("file[0-9].txt", "[^a]*.tmp", "literal\\*.md"));
+
+        assertThat(ignore.excludes("file7.txt"), is(true));
+        assertThat(ignore.excludes("filex.txt"), is(false));
+        assertThat(ignore.excludes("b.tmp"), is(true));
+        assertThat(ignore.excludes("a.tmp"), is(false));
+        assertThat(ignore.excludes("literal*.md"), is(true));
+        assertThat(ignore.excludes("literalx.md"), is(false));
+    }
+}
@@ -0,0 +1,48 @@
+package io.kestra.plugin.docker.cli;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+class InspectTest extends AbstractDockerHelper {
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @Test
+    void inspectRunningContainer() throws Exception {
+        String containerId = runContainer(runContextFactory, "redis:6.2.17-alpine");
+
+        Inspect inspect = Inspect.builder()
+            .id("inspect")
+            .type(Inspect.class.getName())
+            .containerId(Property.ofValue(containerId))
+            .build();
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, inspect, ImmutableMap.of());
+
+        Inspect.Output output = inspect.run(runContext);
+
+        assertThat(output.getId(), is(containerId));
+        assertThat(output.getStatus(), is("running"));
+        assertThat(output.getRunning(), is(true));
+
+        Stop stop = Stop.builder()
+            .id("stop")
+            .type(Stop.class.getName())
+            .containerId(Property.ofValue(containerId))
+            .kill(Property.ofValue(true))
+            .build();
+        stop.run(TestsUtils.mockRunContext(runContextFactory, stop, ImmutableMap.of()));
+    }
+}
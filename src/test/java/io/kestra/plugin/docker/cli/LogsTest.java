@@ -0,0 +1,100 @@
+package io.kestra.plugin.docker.cli;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.dockerjava.api.model.StreamType;
+import com.google.common.collect.ImmutableMap;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.scripts.exec.scripts.models.ScriptOutput;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+@KestraTest
+class LogsTest extends AbstractDockerHelper {
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void incrementalFetch() throws Exception {
+        Run run = Run.builder()
+            .id("run")
+            .type(Run.class.getName())
+            .containerImage(Property.ofValue("alpine:latest"))
+            .commands(Property.ofValue(List.of("/bin/sh", "-c", "echo first; echo oops >&2; sleep 2; echo second")))
+            .wait(Property.ofValue(false))
+            .build();
+        ScriptOutput runOutput = run.run(TestsUtils.mockRunContext(runContextFactory, run, ImmutableMap.of()));
+        String containerId = (String) ((Map<String, Object>) runOutput.getVars().get("container")).get("id");
+
+        Wait wait = Wait.builder()
+            .id("wait")
+            .type(Wait.class.getName())
+            .containerId(Property.ofValue(containerId))
+            .build();
+        wait.run(TestsUtils.mockRunContext(runContextFactory, wait, ImmutableMap.of()));
+
+        Logs logs = Logs.builder()
+            .id("logs")
+            .type(Logs.class.getName())
+            .containerId(Property.ofValue(containerId))
+            .build();
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, logs, ImmutableMap.of());
+
+        Logs.Output first = logs.run(runContext);
+        assertThat(first.getLineCount(), is(3));
+        assertThat(first.getCursor(), notNullValue());
+
+        List<Object> rows;
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(first.getUri())))) {
+            rows = FileSerde.readAll(reader).collectList().block();
+        }
+        assertThat(rows, hasSize(3));
+        assertThat((Map<String, Object>) rows.get(1), hasEntry("stream", "stderr"));
+
+        Logs resumed = Logs.builder()
+            .id("logs")
+            .type(Logs.class.getName())
+            .containerId(Property.ofValue(containerId))
+            .since(Property.ofValue(first.getCursor()))
+            .build();
+        Logs.Output second = resumed.run(runContext);
+        assertThat(second.getLineCount(), is(0));
+        assertThat(second.getCursor(), is(first.getCursor()));
+    }
+
+    @Test
+    void lineAssembler_joinsLinesSplitAcrossFrames() {
+        var lines = new Logs.LineAssembler();
+        var accent = "é".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(lines.append(StreamType.STDOUT, "2024-01-01T00:00:00Z first\n2024-01-01T00:00:01Z sec".getBytes(StandardCharsets.UTF_8)),
+            contains(new Logs.Line(StreamType.STDOUT, "2024-01-01T00:00:00Z first")));
+        assertThat(lines.append(StreamType.STDERR, "2024-01-01T00:00:02Z error\n".getBytes(StandardCharsets.UTF_8)),
+            contains(new Logs.Line(StreamType.STDERR, "2024-01-01T00:00:02Z error")));
+        // a multi-byte character cut between two frames
+        assertThat(lines.append(StreamType.STDOUT, new byte[]{'o', 'n', 'd', ' ', accent[0]}), hasSize(0));
+        assertThat(lines.append(StreamType.STDOUT, new byte[]{accent[1], '\n', 'l', 'a', 's', 't'}),
+            contains(new Logs.Line(StreamType.STDOUT, "2024-01-01T00:00:01Z second é")));
+        assertThat(lines.flush(), contains(new Logs.Line(StreamType.STDOUT, "last")));
+    }
+}
@@ -0,0 +1,76 @@
+package io.kestra.plugin.docker.cli;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.dockerjava.api.model.EventType;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+import reactor.core.publisher.Flux;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class RealtimeTriggerTest extends AbstractDockerHelper {
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void emitsContainerCreateEvent() throws Exception {
+        final String name = "kestra-realtime-trigger-" + System.currentTimeMillis();
+
+        RealtimeTrigger trigger = RealtimeTrigger.builder()
+            .id("docker-events")
+            .type(RealtimeTrigger.class.getName())
+            .types(Property.ofValue(List.of("container")))
+            .actions(Property.ofValue(List.of("create")))
+            .since(Property.ofValue(Duration.ofMinutes(1)))
+            .build();
+
+        var context = TestsUtils.mockTrigger(runContextFactory, trigger);
+        var execution = Flux.from(trigger.evaluate(context.getKey(), context.getValue()))
+            .filter(e ->
+            {
+                var events = (List<Map<String, Object>>) e.getTrigger().getVariables().get("events");
+                var attributes = (Map<String, String>) events.getFirst().get("attributes");
+                return name.equals(attributes.get("name"));
+            })
+            .next()
+            .toFuture();
+
+        String containerId = runNamedContainer(runContextFactory.of(), "redis:6.2.17-alpine", name);
+
+        Execution result = execution.get(30, TimeUnit.SECONDS);
+        trigger.stop();
+
+        assertThat(result, notNullValue());
+        assertThat(result.getTrigger().getVariables().get("count"), is(1));
+
+        try (var client = getDockerClient(runContextFactory.of(), null, null, null)) {
+            client.removeContainerCmd(containerId).withForce(true).exec();
+        }
+    }
+
+    @Test
+    void eventTypes_rejectsUnknownTypes() {
+        assertThat(RealtimeTrigger.eventTypes(List.of("Container", "image")), is(new EventType[]{EventType.CONTAINER, EventType.IMAGE}));
+
+        var ex = assertThrows(IllegalArgumentException.class, () -> RealtimeTrigger.eventTypes(List.of("containers")));
+        assertThat(ex.getMessage(), startsWith("Invalid event type 'containers'"));
+    }
+}
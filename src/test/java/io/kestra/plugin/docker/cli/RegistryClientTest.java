@@ -0,0 +1,125 @@
+package io.kestra.plugin.docker.cli;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.scripts.runner.docker.Credentials;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest
+class RegistryClientTest {
+    private static final String MANIFEST = """
+        {"schemaVersion":2,"mediaType":"application/vnd.docker.distribution.manifest.v2+json","config":{"digest":"sha256:abc"},"layers":[]}""";
+
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @Test
+    void parse_appliesDockerCliDefaults() {
+        assertThat(RegistryClient.Reference.parse("ubuntu"), is(new RegistryClient.Reference("docker.io", "library/ubuntu", "latest")));
+        assertThat(RegistryClient.Reference.parse("kestra/polars:1.0"), is(new RegistryClient.Reference("docker.io", "kestra/polars", "1.0")));
+        assertThat(RegistryClient.Reference.parse("localhost:5000/app:1.0-linux-arm64"), is(new RegistryClient.Reference("localhost:5000", "app", "1.0-linux-arm64")));
+        assertThat(RegistryClient.Reference.parse("https://ghcr.io/kestra-io/polars@sha256:abc"), is(new RegistryClient.Reference("ghcr.io", "kestra-io/polars", "latest")));
+        assertThat(RegistryClient.Reference.parse("ubuntu").host(), is("registry-1.docker.io"));
+    }
+
+    @Test
+    void manifestList_answersTheTokenChallengeAndReferencesEachPlatform(WireMockRuntimeInfo wm) throws Exception {
+        var challenge = "Bearer realm=\"" + wm.getHttpBaseUrl() + "/token\",service=\"registry\",scope=\"repository:team/app:pull,push\"";
+        stubFor(any(urlPathMatching("/v2/.*")).atPriority(2).willReturn(aResponse().withStatus(401).withHeader("WWW-Authenticate", challenge)));
+        stubFor(
+            get(urlPathEqualTo("/token"))
+                .withQueryParam("scope", equalTo("repository:team/app:pull,push"))
+                .withBasicAuth("user", "secret")
+                .willReturn(okJson("{\"token\":\"abc\"}"))
+        );
+        stubFor(
+            get(urlEqualTo("/v2/team/app/manifests/1.0-linux-arm64")).atPriority(1)
+                .withHeader("Authorization", equalTo("Bearer abc"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", RegistryClient.MANIFEST).withBody(MANIFEST))
+        );
+        stubFor(
+            put(urlEqualTo("/v2/team/app/manifests/1.0")).atPriority(1)
+                .withHeader("Authorization", equalTo("Bearer abc"))
+                .withHeader("Content-Type", equalTo(RegistryClient.MANIFEST_LIST))
+                .willReturn(aResponse().withStatus(201).withHeader("Docker-Content-Digest", "sha256:list"))
+        );
+
+        var credentials = Credentials.builder()
+            .registry(Property.ofValue(wm.getHttpBaseUrl()))
+            .username(Property.ofValue("user"))
+            .password(Property.ofValue("secret"))
+            .build();
+        var reference = RegistryClient.Reference.parse(wm.getHttpBaseUrl() + "/team/app:1.0");
+        try (var registries = new RegistryClient.Pool(runContextFactory.of(), credentials)) {
+            var registry = registries.get(reference);
+
+            var descriptor = registry.describe("team/app", "1.0-linux-arm64");
+            assertThat(descriptor.mediaType(), is(RegistryClient.MANIFEST));
+            assertThat(descriptor.size(), is((long) MANIFEST.length()));
+            assertThat(descriptor.digest(), startsWith("sha256:"));
+
+            var digest = registry.putManifestList("team/app", "1.0", List.of(descriptor.forPlatform("linux/arm64/v8")));
+            assertThat(digest, is("sha256:list"));
+        }
+
+        verify(putRequestedFor(urlEqualTo("/v2/team/app/manifests/1.0")).withRequestBody(equalToJson("""
+            {
+              "schemaVersion": 2,
+              "mediaType": "application/vnd.docker.distribution.manifest.list.v2+json",
+              "manifests": [
+                {
+                  "mediaType": "application/vnd.docker.distribution.manifest.v2+json",
+                  "digest": "${json-unit.any-string}",
+                  "size": ${json-unit.any-number},
+                  "platform": {"architecture": "arm64", "os": "linux", "variant": "v8"}
+                }
+              ]
+            }""")));
+    }
+
+    @Test
+    void pool_accessesOtherRegistriesAnonymously(WireMockRuntimeInfo wm) throws Exception {
+        var challenge = "Bearer realm=\"" + wm.getHttpBaseUrl() + "/token\",service=\"registry\",scope=\"repository:team/app:pull\"";
+        stubFor(any(urlPathMatching("/v2/.*")).atPriority(2).willReturn(aResponse().withStatus(401).withHeader("WWW-Authenticate", challenge)));
+        stubFor(get(urlPathEqualTo("/token")).willReturn(okJson("{\"token\":\"anonymous\"}")));
+        stubFor(
+            get(urlEqualTo("/v2/team/app/manifests/1.0")).atPriority(1)
+                .withHeader("Authorization", equalTo("Bearer anonymous"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", RegistryClient.MANIFEST).withBody(MANIFEST))
+        );
+
+        // credentials for Docker Hub, as no registry is set
+        var credentials = Credentials.builder().username(Property.ofValue("user")).password(Property.ofValue("secret")).build();
+        try (var registries = new RegistryClient.Pool(runContextFactory.of(), credentials)) {
+            var reference = RegistryClient.Reference.parse(wm.getHttpBaseUrl() + "/team/app:1.0");
+            registries.get(reference).describe("team/app", "1.0");
+        }
+
+        verify(getRequestedFor(urlPathEqualTo("/token")).withoutHeader("Authorization"));
+        verify(getRequestedFor(urlEqualTo("/v2/team/app/manifests/1.0")).withHeader("Authorization", equalTo("Bearer anonymous")));
+    }
+
+    @Test
+    void describe_rejectsPlatformImagesThatAreAlreadyIndexes() {
+        var descriptor = new RegistryClient.Descriptor(RegistryClient.OCI_INDEX, "sha256:abc", 100);
+
+        var ex = assertThrows(IllegalStateException.class, () -> descriptor.forPlatform("linux/amd64"));
+        assertThat(ex.getMessage(), startsWith("The image pushed for platform linux/amd64 is already a multi-platform index"));
+    }
+}
@@ -1,6 +1,8 @@
 package io.kestra.plugin.docker.cli;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -23,7 +25,10 @@ import jakarta.inject.Inject;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -58,6 +63,30 @@ class RunTest extends AbstractDockerHelper {
         assertThat(output.getExitCode(), is(0));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_collectStats() throws Exception {
+        Run run = Run.builder()
+            .id("run")
+            .type(Run.class.getName())
+            .containerImage(Property.ofValue("ubuntu"))
+            .commands(Property.ofValue(List.of("/bin/sh", "-c", "head -c 50000000 /dev/urandom | sha256sum && sleep 3")))
+            .collectStats(Property.ofValue(true))
+            .statsInterval(Property.ofValue(Duration.ofMillis(500)))
+            .build();
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, run, ImmutableMap.of());
+
+        ScriptOutput output = run.run(runContext);
+
+        assertThat(output.getExitCode(), is(0));
+        assertThat(output.getVars(), hasKey("containerStats"));
+        // the container is removed once awaited, so no handle to it is exposed
+        assertThat(output.getVars(), not(hasKey("container")));
+        var stats = (Map<String, Object>) output.getVars().get("containerStats");
+        assertThat((Long) stats.get("memoryPeakBytes"), greaterThan(0L));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("memory.peak")), is(true));
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = { true, false })
     void run_pullImageFromPrivateRepo_correctCredentials(boolean useRegistry) throws Exception {
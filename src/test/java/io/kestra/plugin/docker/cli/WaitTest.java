@@ -0,0 +1,84 @@
+package io.kestra.plugin.docker.cli;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.scripts.exec.scripts.models.ScriptOutput;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class WaitTest extends AbstractDockerHelper {
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @SuppressWarnings("unchecked")
+    private String startDetached(String command) throws Exception {
+        Run run = Run.builder()
+            .id("run")
+            .type(Run.class.getName())
+            .containerImage(Property.ofValue("alpine:latest"))
+            .commands(Property.ofValue(List.of("/bin/sh", "-c", command)))
+            .wait(Property.ofValue(false))
+            .build();
+        ScriptOutput output = run.run(TestsUtils.mockRunContext(runContextFactory, run, ImmutableMap.of()));
+
+        return (String) ((Map<String, Object>) output.getVars().get("container")).get("id");
+    }
+
+    @Test
+    void waitForExit() throws Exception {
+        String containerId = startDetached("sleep 2");
+
+        Wait wait = Wait.builder()
+            .id("wait")
+            .type(Wait.class.getName())
+            .containerId(Property.ofValue(containerId))
+            .delete(Property.ofValue(true))
+            .build();
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, wait, ImmutableMap.of());
+
+        Wait.Output output = wait.run(runContext);
+
+        assertThat(output.getExitCode(), is(0));
+        assertThat(containerExists(containerId, runContextFactory.of()), is(false));
+    }
+
+    @Test
+    void nonZeroExit() throws Exception {
+        String containerId = startDetached("exit 3");
+
+        Wait wait = Wait.builder()
+            .id("wait")
+            .type(Wait.class.getName())
+            .containerId(Property.ofValue(containerId))
+            .build();
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, wait, ImmutableMap.of());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> wait.run(runContext));
+        assertThat(exception.getMessage(), containsString("exited with code 3"));
+
+        Wait report = Wait.builder()
+            .id("wait")
+            .type(Wait.class.getName())
+            .containerId(Property.ofValue(containerId))
+            .failOnNonZeroExit(Property.ofValue(false))
+            .delete(Property.ofValue(true))
+            .build();
+        assertThat(report.run(runContext).getExitCode(), is(3));
+    }
+}
@@ -0,0 +1,62 @@
+package io.kestra.plugin.docker.model;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonParseException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class AbstractModelTest {
+
+    @Test
+    void isRetryable_onlyTransientFailures() {
+        assertThat(AbstractModel.isRetryable(new ModelRunnerException("busy", 503)), is(true));
+        assertThat(AbstractModel.isRetryable(new ModelRunnerException("too many requests", 429)), is(true));
+        assertThat(AbstractModel.isRetryable(new ModelRunnerException("bad gateway", 502)), is(true));
+        assertThat(AbstractModel.isRetryable(new ModelRunnerException("not found", 404)), is(false));
+        assertThat(AbstractModel.isRetryable(new ModelRunnerException("crashed", 500)), is(false));
+        assertThat(AbstractModel.isRetryable(new IllegalStateException("reset", new IOException("Connection reset"))), is(true));
+        assertThat(AbstractModel.isRetryable(new IllegalStateException("invalid", new JsonParseException(null, "Unexpected character"))), is(false));
+        assertThat(AbstractModel.isRetryable(new IllegalStateException("error line")), is(false));
+    }
+
+    @Test
+    void timeoutCause_ignoresInterruptions() {
+        assertThat(AbstractModel.timeoutCause(new HttpConnectTimeoutException("connect timed out")), is("connect"));
+        assertThat(AbstractModel.timeoutCause(new SocketTimeoutException("Read timed out")), is("idle"));
+        assertThat(AbstractModel.timeoutCause(new HttpTimeoutException("request timed out")), is("idle"));
+        assertThat(AbstractModel.timeoutCause(new InterruptedIOException("Interrupted while waiting for the response to GET /models")), is(nullValue()));
+        assertThat(AbstractModel.timeoutCause(new IOException("Connection reset")), is(nullValue()));
+    }
+
+    @Test
+    void jitteredBackoff_growsAndStaysWithinBounds() {
+        var initial = Duration.ofMillis(100);
+        var max = Duration.ofSeconds(1);
+
+        for (int i = 0; i < 100; i++) {
+            var first = AbstractModel.jitteredBackoff(initial, max, 0);
+            assertThat(first.toMillis(), greaterThanOrEqualTo(50L));
+            assertThat(first.toMillis(), lessThanOrEqualTo(100L));
+
+            var third = AbstractModel.jitteredBackoff(initial, max, 2);
+            assertThat(third.toMillis(), greaterThanOrEqualTo(200L));
+            assertThat(third.toMillis(), lessThanOrEqualTo(400L));
+
+            var capped = AbstractModel.jitteredBackoff(initial, max, 40);
+            assertThat(capped.toMillis(), greaterThanOrEqualTo(500L));
+            assertThat(capped.toMillis(), lessThanOrEqualTo(1000L));
+        }
+    }
+}
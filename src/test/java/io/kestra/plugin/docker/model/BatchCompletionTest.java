@@ -0,0 +1,155 @@
+package io.kestra.plugin.docker.model;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest
+class BatchCompletionTest {
+
+    @Inject
+    RunContextFactory runContextFactory;
+
+    private static final String ROWS = "{q:\"one\"}\n{q:\"two\"}\n{q:\"three\"}\n";
+
+    private static String completion(String content) {
+        return "{\"model\":\"ai/smollm2\",\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"" + content + "\"},\"finish_reason\":\"stop\"}],"
+            + "\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":1,\"total_tokens\":6}}";
+    }
+
+    private static void stubRow(String question, String answer) {
+        stubFor(
+            post(urlEqualTo("/engines/v1/chat/completions"))
+                .withRequestBody(matchingJsonPath("$.messages[0].content", equalTo("Answer: " + question)))
+                .willReturn(okJson(completion(answer)))
+        );
+    }
+
+    private BatchCompletion task(String baseUrl, URI from) {
+        return BatchCompletion.builder()
+            .id("batch-completion-test-" + UUID.randomUUID())
+            .type(BatchCompletion.class.getName())
+            .host(Property.ofValue(baseUrl))
+            .model(Property.ofValue("ai/smollm2"))
+            .from(Property.ofValue(from.toString()))
+            .prompt(Property.ofExpression("Answer: {{ row.q }}"))
+            .initialConcurrency(Property.ofValue(1))
+            .maxConcurrency(Property.ofValue(1))
+            .checkpointInterval(Property.ofValue(1))
+            .build();
+    }
+
+    private RunContext runContext(String baseUrl) {
+        return TestsUtils.mockRunContext(
+            runContextFactory,
+            BatchCompletion.builder().id("batch-completion-test").type(BatchCompletion.class.getName()).host(Property.ofValue(baseUrl)).build(),
+            Map.of()
+        );
+    }
+
+    private static URI put(RunContext runContext, String content) throws Exception {
+        return runContext.storage().putFile(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "rows.ion");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static java.util.List<Object> completions(RunContext runContext, URI uri) throws Exception {
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(uri)))) {
+            return FileSerde.readAll(reader).map(row -> ((Map<String, Object>) row).get("completion")).collectList().block();
+        }
+    }
+
+    @Test
+    void happyPath_rendersPromptPerRowAndKeepsOrder(WireMockRuntimeInfo wm) throws Exception {
+        stubRow("one", "1");
+        stubRow("two", "2");
+        stubRow("three", "3");
+
+        var runContext = runContext(wm.getHttpBaseUrl());
+        var task = task(wm.getHttpBaseUrl(), put(runContext, ROWS));
+
+        var output = task.run(runContext);
+
+        assertThat(output.getRowCount(), is(3L));
+        assertThat(output.getResumedRowCount(), is(0L));
+        assertThat(output.getPromptTokens(), is(15L));
+        assertThat(completions(runContext, output.getUri()), contains("1", "2", "3"));
+    }
+
+    @Test
+    void overloaded_backsOffAndRetries(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(
+            post(urlEqualTo("/engines/v1/chat/completions")).inScenario("overload")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503).withBody("busy"))
+                .willSetStateTo("recovered")
+        );
+        stubFor(
+            post(urlEqualTo("/engines/v1/chat/completions")).inScenario("overload")
+                .whenScenarioStateIs("recovered")
+                .willReturn(okJson(completion("ok")))
+        );
+
+        var runContext = runContext(wm.getHttpBaseUrl());
+        var task = task(wm.getHttpBaseUrl(), put(runContext, "{q:\"one\"}\n"));
+
+        var output = task.run(runContext);
+
+        assertThat(output.getThrottledCount(), is(1));
+        assertThat(completions(runContext, output.getUri()), contains("ok"));
+    }
+
+    @Test
+    void failure_resumesFromCheckpoint(WireMockRuntimeInfo wm) throws Exception {
+        stubRow("one", "1");
+        stubRow("two", "2");
+        stubFor(
+            post(urlEqualTo("/engines/v1/chat/completions"))
+                .withRequestBody(matchingJsonPath("$.messages[0].content", equalTo("Answer: three")))
+                .willReturn(aResponse().withStatus(500).withBody("model crashed"))
+        );
+
+        var runContext = runContext(wm.getHttpBaseUrl());
+        var task = task(wm.getHttpBaseUrl(), put(runContext, ROWS));
+
+        var ex = assertThrows(IllegalStateException.class, () -> task.run(runContext));
+        assertThat(ex.getMessage(), containsString("model crashed"));
+
+        // the retried attempt only sends the row that failed
+        resetAllRequests();
+        stubRow("three", "3");
+
+        var output = task.run(runContext);
+
+        assertThat(output.getRowCount(), is(3L));
+        assertThat(output.getResumedRowCount(), is(2L));
+        assertThat(completions(runContext, output.getUri()), contains("1", "2", "3"));
+        verify(1, postRequestedFor(urlEqualTo("/engines/v1/chat/completions")));
+    }
+}
@@ -0,0 +1,84 @@
+package io.kestra.plugin.docker.model;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+@KestraTest
+@WireMockTest
+class BenchmarkTest {
+
+    private static final String STREAM = """
+        data: {"choices":[{"index":0,"delta":{"content":"Hello"},"finish_reason":null}],"model":"ai/smollm2"}
+
+        data: {"choices":[{"index":0,"delta":{"content":" there"},"finish_reason":"stop"}],"model":"ai/smollm2"}
+
+        data: {"choices":[],"model":"ai/smollm2","usage":{"prompt_tokens":12,"completion_tokens":2,"total_tokens":14}}
+
+        data: [DONE]
+
+        """;
+
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @Test
+    void levels_reportLatencyThroughputAndErrors(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(get(urlEqualTo("/models/ai/smollm2")).willReturn(okJson("{\"id\":\"sha256:abc\",\"config\":{\"quantization\":\"Q4_K_M\"}}")));
+        stubFor(
+            post(urlEqualTo("/engines/v1/chat/completions"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "text/event-stream").withBody(STREAM))
+        );
+        stubFor(
+            post(urlEqualTo("/engines/v1/chat/completions"))
+                .withRequestBody(matchingJsonPath("$.messages[0].content", equalTo("fail")))
+                .willReturn(aResponse().withStatus(500).withBody("model crashed"))
+        );
+
+        var task = Benchmark.builder()
+            .id("benchmark-test-" + UUID.randomUUID())
+            .type(Benchmark.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .model(Property.ofValue("ai/smollm2"))
+            .prompts(Property.ofValue(java.util.List.of("hello", "fail", "hello", "hello")))
+            .concurrencyLevels(Property.ofValue(java.util.List.of(1, 2)))
+            .requests(Property.ofValue(4))
+            .warmupRequests(Property.ofValue(1))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var results = task.run(runContext).getResults();
+
+        assertThat(results.stream().map(Benchmark.LevelResult::getConcurrency).toList(), contains(1, 2));
+        var first = results.getFirst();
+        assertThat(first.getQuantization(), is("Q4_K_M"));
+        assertThat(first.getErrors(), is(1));
+        assertThat(first.getErrorRate(), is(0.25));
+        assertThat(first.getFirstError(), containsString("model crashed"));
+        assertThat(first.getLatency().getCount(), is(3));
+        assertThat(first.getTimeToFirstToken(), notNullValue());
+        assertThat(first.getCompletionTokens(), is(6L));
+        assertThat(first.getTokensPerSecond(), greaterThan(0d));
+        // one warm-up request, then four requests per level
+        verify(9, postRequestedFor(urlEqualTo("/engines/v1/chat/completions")));
+    }
+}
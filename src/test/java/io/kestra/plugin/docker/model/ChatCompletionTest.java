@@ -0,0 +1,130 @@
+package io.kestra.plugin.docker.model;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest
+class ChatCompletionTest {
+
+    @Inject
+    RunContextFactory runContextFactory;
+
+    // OpenAI-compatible SSE shape as streamed by DMR's llama.cpp engine, usage comes in a last chunk without choices.
+    private static final String STREAM = """
+        data: {"choices":[{"index":0,"delta":{"role":"assistant","content":null},"finish_reason":null}],"model":"ai/smollm2","object":"chat.completion.chunk"}
+
+        data: {"choices":[{"index":0,"delta":{"content":"Hello"},"finish_reason":null}],"model":"ai/smollm2","object":"chat.completion.chunk"}
+
+        data: {"choices":[{"index":0,"delta":{"content":" there"},"finish_reason":null}],"model":"ai/smollm2","object":"chat.completion.chunk"}
+
+        data: {"choices":[{"index":0,"delta":{"content":"!"},"finish_reason":"stop"}],"model":"ai/smollm2","object":"chat.completion.chunk"}
+
+        data: {"choices":[],"model":"ai/smollm2","object":"chat.completion.chunk","usage":{"prompt_tokens":12,"completion_tokens":3,"total_tokens":15}}
+
+        data: [DONE]
+
+        """;
+
+    private ChatCompletion.ChatCompletionBuilder<?, ?> task(String baseUrl) {
+        return ChatCompletion.builder()
+            .id("chat-test-" + UUID.randomUUID())
+            .type(ChatCompletion.class.getName())
+            .host(Property.ofValue(baseUrl))
+            .model(Property.ofValue("ai/smollm2"));
+    }
+
+    @Test
+    void happyPath_assemblesStreamedMessage(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(
+            post(urlEqualTo("/engines/v1/chat/completions")).willReturn(
+                aResponse().withStatus(200).withHeader("Content-Type", "text/event-stream").withBody(STREAM)
+            )
+        );
+
+        var task = task(wm.getHttpBaseUrl())
+            .messages(Property.ofValue(java.util.List.of(new ChatCompletion.ChatMessage(ChatCompletion.ChatMessage.Role.SYSTEM, "Be brief."))))
+            .prompt(Property.ofValue("Say hello"))
+            .maxTokens(Property.ofValue(16))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var output = task.run(runContext);
+
+        assertThat(output.getMessage(), is("Hello there!"));
+        assertThat(output.getFinishReason(), is("stop"));
+        assertThat(output.getPromptTokens(), is(12));
+        assertThat(output.getCompletionTokens(), is(3));
+        assertThat(output.getTotalTokens(), is(15));
+        assertThat(output.getTimeToFirstToken(), notNullValue());
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("ttft")), is(true));
+
+        verify(
+            postRequestedFor(urlEqualTo("/engines/v1/chat/completions"))
+                .withRequestBody(equalToJson("""
+                    {
+                      "model": "ai/smollm2",
+                      "messages": [{"role": "system", "content": "Be brief."}, {"role": "user", "content": "Say hello"}],
+                      "stream": true,
+                      "stream_options": {"include_usage": true},
+                      "max_tokens": 16
+                    }
+                    """))
+        );
+    }
+
+    @Test
+    void errorChunk_throwsWithDmrMessage(WireMockRuntimeInfo wm) {
+        stubFor(
+            post(urlEqualTo("/engines/v1/chat/completions")).willReturn(
+                aResponse().withStatus(200).withBody("data: {\"error\":{\"message\":\"context size exceeded\"}}\n\n")
+            )
+        );
+
+        var task = task(wm.getHttpBaseUrl()).prompt(Property.ofValue("hi")).build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var ex = assertThrows(IllegalStateException.class, () -> task.run(runContext));
+        assertThat(ex.getMessage(), containsString("context size exceeded"));
+    }
+
+    @Test
+    void nonTwoxx_includesResponseBodyInMessage(WireMockRuntimeInfo wm) {
+        stubFor(post(urlEqualTo("/engines/v1/chat/completions")).willReturn(aResponse().withStatus(404).withBody("model not found")));
+
+        var task = task(wm.getHttpBaseUrl()).prompt(Property.ofValue("hi")).build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var ex = assertThrows(IllegalStateException.class, () -> task.run(runContext));
+        assertThat(ex.getMessage(), containsString("model not found"));
+        assertThat(ex.getMessage(), containsString("run a chat completion with model 'ai/smollm2'"));
+    }
+
+    @Test
+    void noMessage_throws(WireMockRuntimeInfo wm) {
+        var task = task(wm.getHttpBaseUrl()).build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var ex = assertThrows(IllegalArgumentException.class, () -> task.run(runContext));
+        assertThat(ex.getMessage(), containsString("`messages` or `prompt`"));
+    }
+}
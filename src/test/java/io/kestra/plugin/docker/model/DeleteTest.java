@@ -17,6 +17,7 @@ import jakarta.inject.Inject;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -46,9 +47,34 @@ class DeleteTest {
 
         var task = task(wm.getHttpBaseUrl(), "ai/smollm2");
         var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
-        task.run(runContext);
+        var output = task.run(runContext);
 
         verify(deleteRequestedFor(urlEqualTo("/models/ai/smollm2")));
+        assertThat(output.getModels().getFirst().getUntagged(), contains("docker.io/ai/smollm2:latest"));
+        assertThat(output.getModels().getFirst().getDeleted(), contains("sha256:abc"));
+    }
+
+    @Test
+    void models_deletesEachModelAndReportsFailuresTogether(WireMockRuntimeInfo wm) {
+        stubFor(delete(urlEqualTo("/models/ai/smollm2")).willReturn(okJson("[{\"Deleted\":\"sha256:abc\"}]")));
+        stubFor(delete(urlEqualTo("/models/hf.co/org/repo")).willReturn(okJson("[{\"Deleted\":\"sha256:def\"}]")));
+        stubFor(delete(urlEqualTo("/models/ai/missing")).willReturn(aResponse().withStatus(404).withBody("model not found")));
+
+        var task = Delete.builder()
+            .id("delete-test-" + UUID.randomUUID())
+            .type(Delete.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .models(Property.ofValue(java.util.List.of("ai/smollm2", "ai/missing", "hf.co/org/repo")))
+            .concurrency(Property.ofValue(2))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var ex = assertThrows(IllegalStateException.class, () -> task.run(runContext));
+
+        assertThat(ex.getMessage(), containsString("Failed to delete 1 of 3 models: ai/missing:"));
+        assertThat(ex.getMessage(), containsString("model not found"));
+        verify(deleteRequestedFor(urlEqualTo("/models/ai/smollm2")));
+        verify(deleteRequestedFor(urlEqualTo("/models/hf.co/org/repo")));
     }
 
     @Test
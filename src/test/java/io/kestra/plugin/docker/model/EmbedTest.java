@@ -0,0 +1,132 @@
+package io.kestra.plugin.docker.model;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest
+class EmbedTest {
+
+    @Inject
+    RunContextFactory runContextFactory;
+
+    private Embed.EmbedBuilder<?, ?> task(String baseUrl) {
+        return Embed.builder()
+            .id("embed-test-" + UUID.randomUUID())
+            .type(Embed.class.getName())
+            .host(Property.ofValue(baseUrl))
+            .model(Property.ofValue("ai/nomic-embed-text-v1.5"));
+    }
+
+    private static URI put(RunContext runContext, String name, String content) throws Exception {
+        return runContext.storage().putFile(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), name);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void csv_batchesRowsAndKeepsInputOrder(WireMockRuntimeInfo wm) throws Exception {
+        // the first batch answers last, the output must still follow the input order
+        stubFor(
+            post(urlEqualTo("/engines/v1/embeddings"))
+                .withRequestBody(matchingJsonPath("$.input[0]", equalTo("first, with a comma")))
+                .willReturn(okJson("{\"data\":[{\"index\":0,\"embedding\":[0.1,0.2]},{\"index\":1,\"embedding\":[0.3,0.4]}]}").withFixedDelay(300))
+        );
+        stubFor(
+            post(urlEqualTo("/engines/v1/embeddings"))
+                .withRequestBody(matchingJsonPath("$.input[0]", equalTo("third")))
+                .willReturn(okJson("{\"data\":[{\"index\":0,\"embedding\":[0.5,0.6]}]}"))
+        );
+
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task(wm.getHttpBaseUrl()).build(), Map.of());
+        var file = put(runContext, "products.csv", "id,description\n1,\"first, with a comma\"\n2,second\n3,third\n");
+        var task = task(wm.getHttpBaseUrl())
+            .from(Property.ofValue(file.toString()))
+            .column(Property.ofValue("description"))
+            .batchSize(Property.ofValue(2))
+            .concurrency(Property.ofValue(2))
+            .build();
+
+        var output = task.run(runContext);
+
+        assertThat(output.getRowCount(), is(3L));
+        assertThat(output.getBatchCount(), is(2));
+        assertThat(output.getDimensions(), is(2));
+        assertThat(output.getBatchLatency().getCount(), is(2));
+        assertThat(output.getRowsPerSecond(), notNullValue());
+
+        java.util.List<Object> rows;
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            rows = FileSerde.readAll(reader).collectList().block();
+        }
+        assertThat(rows, hasSize(3));
+        assertThat(((Map<String, Object>) rows.get(0)).get("id"), is("1"));
+        assertThat(((Map<String, Object>) rows.get(1)).get("description"), is("second"));
+        assertThat(((java.util.List<Object>) ((Map<String, Object>) rows.get(2)).get("embedding")), hasSize(2));
+
+        verify(2, postRequestedFor(urlEqualTo("/engines/v1/embeddings")).withRequestBody(matchingJsonPath("$.model", equalTo("ai/nomic-embed-text-v1.5"))));
+    }
+
+    @Test
+    void recordRowsWithoutColumn_throws(WireMockRuntimeInfo wm) throws Exception {
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task(wm.getHttpBaseUrl()).build(), Map.of());
+        var file = put(runContext, "rows.csv", "id,description\n1,first\n");
+        var task = task(wm.getHttpBaseUrl()).from(Property.ofValue(file.toString())).build();
+
+        var ex = assertThrows(IllegalArgumentException.class, () -> task.run(runContext));
+        assertThat(ex.getMessage(), containsString("set the column"));
+    }
+
+    @Test
+    void duplicateIndex_throws(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(
+            post(urlEqualTo("/engines/v1/embeddings"))
+                .willReturn(okJson("{\"data\":[{\"index\":0,\"embedding\":[0.1]},{\"index\":0,\"embedding\":[0.2]}]}"))
+        );
+
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task(wm.getHttpBaseUrl()).build(), Map.of());
+        var file = put(runContext, "rows.ion", "\"hello\"\n\"world\"\n");
+        var task = task(wm.getHttpBaseUrl()).from(Property.ofValue(file.toString())).build();
+
+        var ex = assertThrows(IllegalStateException.class, () -> task.run(runContext));
+        assertThat(ex.getMessage(), containsString("several embeddings at index 0"));
+    }
+
+    @Test
+    void nonTwoxx_includesResponseBodyInMessage(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(post(urlEqualTo("/engines/v1/embeddings")).willReturn(aResponse().withStatus(400).withBody("model does not support embeddings")));
+
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task(wm.getHttpBaseUrl()).build(), Map.of());
+        var file = put(runContext, "rows.ion", "\"hello\"\n\"world\"\n");
+        var task = task(wm.getHttpBaseUrl()).from(Property.ofValue(file.toString())).build();
+
+        var ex = assertThrows(IllegalStateException.class, () -> task.run(runContext));
+        assertThat(ex.getMessage(), containsString("model does not support embeddings"));
+    }
+}
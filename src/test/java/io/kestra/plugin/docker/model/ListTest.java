@@ -1,6 +1,14 @@
 package io.kestra.plugin.docker.model;
 
 import java.net.ServerSocket;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.Map;
 import java.util.UUID;
 
@@ -22,7 +30,9 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @KestraTest
@@ -63,6 +73,58 @@ class ListTest {
         assertThat(model.config().architecture(), is("nomic-bert"));
     }
 
+    @Test
+    void filters_keepOnlyMatchingModelsAndParseSizes(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson("[" + REAL_MODELS_RESPONSE.substring(1, REAL_MODELS_RESPONSE.length() - 1) + ","
+            + "{\"id\":\"sha256:354bf30d0aa3\",\"tags\":[\"docker.io/ai/smollm2:360M-Q4_K_M\"],\"created\":1742816981,"
+            + "\"config\":{\"format\":\"gguf\",\"quantization\":\"IQ2_XXS/Q4_K_M\",\"parameters\":\"361.82M\",\"architecture\":\"llama\",\"size\":\"256.35MiB\"}}]")));
+
+        var task = List.builder()
+            .id("list-models-test-" + UUID.randomUUID())
+            .type(List.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .tagPattern(Property.ofValue("^docker.io/ai/"))
+            .format(Property.ofValue("GGUF"))
+            .architecture(Property.ofValue("llama"))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+        var output = task.run(runContext);
+
+        assertThat(output.getModels(), hasSize(1));
+        assertThat(output.getModels().getFirst().id(), is("sha256:354bf30d0aa3"));
+        assertThat(output.getModels().getFirst().config().sizeBytes(), is(268802458L));
+        assertThat(output.getCached(), is(false));
+    }
+
+    @Test
+    void cacheTtl_reusesTheListUntilAPullOrDelete(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson(REAL_MODELS_RESPONSE)));
+
+        var task = List.builder()
+            .id("list-models-test-" + UUID.randomUUID())
+            .type(List.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .cacheTtl(Property.ofValue(Duration.ofMinutes(1)))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        assertThat(task.run(runContext).getCached(), is(false));
+        assertThat(task.run(runContext).getCached(), is(true));
+        verify(1, getRequestedFor(urlEqualTo("/models")));
+
+        List.invalidateCache(wm.getHttpBaseUrl());
+        assertThat(task.run(runContext).getCached(), is(false));
+        verify(2, getRequestedFor(urlEqualTo("/models")));
+    }
+
+    @Test
+    void parseSize_readsBinaryAndDecimalUnits() {
+        assertThat(List.parseSize("260.86MiB"), is(273531535L));
+        assertThat(List.parseSize("1.5GB"), is(1_500_000_000L));
+        assertThat(List.parseSize("512 B"), is(512L));
+        assertThat(List.parseSize("unknown"), nullValue());
+    }
+
     @Test
     void nonTwoxx_includesResponseBodyInMessage(WireMockRuntimeInfo wm) {
         stubFor(get(urlEqualTo("/models")).willReturn(aResponse().withStatus(500).withBody("internal DMR error")));
@@ -122,4 +184,108 @@ class ListTest {
             assertThat(ex.getCause(), notNullValue());
         }
     }
+
+    @Test
+    void slowStream_failsAtTheRequestDeadline(WireMockRuntimeInfo wm) {
+        // alive but slow: each chunk comes well within the idle timeout, the whole body takes 5 seconds
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson(REAL_MODELS_RESPONSE).withChunkedDribbleDelay(50, 5000)));
+
+        var task = List.builder()
+            .id("list-models-test-" + UUID.randomUUID())
+            .type(List.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .requestDeadline(Property.ofValue(Duration.ofMillis(500)))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var start = System.nanoTime();
+        var ex = assertThrows(IllegalStateException.class, () -> task.run(runContext));
+
+        assertThat(ex.getMessage(), containsString("request deadline of PT0.5S"));
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis(), lessThan(4000L));
+        // a deadline would be reached again, so it is not retried
+        verify(1, getRequestedFor(urlEqualTo("/models")));
+    }
+
+    @Test
+    void slowHeaders_failAtTheRequestDeadline(WireMockRuntimeInfo wm) {
+        // DMR loading a model: no response at all within the deadline, while the idle timeout was raised for it
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson(REAL_MODELS_RESPONSE).withFixedDelay(5000)));
+
+        var task = List.builder()
+            .id("list-models-test-" + UUID.randomUUID())
+            .type(List.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .readIdleTimeout(Property.ofValue(Duration.ofSeconds(30)))
+            .requestDeadline(Property.ofValue(Duration.ofMillis(500)))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var start = System.nanoTime();
+        var ex = assertThrows(IllegalStateException.class, () -> task.run(runContext));
+
+        assertThat(ex.getMessage(), containsString("request deadline of PT0.5S"));
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis(), lessThan(4000L));
+    }
+
+    @Test
+    void stalledResponse_failsAtTheReadIdleTimeout(WireMockRuntimeInfo wm) {
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson(REAL_MODELS_RESPONSE).withFixedDelay(5000)));
+
+        var task = List.builder()
+            .id("list-models-test-" + UUID.randomUUID())
+            .type(List.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .readIdleTimeout(Property.ofValue(Duration.ofMillis(300)))
+            .maxRetries(Property.ofValue(0))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var start = System.nanoTime();
+        assertThrows(IllegalStateException.class, () -> task.run(runContext));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis(), lessThan(4000L));
+        assertThat(
+            runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("timeouts") && "idle".equals(metric.getTags().get("cause"))),
+            is(true)
+        );
+    }
+
+    @Test
+    void unixSocket_sendsRequestsOverTheSocket() throws Exception {
+        var socket = Files.createTempDirectory("dmr").resolve("dmr.sock");
+        var requestLine = new AtomicReference<String>();
+        try (var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+            var serverThread = new Thread(() ->
+            {
+                try (var channel = server.accept()) {
+                    var request = new StringBuilder();
+                    var buffer = ByteBuffer.allocate(1024);
+                    while (!request.toString().contains("\r\n\r\n") && channel.read(buffer) > 0) {
+                        request.append(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+                        buffer.clear();
+                    }
+                    requestLine.set(request.substring(0, request.indexOf("\r\n")));
+                    var body = REAL_MODELS_RESPONSE.getBytes(StandardCharsets.UTF_8);
+                    var head = "HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + body.length + "\r\nConnection: close\r\n\r\n";
+                    channel.write(ByteBuffer.wrap(head.getBytes(StandardCharsets.UTF_8)));
+                    channel.write(ByteBuffer.wrap(body));
+                } catch (java.io.IOException ignored) {
+                    // the assertions below report the failure
+                }
+            });
+            serverThread.setDaemon(true);
+            serverThread.start();
+
+            var task = task("unix://" + socket);
+            var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+            var output = task.run(runContext);
+
+            assertThat(output.getModels(), hasSize(1));
+            assertThat(requestLine.get(), is("GET /models HTTP/1.1"));
+        } finally {
+            Files.deleteIfExists(socket);
+        }
+    }
 }
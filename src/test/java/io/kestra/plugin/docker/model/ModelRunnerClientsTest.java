@@ -0,0 +1,101 @@
+package io.kestra.plugin.docker.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@WireMockTest
+class ModelRunnerClientsTest {
+    private static final Duration CONNECT = Duration.ofSeconds(10);
+    private static final Duration IDLE = Duration.ofSeconds(60);
+
+    @Test
+    void sameHost_sharesClient() {
+        try (
+            var first = ModelRunnerClients.acquire("http://localhost:12434", CONNECT, IDLE);
+            var second = ModelRunnerClients.acquire("http://localhost:12434", CONNECT, IDLE)
+        ) {
+            assertThat(second.client(), sameInstance(first.client()));
+        }
+    }
+
+    @Test
+    void differentHost_usesOwnClient() {
+        try (
+            var first = ModelRunnerClients.acquire("http://localhost:12434", CONNECT, IDLE);
+            var second = ModelRunnerClients.acquire("http://localhost:12435", CONNECT, IDLE)
+        ) {
+            assertThat(second.client(), not(sameInstance(first.client())));
+        }
+    }
+
+    @Test
+    void hostPath_isKeptAsBasePath() {
+        try (var lease = ModelRunnerClients.acquire("http://gateway:8080/dmr", CONNECT, IDLE)) {
+            assertThat(lease.basePath(), is("/dmr"));
+        }
+        try (var lease = ModelRunnerClients.acquire("http://gateway:8080", CONNECT, IDLE)) {
+            assertThat(lease.basePath(), is(""));
+        }
+    }
+
+    @Test
+    void unixSocket_usesEngineRouteUnlessAPathFollowsTheSocket() {
+        assertThat(ModelRunnerClients.basePath("unix:///var/run/docker.sock"), is("/exp/vDD4.40"));
+        assertThat(ModelRunnerClients.basePath("unix:///var/run/docker.sock/proxy/"), is("/proxy"));
+        assertThat(ModelRunnerClients.basePath("unix:///run/dmr.sock"), is(""));
+        try (var lease = ModelRunnerClients.acquire("unix:///var/run/docker.sock", CONNECT, IDLE)) {
+            assertThat(lease.basePath(), is("/exp/vDD4.40"));
+        }
+    }
+
+    @Test
+    void httpHost_requestsBeyondMaxConnectionsWaitForAResponseToBeClosed(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson("[]")));
+
+        var responses = new ArrayList<ModelRunnerClients.Response>();
+        try (
+            var lease = ModelRunnerClients.acquire(wm.getHttpBaseUrl(), CONNECT, IDLE);
+            var executor = Executors.newSingleThreadExecutor()
+        ) {
+            try {
+                for (int i = 0; i < ModelRunnerClients.MAX_CONNECTIONS; i++) {
+                    responses.add(lease.execute("GET", "/models", null));
+                }
+
+                var waiting = executor.submit(() -> lease.execute("GET", "/models", null));
+                assertThrows(TimeoutException.class, () -> waiting.get(500, TimeUnit.MILLISECONDS));
+
+                responses.removeFirst().close();
+                try (var response = waiting.get(5, TimeUnit.SECONDS)) {
+                    assertThat(response.statusCode(), is(200));
+                }
+            } finally {
+                // unblocks the executor if the assertions failed
+                for (var response : responses) {
+                    response.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    void unsupportedScheme_throws() {
+        var ex = assertThrows(IllegalArgumentException.class, () -> ModelRunnerClients.acquire("ftp://localhost:12434", CONNECT, IDLE));
+        assertThat(ex.getMessage().contains("expected an http:// or https:// URL"), is(true));
+    }
+}
@@ -0,0 +1,149 @@
+package io.kestra.plugin.docker.model;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest
+class PruneTest {
+
+    // four 1 GiB models: the oldest is protected by tag, the second oldest is loaded
+    private static final String MODELS = "["
+        + model("sha256:embed", "docker.io/ai/nomic-embed-text-v1.5:latest", 100) + ","
+        + model("sha256:loaded", "docker.io/ai/smollm2:latest", 200) + ","
+        + model("sha256:old", "docker.io/ai/qwen3:latest", 300) + ","
+        + model("sha256:new", "docker.io/ai/gemma3:latest", 400)
+        + "]";
+
+    @Inject
+    RunContextFactory runContextFactory;
+
+    private static String model(String id, String tag, long created) {
+        return "{\"id\":\"" + id + "\",\"tags\":[\"" + tag + "\"],\"created\":" + created + ",\"config\":{\"format\":\"gguf\",\"size\":\"1GiB\"}}";
+    }
+
+    private Prune.PruneBuilder<?, ?> task(String baseUrl) {
+        return Prune.builder()
+            .id("prune-test-" + UUID.randomUUID())
+            .type(Prune.class.getName())
+            .host(Property.ofValue(baseUrl))
+            .protectedTags(Property.ofValue(java.util.List.of("embed")));
+    }
+
+    @Test
+    void overBudget_deletesOldestUnprotectedModels(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson(MODELS)));
+        stubFor(get(urlEqualTo("/engines/ps")).willReturn(okJson("[{\"model_name\":\"ai/smollm2\",\"backend_name\":\"llama.cpp\",\"mode\":\"completion\"}]")));
+        stubFor(delete(urlPathMatching("/models/sha256:.*")).willReturn(okJson("[]")));
+
+        var task = task(wm.getHttpBaseUrl()).maxSize(Property.ofValue("2GiB")).build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var output = task.run(runContext);
+
+        assertThat(output.getModels().stream().map(Prune.PrunedModel::getId).toList(), contains("sha256:old", "sha256:new"));
+        assertThat(output.getFreedBytes(), is(2L * 1024 * 1024 * 1024));
+        assertThat(output.getWithinBudget(), is(true));
+        verify(deleteRequestedFor(urlEqualTo("/models/sha256:old?force=true")));
+        verify(deleteRequestedFor(urlEqualTo("/models/sha256:new?force=true")));
+        verify(2, deleteRequestedFor(urlPathMatching("/models/.*")));
+    }
+
+    @Test
+    void dryRun_reportsWithoutDeletingAndToleratesMissingLoadedModels(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson(MODELS)));
+        stubFor(get(urlEqualTo("/engines/ps")).willReturn(aResponse().withStatus(404).withBody("not found")));
+
+        var task = task(wm.getHttpBaseUrl()).maxSize(Property.ofValue("1GiB")).dryRun(Property.ofValue(true)).build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var output = task.run(runContext);
+
+        assertThat(output.getModels().stream().map(Prune.PrunedModel::getId).toList(), contains("sha256:loaded", "sha256:old", "sha256:new"));
+        assertThat(output.getWithinBudget(), is(true));
+        assertThat(output.getDryRun(), is(true));
+        verify(0, deleteRequestedFor(urlPathMatching("/models/.*")));
+    }
+
+    @Test
+    void failedDelete_deletesTheNextOneThenFailsWithTheModel(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson(MODELS)));
+        stubFor(get(urlEqualTo("/engines/ps")).willReturn(okJson("[{\"model_name\":\"ai/smollm2\",\"backend_name\":\"llama.cpp\",\"mode\":\"completion\"}]")));
+        stubFor(delete(urlEqualTo("/models/sha256:old?force=true")).willReturn(aResponse().withStatus(500).withBody("disk busy")));
+        stubFor(delete(urlEqualTo("/models/sha256:new?force=true")).willReturn(okJson("[]")));
+
+        var task = task(wm.getHttpBaseUrl()).maxSize(Property.ofValue("2GiB")).build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var ex = assertThrows(IllegalStateException.class, () -> task.run(runContext));
+
+        assertThat(ex.getMessage(), startsWith("Failed to delete 1 of 2 models: sha256:old: "));
+        assertThat(ex.getMessage(), containsString("disk busy"));
+        assertThat(ex.getMessage(), containsString("models still use"));
+        assertThat(ex.getCause(), instanceOf(ModelRunnerException.class));
+        verify(deleteRequestedFor(urlEqualTo("/models/sha256:new?force=true")));
+    }
+
+    @Test
+    void protectedModelsAboveBudget_fails(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson(MODELS)));
+        stubFor(get(urlEqualTo("/engines/ps")).willReturn(okJson("[{\"model_name\":\"ai/smollm2\",\"backend_name\":\"llama.cpp\",\"mode\":\"completion\"}]")));
+        stubFor(delete(urlPathMatching("/models/sha256:.*")).willReturn(okJson("[]")));
+
+        var task = task(wm.getHttpBaseUrl()).maxSize(Property.ofValue("1GiB")).build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var ex = assertThrows(IllegalStateException.class, () -> task.run(runContext));
+
+        assertThat(ex.getMessage(), containsString("the remaining models are protected or loaded"));
+        verify(2, deleteRequestedFor(urlPathMatching("/models/.*")));
+    }
+
+    @Test
+    void unreadableSize_isNeitherCountedNorDeleted(WireMockRuntimeInfo wm) throws Exception {
+        var models = "["
+            + model("sha256:old", "docker.io/ai/qwen3:latest", 100).replace("\"1GiB\"", "\"unknown\"") + ","
+            + model("sha256:mid", "docker.io/ai/smollm2:latest", 200) + ","
+            + model("sha256:new", "docker.io/ai/gemma3:latest", 300)
+            + "]";
+        stubFor(get(urlEqualTo("/models")).willReturn(okJson(models)));
+        stubFor(get(urlEqualTo("/engines/ps")).willReturn(okJson("[]")));
+        stubFor(delete(urlPathMatching("/models/sha256:.*")).willReturn(okJson("[]")));
+
+        var task = task(wm.getHttpBaseUrl()).maxSize(Property.ofValue("1GiB")).build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var output = task.run(runContext);
+
+        assertThat(output.getModels().stream().map(Prune.PrunedModel::getId).toList(), contains("sha256:mid"));
+        assertThat(output.getTotalBytes(), is(1024L * 1024 * 1024));
+        verify(0, deleteRequestedFor(urlPathEqualTo("/models/sha256:old")));
+    }
+
+    @Test
+    void normalize_shortensDockerHubReferences() {
+        assertThat(Prune.normalize("docker.io/ai/smollm2:latest"), is("ai/smollm2"));
+        assertThat(Prune.normalize("hf.co/org/repo:Q4_K_M"), is("hf.co/org/repo:Q4_K_M"));
+    }
+}
@@ -0,0 +1,128 @@
+package io.kestra.plugin.docker.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class PullEventTest {
+
+    private static final String STREAM = """
+        {"type":"progress","message":"Downloaded: 0.01 MB","total":3000,"layer":{"id":"sha256:abc","size":2000,"current":500},"mode":"pull"}
+        {"type":"progress","message":"Downloaded: 0.02 MB","total":3000,"layer":{"id":"sha256:abc","size":2000,"current":2000},"mode":"pull"}
+        {"type":"success","message":"Model pulled successfully"}
+        """;
+
+    private static java.util.List<String> read(String stream, boolean withMessages) throws Exception {
+        var events = new ArrayList<String>();
+        PullEvent.readAll(
+            new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)),
+            withMessages,
+            event -> events.add(event.type() + "|" + event.message() + "|" + event.total() + "|" + event.layerId() + "|" + event.layerCurrent())
+        );
+        return events;
+    }
+
+    @Test
+    void readAll_extractsFieldsOfEachLine() throws Exception {
+        assertThat(read(STREAM, true), contains(
+            "progress|Downloaded: 0.01 MB|3000|sha256:abc|500",
+            "progress|Downloaded: 0.02 MB|3000|sha256:abc|2000",
+            "success|Model pulled successfully|-1|null|-1"
+        ));
+    }
+
+    @Test
+    void readAll_skipsMessagesUnlessRequested() throws Exception {
+        assertThat(read(STREAM, false), contains(
+            "progress|null|3000|sha256:abc|500",
+            "progress|null|3000|sha256:abc|2000",
+            "success|null|-1|null|-1"
+        ));
+    }
+
+    @Test
+    void readAll_keepsErrorMessagesAndStructuredErrors() throws Exception {
+        var errors = new ArrayList<String>();
+        PullEvent.readAll(
+            new ByteArrayInputStream("""
+                {"type":"error","message":"Invalid model reference"}
+                {"error":{"code":"NOT_FOUND"}}
+                """.getBytes(StandardCharsets.UTF_8)),
+            false,
+            event -> errors.add(event.isError() + "|" + event.message() + "|" + event.error())
+        );
+
+        assertThat(errors, contains("true|Invalid model reference|null", "true|null|{\"code\":\"NOT_FOUND\"}"));
+    }
+
+    @Test
+    void readAll_keepsErrorMessagesSentBeforeTheType() throws Exception {
+        var errors = new ArrayList<String>();
+        PullEvent.readAll(
+            new ByteArrayInputStream("""
+                {"message":"Invalid model reference","type":"error"}
+                {"message":"Downloaded: 0.01 MB","type":"progress"}
+                """.getBytes(StandardCharsets.UTF_8)),
+            false,
+            event -> errors.add(event.isError() + "|" + event.message())
+        );
+
+        assertThat(errors, contains("true|Invalid model reference", "false|null"));
+    }
+
+    @Test
+    void readAll_skipsPlainTextLines() throws Exception {
+        var stream = """
+            {"type":"progress","total":3000,"layer":{"id":"sha256:abc","size":2000,"current":500}}
+            Resuming download of sha256:abc
+            {"type":"success","message":"Model pulled successfully"}
+            """;
+
+        assertThat(read(stream, true), contains(
+            "progress|null|3000|sha256:abc|500",
+            "success|Model pulled successfully|-1|null|-1"
+        ));
+    }
+
+    @Test
+    void readAll_readsLinesSpanningSeveralReads() throws Exception {
+        var stream = STREAM.repeat(200);
+        var events = new ArrayList<String>();
+        // a stream that returns a few bytes at a time, as a slow connection would
+        var input = new FilterInputStream(new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 7));
+            }
+        };
+        PullEvent.readAll(input, false, event -> events.add(event.type()));
+
+        assertThat(events.size(), is(600));
+        assertThat(events.getLast(), is("success"));
+    }
+
+    @Test
+    void readAll_reusesTheLayerIdOfConsecutiveEvents() throws Exception {
+        var ids = new ArrayList<String>();
+        PullEvent.readAll(new ByteArrayInputStream(STREAM.getBytes(StandardCharsets.UTF_8)), false, event -> ids.add(event.layerId()));
+
+        assertThat(ids.get(1), sameInstance(ids.get(0)));
+        assertThat(ids.get(2), nullValue());
+    }
+
+    @Test
+    void readAll_ignoresValuesThatAreNotEvents() throws Exception {
+        assertThat(read("[1,2]\n\"status\"\n{\"type\":\"success\",\"unknown\":{\"nested\":[true]}}\n", false), contains("success|null|-1|null|-1"));
+        assertThat(read("", false).size(), is(0));
+    }
+}
@@ -12,7 +12,8 @@ import io.kestra.core.utils.TestsUtils;
 import jakarta.inject.Inject;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 
 @KestraTest
 @DockerModelRunnerTest
@@ -32,6 +33,8 @@ class PullIT {
         var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
         var output = task.run(runContext);
 
-        assertThat(output, nullValue());
+        assertThat(output.getModel(), is("ai/smollm2"));
+        assertThat(output.getId(), notNullValue());
+        assertThat(output.getDuration(), notNullValue());
     }
 }
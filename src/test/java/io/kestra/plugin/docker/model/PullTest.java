@@ -1,13 +1,18 @@
 package io.kestra.plugin.docker.model;
 
+import java.io.ByteArrayInputStream;
 import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -18,7 +23,9 @@ import jakarta.inject.Inject;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -51,10 +58,25 @@ class PullTest {
             )
         );
 
+        stubFor(
+            get(urlEqualTo("/models/ai/smollm2")).willReturn(
+                okJson("{\"id\":\"sha256:354bf30d0aa3\",\"tags\":[\"ai/smollm2\"],\"created\":1742816981,\"config\":{\"format\":\"gguf\",\"size\":\"256.35MiB\"}}")
+            )
+        );
+
         var task = task(wm.getHttpBaseUrl(), "ai/smollm2");
         var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
 
-        assertThat(task.run(runContext), nullValue());
+        var output = task.run(runContext);
+
+        assertThat(output.getModel(), is("ai/smollm2"));
+        assertThat(output.getPulled(), is(true));
+        assertThat(output.getId(), is("sha256:354bf30d0aa3"));
+        assertThat(output.getTags(), contains("ai/smollm2"));
+        assertThat(output.getSize(), is("256.35MiB"));
+        assertThat(output.getDownloadedBytes(), is(12624L));
+        assertThat(output.getTotalBytes(), is(274303184L));
+        assertThat(output.getDuration(), notNullValue());
         // Verified against a real DMR: the correct request field is "from", not "fromImage".
         verify(
             postRequestedFor(urlEqualTo("/models/create"))
@@ -62,6 +84,165 @@ class PullTest {
         );
     }
 
+    @Test
+    void progress_countsEachLayerOnceAndToleratesMissingDetails(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(
+            post(urlEqualTo("/models/create")).willReturn(
+                aResponse().withStatus(200).withBody(
+                    "{\"type\":\"progress\",\"total\":3000,\"layer\":{\"id\":\"sha256:a\",\"size\":2000,\"current\":500}}\n"
+                        + "{\"type\":\"progress\",\"total\":3000,\"layer\":{\"id\":\"sha256:a\",\"size\":2000,\"current\":2000}}\n"
+                        + "{\"type\":\"progress\",\"total\":3000,\"layer\":{\"id\":\"sha256:b\",\"size\":1000,\"current\":1000}}\n"
+                        + "{\"type\":\"success\",\"message\":\"Model pulled successfully\"}\n"
+                )
+            )
+        );
+        stubFor(get(urlEqualTo("/models/ai/smollm2")).willReturn(aResponse().withStatus(404).withBody("model not found")));
+
+        var task = task(wm.getHttpBaseUrl(), "ai/smollm2");
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var output = task.run(runContext);
+
+        assertThat(output.getDownloadedBytes(), is(3000L));
+        assertThat(output.getTotalBytes(), is(3000L));
+        assertThat(output.getId(), nullValue());
+    }
+
+    @Test
+    void ifNotPresent_skipsThePullWhenTheModelIsLocal(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(get(urlEqualTo("/models/ai/smollm2")).willReturn(okJson("{\"id\":\"sha256:354bf30d0aa3\",\"tags\":[\"ai/smollm2\"]}")));
+
+        var task = Pull.builder()
+            .id("pull-test-" + UUID.randomUUID())
+            .type(Pull.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .model(Property.ofValue("ai/smollm2"))
+            .pullPolicy(Property.ofValue(PullPolicy.IF_NOT_PRESENT))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var output = task.run(runContext);
+
+        assertThat(output.getPulled(), is(false));
+        assertThat(output.getId(), is("sha256:354bf30d0aa3"));
+        verify(0, postRequestedFor(urlEqualTo("/models/create")));
+        verify(0, getRequestedFor(urlEqualTo("/models/ai/smollm2?remote=true")));
+    }
+
+    @Test
+    void ifNewer_pullsOnlyWhenTheRemoteDigestDiffers(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(get(urlEqualTo("/models/ai/smollm2")).willReturn(okJson("{\"id\":\"sha256:old\",\"tags\":[\"ai/smollm2\"]}")));
+        stubFor(post(urlEqualTo("/models/create")).willReturn(aResponse().withStatus(200).withBody("{\"type\":\"success\",\"message\":\"Model pulled successfully\"}\n")));
+
+        var task = Pull.builder()
+            .id("pull-test-" + UUID.randomUUID())
+            .type(Pull.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .model(Property.ofValue("ai/smollm2"))
+            .pullPolicy(Property.ofValue(PullPolicy.IF_NEWER))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        stubFor(get(urlEqualTo("/models/ai/smollm2?remote=true")).willReturn(okJson("{\"id\":\"sha256:old\"}")));
+        assertThat(task.run(runContext).getPulled(), is(false));
+        verify(0, postRequestedFor(urlEqualTo("/models/create")));
+
+        stubFor(get(urlEqualTo("/models/ai/smollm2?remote=true")).willReturn(okJson("{\"id\":\"sha256:new\"}")));
+        assertThat(task.run(runContext).getPulled(), is(true));
+        verify(1, postRequestedFor(urlEqualTo("/models/create")));
+    }
+
+    @Test
+    void models_pullsEachModelAndAggregatesResults(WireMockRuntimeInfo wm) throws Exception {
+        for (var model : java.util.List.of("smollm2", "qwen3")) {
+            stubFor(
+                post(urlEqualTo("/models/create"))
+                    .withRequestBody(equalToJson("{\"from\":\"ai/" + model + "\"}"))
+                    .willReturn(aResponse().withStatus(200).withBody(
+                        "{\"type\":\"progress\",\"total\":1000,\"layer\":{\"id\":\"sha256:" + model + "\",\"size\":1000,\"current\":1000}}\n"
+                            + "{\"type\":\"success\",\"message\":\"Model pulled successfully\"}\n"
+                    ))
+            );
+            stubFor(get(urlEqualTo("/models/ai/" + model)).willReturn(okJson("{\"id\":\"sha256:" + model + "\"}")));
+        }
+
+        var task = Pull.builder()
+            .id("pull-test-" + UUID.randomUUID())
+            .type(Pull.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .models(Property.ofValue(java.util.List.of("ai/smollm2", "ai/qwen3")))
+            .concurrency(Property.ofValue(2))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var output = task.run(runContext);
+
+        assertThat(output.getModels().stream().map(Pull.PulledModel::getId).toList(), contains("sha256:smollm2", "sha256:qwen3"));
+        assertThat(output.getDownloadedBytes(), is(2000L));
+        assertThat(output.getModel(), nullValue());
+    }
+
+    @Test
+    void unavailable_retriesThePull(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(
+            post(urlEqualTo("/models/create")).inScenario("unavailable")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503).withBody("registry unavailable"))
+                .willSetStateTo("recovered")
+        );
+        stubFor(
+            post(urlEqualTo("/models/create")).inScenario("unavailable")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withStatus(200).withBody(
+                    "{\"type\":\"progress\",\"total\":1000,\"layer\":{\"id\":\"sha256:abc\",\"size\":1000,\"current\":1000}}\n"
+                        + "{\"type\":\"success\",\"message\":\"Model pulled successfully\"}\n"
+                ))
+        );
+        stubFor(get(urlEqualTo("/models/ai/smollm2")).willReturn(okJson("{\"id\":\"sha256:abc\",\"tags\":[\"ai/smollm2\"]}")));
+
+        var task = Pull.builder()
+            .id("pull-test-" + UUID.randomUUID())
+            .type(Pull.class.getName())
+            .host(Property.ofValue(wm.getHttpBaseUrl()))
+            .model(Property.ofValue("ai/smollm2"))
+            .retryDelay(Property.ofValue(Duration.ofMillis(10)))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var output = task.run(runContext);
+
+        assertThat(output.getModels().getFirst().getAttempts(), is(2));
+        assertThat(output.getModels().getFirst().getWastedBytes(), is(0L));
+        assertThat(output.getDownloadedBytes(), is(1000L));
+        verify(2, postRequestedFor(urlEqualTo("/models/create")));
+    }
+
+    @Test
+    void progress_countsIncompleteLayersOfInterruptedAttemptsAsWasted() throws Exception {
+        var progress = new Pull.Progress("ai/smollm2", LoggerFactory.getLogger(PullTest.class));
+
+        progress.beginAttempt();
+        readAll(progress, """
+            {"type":"progress","total":3000,"layer":{"id":"sha256:done","size":1000,"current":1000}}
+            {"type":"progress","total":3000,"layer":{"id":"sha256:partial","size":2000,"current":600}}
+            """);
+
+        // DMR kept the complete layer and downloads the other one from the start
+        progress.beginAttempt();
+        readAll(progress, """
+            {"type":"progress","total":3000,"layer":{"id":"sha256:partial","size":2000,"current":2000}}
+            {"type":"success","message":"Model pulled successfully"}
+            """);
+
+        assertThat(progress.downloaded(), is(3600L));
+        assertThat(progress.wasted(), is(600L));
+        assertThat(progress.attempts(), is(2));
+    }
+
+    private static void readAll(Pull.Progress progress, String stream) throws Exception {
+        PullEvent.readAll(new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)), false, progress);
+    }
+
     @Test
     void errorLine_throwsWithDmrMessage(WireMockRuntimeInfo wm) {
         stubFor(
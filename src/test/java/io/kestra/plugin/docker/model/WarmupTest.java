@@ -0,0 +1,94 @@
+package io.kestra.plugin.docker.model;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest
+class WarmupTest {
+
+    private static final String COMPLETION = "{\"model\":\"ai/smollm2\",\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"Hi\"},\"finish_reason\":\"length\"}]}";
+
+    @Inject
+    RunContextFactory runContextFactory;
+
+    private Warmup.WarmupBuilder<?, ?> task(String baseUrl) {
+        return Warmup.builder()
+            .id("warmup-test-" + UUID.randomUUID())
+            .type(Warmup.class.getName())
+            .host(Property.ofValue(baseUrl));
+    }
+
+    @Test
+    void completionModel_sendsOneTokenRequestsAndMeasuresLoad(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(post(urlEqualTo("/engines/_configure")).willReturn(aResponse().withStatus(202)));
+        stubFor(post(urlEqualTo("/engines/v1/chat/completions")).willReturn(okJson(COMPLETION)));
+
+        var task = task(wm.getHttpBaseUrl())
+            .model(Property.ofValue("ai/smollm2"))
+            .keepAlive(Property.ofValue(Duration.ofMinutes(30)))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var result = task.run(runContext).getModels().getFirst();
+
+        assertThat(result.getEndpoint(), is(Warmup.Endpoint.COMPLETION));
+        assertThat(result.getKeepAliveAccepted(), is(true));
+        assertThat(result.getFirstRequestDuration().compareTo(result.getLoadDuration()), greaterThanOrEqualTo(0));
+        verify(postRequestedFor(urlEqualTo("/engines/_configure")).withRequestBody(equalToJson("{\"model\":\"ai/smollm2\",\"keep_alive\":\"1800s\"}")));
+        verify(2, postRequestedFor(urlEqualTo("/engines/v1/chat/completions")).withRequestBody(matchingJsonPath("$.max_tokens", equalTo("1"))));
+    }
+
+    @Test
+    void embeddingModel_fallsBackToEmbeddingsAndToleratesUnsupportedKeepAlive(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(post(urlEqualTo("/engines/_configure")).willReturn(aResponse().withStatus(400).withBody("unknown field keep_alive")));
+        stubFor(post(urlEqualTo("/engines/v1/chat/completions")).willReturn(aResponse().withStatus(400).withBody("model does not support chat completions")));
+        stubFor(post(urlEqualTo("/engines/v1/embeddings")).willReturn(okJson("{\"data\":[{\"index\":0,\"embedding\":[0.1,0.2]}]}")));
+
+        var task = task(wm.getHttpBaseUrl())
+            .models(Property.ofValue(java.util.List.of("ai/nomic-embed-text-v1.5")))
+            .keepAlive(Property.ofValue(Duration.ofMinutes(5)))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var result = task.run(runContext).getModels().getFirst();
+
+        assertThat(result.getModel(), is("ai/nomic-embed-text-v1.5"));
+        assertThat(result.getEndpoint(), is(Warmup.Endpoint.EMBEDDING));
+        assertThat(result.getKeepAliveAccepted(), is(false));
+        verify(2, postRequestedFor(urlEqualTo("/engines/v1/embeddings")));
+    }
+
+    @Test
+    void otherCompletionFailure_isRethrownWithoutTryingEmbeddings(WireMockRuntimeInfo wm) throws Exception {
+        stubFor(post(urlEqualTo("/engines/v1/chat/completions")).willReturn(aResponse().withStatus(404).withBody("model not found")));
+
+        var task = task(wm.getHttpBaseUrl())
+            .models(Property.ofValue(java.util.List.of("ai/missing")))
+            .build();
+        var runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        var ex = assertThrows(ModelRunnerException.class, () -> task.run(runContext));
+        assertThat(ex.statusCode(), is(404));
+        verify(0, postRequestedFor(urlEqualTo("/engines/v1/embeddings")));
+    }
+}